@@ -0,0 +1,429 @@
+package com.snowbird.snowlib.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Name>Schema} class for every class annotated with
+ * {@code com.snowbird.snowlib.config.schema.ConfigSchema}.
+ *
+ * The annotations are matched by name so this processor does not depend on
+ * SnowLib or Minecraft. Invalid fields are reported as compile errors on the
+ * field rather than failing at runtime.
+ */
+@SupportedAnnotationTypes(ConfigSchemaProcessor.SCHEMA)
+public class ConfigSchemaProcessor extends AbstractProcessor {
+	static final String PACKAGE = "com.snowbird.snowlib.config.schema";
+	static final String SCHEMA = PACKAGE + ".ConfigSchema";
+	private static final String OPTION = PACKAGE + ".ConfigOption";
+	private static final String RANGE = PACKAGE + ".Range";
+	private static final String CHOICES = PACKAGE + ".Choices";
+
+	private static final String SCREEN = "com.snowbird.snowlib.screens.SimpleTwoColumnConfigScreen";
+	private static final String ENTRIES = "com.snowbird.snowlib.screens.options.entries.";
+
+	/**
+	 * One annotated field, with everything needed to emit its entry.
+	 */
+	private record Option(
+		String field,
+		String name,
+		String description,
+		String category,
+		String widget,
+		TypeMirror type,
+		AnnotationMirror range,
+		List<String> choices
+	) {
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		TypeElement schemaAnnotation = this.processingEnv.getElementUtils().getTypeElement(SCHEMA);
+		if (schemaAnnotation == null) {
+			return false;
+		}
+		for (Element element : roundEnv.getElementsAnnotatedWith(schemaAnnotation)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				this.error(element, "@ConfigSchema is only supported on classes");
+				continue;
+			}
+			TypeElement type = (TypeElement) element;
+			try {
+				this.generate(type);
+			} catch (IOException e) {
+				this.error(type, "Failed to write schema class: " + e.getMessage());
+			}
+		}
+		return true;
+	}
+
+	private void generate(TypeElement type) throws IOException {
+		AnnotationMirror schema = findAnnotation(type, SCHEMA);
+		String defaultCategory = (String) value(schema, "defaultCategory", "General");
+
+		// Category name -> options, in order of first appearance
+		Map<String, List<Option>> categories = new LinkedHashMap<>();
+		boolean valid = true;
+		for (Element member : type.getEnclosedElements()) {
+			AnnotationMirror option = findAnnotation(member, OPTION);
+			if (option == null) {
+				continue;
+			}
+			if (member.getKind() != ElementKind.FIELD) {
+				continue;
+			}
+			Set<Modifier> modifiers = member.getModifiers();
+			if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)) {
+				this.error(member, "@ConfigOption fields must not be private, static or final");
+				valid = false;
+				continue;
+			}
+			String category = (String) value(option, "category", "");
+			if (category.isEmpty()) {
+				category = defaultCategory;
+			}
+			AnnotationMirror choices = findAnnotation(member, CHOICES);
+			List<String> choiceList = new ArrayList<>();
+			if (choices != null) {
+				for (Object choice : (List<?>) value(choices, "value", List.of())) {
+					choiceList.add((String) ((AnnotationValue) choice).getValue());
+				}
+			}
+			Object widget = value(option, "widget", null);
+			Option parsed = new Option(
+				member.getSimpleName().toString(),
+				(String) value(option, "name", ""),
+				(String) value(option, "description", ""),
+				category,
+				widget == null ? "AUTO" : ((VariableElement) widget).getSimpleName().toString(),
+				member.asType(),
+				findAnnotation(member, RANGE),
+				choices != null ? choiceList : null
+			);
+			if (!this.check(member, parsed)) {
+				valid = false;
+				continue;
+			}
+			categories.computeIfAbsent(category, key -> new ArrayList<>()).add(parsed);
+		}
+		if (!valid) {
+			return;
+		}
+		boolean hasEnum = false;
+		for (List<Option> options : categories.values()) {
+			for (Option option : options) {
+				hasEnum |= "enum".equals(kindOf(option.type()));
+			}
+		}
+
+		String packageName = this.packageOf(type);
+		String configType = type.getQualifiedName().toString();
+		String schemaName = this.flatName(type) + "Schema";
+		String qualifiedName = packageName.isEmpty() ? schemaName : packageName + "." + schemaName;
+
+		StringBuilder out = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			out.append("package ").append(packageName).append(";\n\n");
+		}
+		out.append("import ").append(SCREEN).append(";\n\n");
+		out.append("import java.util.List;\n\n");
+		out.append("/**\n * Generated by SnowLib's schema processor from {@link ").append(configType).append("}. Do not edit.\n */\n");
+		out.append("public final class ").append(schemaName).append(" {\n\n");
+		out.append("\tprivate ").append(schemaName).append("() {\n\t}\n\n");
+
+		out.append("\t/**\n\t * Categories showing the options of the given config object, read and written directly.\n\t */\n");
+		out.append("\tpublic static List<SimpleTwoColumnConfigScreen.SimpleCategoryDefinition> categories(")
+			.append(configType).append(" config) {\n");
+		out.append("\t\treturn List.of(");
+		boolean firstCategory = true;
+		for (Map.Entry<String, List<Option>> category : categories.entrySet()) {
+			out.append(firstCategory ? "\n" : ",\n");
+			firstCategory = false;
+			out.append("\t\t\tnew SimpleTwoColumnConfigScreen.SimpleCategoryDefinition(")
+				.append(literal(category.getKey())).append(", list -> {\n");
+			for (Option option : category.getValue()) {
+				this.appendEntry(out, option);
+			}
+			out.append("\t\t\t})");
+		}
+		out.append(firstCategory ? ");\n" : "\n\t\t);\n");
+		out.append("\t}\n\n");
+
+		out.append("\tpublic static SimpleTwoColumnConfigScreen createScreen(").append(configType).append(" config) {\n");
+		out.append("\t\treturn new SimpleTwoColumnConfigScreen(categories(config));\n");
+		out.append("\t}\n");
+		if (hasEnum) {
+			out.append("\n\tprivate static String[] names(Enum<?>[] constants) {\n");
+			out.append("\t\tString[] names = new String[constants.length];\n");
+			out.append("\t\tfor (int i = 0; i < constants.length; i++) {\n");
+			out.append("\t\t\tnames[i] = constants[i].name();\n");
+			out.append("\t\t}\n");
+			out.append("\t\treturn names;\n");
+			out.append("\t}\n");
+		}
+		out.append("}\n");
+
+		JavaFileObject file = this.processingEnv.getFiler().createSourceFile(qualifiedName, type);
+		try (Writer writer = file.openWriter()) {
+			writer.write(out.toString());
+		}
+	}
+
+	/**
+	 * Reports unsupported types and widgets.
+	 *
+	 * @return Whether the option can be generated.
+	 */
+	private boolean check(Element field, Option option) {
+		if (option.name().isEmpty()) {
+			this.error(field, "@ConfigOption name must not be empty");
+			return false;
+		}
+		String kind = kindOf(option.type());
+		if (kind == null) {
+			this.error(field, "Unsupported @ConfigOption type " + option.type()
+				+ "; use boolean, int, long, double, String or an enum");
+			return false;
+		}
+		String widget = this.widgetFor(option, kind);
+		boolean fits = switch (widget) {
+			case "CHECKBOX" -> kind.equals("boolean");
+			case "NUMBER_FIELD" -> kind.equals("int") || kind.equals("long") || kind.equals("double");
+			case "TEXT_FIELD" -> kind.equals("String");
+			case "DROPDOWN" -> kind.equals("enum") || (kind.equals("String") && option.choices() != null);
+			default -> false;
+		};
+		if (!fits) {
+			this.error(field, "Widget " + widget + " does not fit a field of type " + option.type()
+				+ (kind.equals("String") ? " (string dropdowns need @Choices)" : ""));
+			return false;
+		}
+		if (option.range() != null && !widget.equals("NUMBER_FIELD")) {
+			this.error(field, "@Range only applies to numeric fields");
+			return false;
+		}
+		return true;
+	}
+
+	private String widgetFor(Option option, String kind) {
+		if (!option.widget().equals("AUTO")) {
+			return option.widget();
+		}
+		return switch (kind) {
+			case "boolean" -> "CHECKBOX";
+			case "int", "long", "double" -> "NUMBER_FIELD";
+			case "enum" -> "DROPDOWN";
+			default -> option.choices() != null ? "DROPDOWN" : "TEXT_FIELD";
+		};
+	}
+
+	private void appendEntry(StringBuilder out, Option option) {
+		String kind = kindOf(option.type());
+		String widget = this.widgetFor(option, kind);
+		String field = "config." + option.field();
+		String head = literal(option.name()) + ", " + literal(option.description()) + ", ";
+		String entry;
+		switch (widget) {
+			case "CHECKBOX" -> entry = "new " + ENTRIES + "CheckboxEntry(" + head
+				+ "() -> " + field + ", v -> " + field + " = v)";
+			case "NUMBER_FIELD" -> {
+				double min = (double) value(option.range(), "min", -Double.MAX_VALUE);
+				double max = (double) value(option.range(), "max", Double.MAX_VALUE);
+				double step = (double) value(option.range(), "step", 1.0);
+				String bounds = switch (kind) {
+					case "int" -> intLiteral(min) + ", " + intLiteral(max) + ", " + Math.max(1, (int) step);
+					case "long" -> longLiteral(min) + ", " + longLiteral(max) + ", " + Math.max(1L, (long) step) + "L";
+					default -> doubleLiteral(min) + ", " + doubleLiteral(max) + ", " + doubleLiteral(step);
+				};
+				String entryClass = switch (kind) {
+					case "int" -> "IntFieldEntry";
+					case "long" -> "LongFieldEntry";
+					default -> "DoubleFieldEntry";
+				};
+				entry = "new " + ENTRIES + entryClass + "(" + head
+					+ "() -> " + field + ", " + bounds + ", v -> " + field + " = v)";
+			}
+			case "TEXT_FIELD" -> entry = "new " + ENTRIES + "TextFieldEntry(" + head
+				+ "() -> " + field + ", v -> " + field + " = v)";
+			default -> {
+				if (kind.equals("enum")) {
+					String enumType = this.processingEnv.getTypeUtils().erasure(option.type()).toString();
+					entry = "new " + ENTRIES + "ScrollableDropdownEntry(" + head
+						+ "() -> " + field + ".name(), names(" + enumType + ".values()), v -> " + field + " = "
+						+ enumType + ".valueOf(v))";
+				} else {
+					StringBuilder choices = new StringBuilder("new String[] {");
+					for (int i = 0; i < option.choices().size(); i++) {
+						choices.append(i == 0 ? "" : ", ").append(literal(option.choices().get(i)));
+					}
+					choices.append("}");
+					entry = "new " + ENTRIES + "ScrollableDropdownEntry(" + head
+						+ "() -> " + field + ", " + choices + ", v -> " + field + " = v)";
+				}
+			}
+		}
+		out.append("\t\t\t\t{\n");
+		out.append("\t\t\t\t\tvar entry = ").append(entry).append(";\n");
+		// Field names are unique, display names need not be
+		out.append("\t\t\t\t\tentry.setKey(").append(literal(option.field())).append(");\n");
+		out.append("\t\t\t\t\tlist.addEntry(entry);\n");
+		out.append("\t\t\t\t}\n");
+	}
+
+	/**
+	 * @return boolean, int, long, double, String or enum; null if unsupported.
+	 */
+	private static String kindOf(TypeMirror type) {
+		TypeKind kind = type.getKind();
+		if (kind == TypeKind.BOOLEAN) {
+			return "boolean";
+		}
+		if (kind == TypeKind.INT) {
+			return "int";
+		}
+		if (kind == TypeKind.LONG) {
+			return "long";
+		}
+		if (kind == TypeKind.DOUBLE) {
+			return "double";
+		}
+		if (kind == TypeKind.DECLARED) {
+			Element element = ((DeclaredType) type).asElement();
+			if (element.getKind() == ElementKind.ENUM) {
+				return "enum";
+			}
+			if (((TypeElement) element).getQualifiedName().contentEquals("java.lang.String")) {
+				return "String";
+			}
+		}
+		return null;
+	}
+
+	private String packageOf(TypeElement type) {
+		PackageElement pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+		return pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+	}
+
+	/**
+	 * Outer_Inner for nested classes, so the schema class can live in the package.
+	 */
+	private String flatName(TypeElement type) {
+		if (type.getNestingKind() == NestingKind.MEMBER) {
+			return this.flatName((TypeElement) type.getEnclosingElement()) + "_" + type.getSimpleName();
+		}
+		return type.getSimpleName().toString();
+	}
+
+	private static AnnotationMirror findAnnotation(Element element, String name) {
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+			if (annotation.getQualifiedName().contentEquals(name)) {
+				return mirror;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * An explicitly given annotation value, or the fallback (the annotation's default).
+	 */
+	private static Object value(AnnotationMirror mirror, String name, Object fallback) {
+		if (mirror == null) {
+			return fallback;
+		}
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(name)) {
+				return entry.getValue().getValue();
+			}
+		}
+		return fallback;
+	}
+
+	private static String intLiteral(double value) {
+		if (value <= Integer.MIN_VALUE) {
+			return "Integer.MIN_VALUE";
+		}
+		if (value >= Integer.MAX_VALUE) {
+			return "Integer.MAX_VALUE";
+		}
+		return Integer.toString((int) value);
+	}
+
+	private static String longLiteral(double value) {
+		if (value <= Long.MIN_VALUE) {
+			return "Long.MIN_VALUE";
+		}
+		if (value >= Long.MAX_VALUE) {
+			return "Long.MAX_VALUE";
+		}
+		return (long) value + "L";
+	}
+
+	private static String doubleLiteral(double value) {
+		if (value == -Double.MAX_VALUE) {
+			return "-Double.MAX_VALUE";
+		}
+		if (value == Double.MAX_VALUE) {
+			return "Double.MAX_VALUE";
+		}
+		return Double.toString(value);
+	}
+
+	private static String literal(String text) {
+		StringBuilder out = new StringBuilder("\"");
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '"' -> out.append("\\\"");
+				case '\\' -> out.append("\\\\");
+				case '\n' -> out.append("\\n");
+				case '\r' -> out.append("\\r");
+				case '\t' -> out.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						out.append(String.format("\\u%04x", (int) c));
+					} else {
+						out.append(c);
+					}
+				}
+			}
+		}
+		return out.append('"').toString();
+	}
+
+	private void error(Element element, String message) {
+		Messager messager = this.processingEnv.getMessager();
+		messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+}
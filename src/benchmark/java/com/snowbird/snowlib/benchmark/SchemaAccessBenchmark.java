@@ -0,0 +1,186 @@
+package com.snowbird.snowlib.benchmark;
+
+import com.snowbird.snowlib.config.schema.ConfigOption;
+import com.snowbird.snowlib.config.schema.ConfigSchema;
+import com.snowbird.snowlib.config.schema.OptionAccessor;
+import com.snowbird.snowlib.config.schema.SchemaAccessors;
+
+import java.io.File;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares reading and writing an int option through {@link OptionAccessor}
+ * with direct field access and with {@link Field#getInt}/{@link Field#setInt}.
+ * Run with {@code ./gradlew runSchemaAccessBenchmark}, or pass benchmark
+ * names to run only those.
+ *
+ * Each benchmark runs in its own JVM, so the call sites inside
+ * {@link OptionAccessor} are only profiled with the accessor being measured.
+ * Every result goes into a {@link Blackhole}, and the accessors and the
+ * target are read from non-final fields, so the JIT can neither drop the
+ * work nor fold the accessor into a constant. The figure reported is the
+ * median of the measured rounds, in nanoseconds per operation including the
+ * loop; compare the numbers with each other, not across machines.
+ */
+public final class SchemaAccessBenchmark {
+	private static final int WARMUP_ROUNDS = 10;
+	private static final int ROUNDS = 15;
+	private static final int OPERATIONS = 10_000_000;
+
+	@ConfigSchema
+	static final class Sample {
+		// No accessor methods, so accessed through a VarHandle
+		@ConfigOption(name = "Field")
+		private int field;
+
+		// Accessed through its getter and setter, compiled by LambdaMetafactory
+		@ConfigOption(name = "Property")
+		private int property;
+
+		int getProperty() {
+			return this.property;
+		}
+
+		void setProperty(int property) {
+			this.property = property;
+		}
+	}
+
+	/**
+	 * Consumes values the way JMH's blackhole does: compares them with two
+	 * volatile fields that never both match, so the JIT must compute them.
+	 */
+	static final class Blackhole {
+		private volatile int i1 = 1;
+		private volatile int i2 = 2;
+		private int sink;
+
+		void consume(int value) {
+			if (value == this.i1 & value == this.i2) {
+				this.sink = value;
+			}
+		}
+	}
+
+	/**
+	 * Inputs of the benchmarks, kept in non-final fields.
+	 */
+	static final class State {
+		Sample sample = new Sample();
+		Field reflected;
+		OptionAccessor fieldAccessor;
+		OptionAccessor propertyAccessor;
+		Blackhole blackhole = new Blackhole();
+	}
+
+	private interface Body {
+		void run(State state) throws Exception;
+	}
+
+	private static final Map<String, Body> BENCHMARKS = new LinkedHashMap<>();
+
+	static {
+		BENCHMARKS.put("get.direct", state -> {
+			for (int i = 0; i < OPERATIONS; i++) {
+				state.blackhole.consume(state.sample.field);
+			}
+		});
+		BENCHMARKS.put("get.reflection", state -> {
+			for (int i = 0; i < OPERATIONS; i++) {
+				state.blackhole.consume(state.reflected.getInt(state.sample));
+			}
+		});
+		BENCHMARKS.put("get.accessor-field", state -> {
+			for (int i = 0; i < OPERATIONS; i++) {
+				state.blackhole.consume(state.fieldAccessor.getInt(state.sample));
+			}
+		});
+		BENCHMARKS.put("get.accessor-method", state -> {
+			for (int i = 0; i < OPERATIONS; i++) {
+				state.blackhole.consume(state.propertyAccessor.getInt(state.sample));
+			}
+		});
+		// Each write is read back, so it cannot be merged with the next one
+		BENCHMARKS.put("set.direct", state -> {
+			for (int i = 0; i < OPERATIONS; i++) {
+				state.sample.field = i;
+				state.blackhole.consume(state.sample.field);
+			}
+		});
+		BENCHMARKS.put("set.reflection", state -> {
+			for (int i = 0; i < OPERATIONS; i++) {
+				state.reflected.setInt(state.sample, i);
+				state.blackhole.consume(state.sample.field);
+			}
+		});
+		BENCHMARKS.put("set.accessor-field", state -> {
+			for (int i = 0; i < OPERATIONS; i++) {
+				state.fieldAccessor.setInt(state.sample, i);
+				state.blackhole.consume(state.sample.field);
+			}
+		});
+		BENCHMARKS.put("set.accessor-method", state -> {
+			for (int i = 0; i < OPERATIONS; i++) {
+				state.propertyAccessor.setInt(state.sample, i);
+				state.blackhole.consume(state.sample.property);
+			}
+		});
+	}
+
+	private SchemaAccessBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 2 && args[0].equals("--fork")) {
+			measure(args[1]);
+			return;
+		}
+		List<String> names = args.length > 0 ? Arrays.asList(args) : new ArrayList<>(BENCHMARKS.keySet());
+		for (String name : names) {
+			if (!BENCHMARKS.containsKey(name)) {
+				throw new IllegalArgumentException("Unknown benchmark " + name + ", expected one of " + BENCHMARKS.keySet());
+			}
+			fork(name);
+		}
+	}
+
+	private static void fork(String name) throws Exception {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+			SchemaAccessBenchmark.class.getName(), "--fork", name)
+			.inheritIO()
+			.start();
+		if (process.waitFor() != 0) {
+			throw new IllegalStateException("Benchmark " + name + " failed");
+		}
+	}
+
+	private static void measure(String name) throws Exception {
+		State state = new State();
+		List<OptionAccessor> accessors = SchemaAccessors.of(Sample.class, MethodHandles.lookup());
+		state.fieldAccessor = accessors.get(0);
+		state.propertyAccessor = accessors.get(1);
+		state.reflected = Sample.class.getDeclaredField("field");
+		state.reflected.setAccessible(true);
+
+		Body body = BENCHMARKS.get(name);
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			body.run(state);
+		}
+		double[] rounds = new double[ROUNDS];
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			body.run(state);
+			rounds[i] = (double) (System.nanoTime() - start) / OPERATIONS;
+		}
+		Arrays.sort(rounds);
+		System.out.printf("%-22s %6.2f ns/op (min %.2f, max %.2f)%n",
+			name, rounds[ROUNDS / 2], rounds[0], rounds[ROUNDS - 1]);
+	}
+}
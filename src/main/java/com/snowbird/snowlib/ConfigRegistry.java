@@ -0,0 +1,83 @@
+package com.snowbird.snowlib;
+
+import com.snowbird.snowlib.config.ConfigStore;
+import com.snowbird.snowlib.config.ConfigTransfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Global registry of the config stores each mod exposes for export and import,
+ * grouped by mod ID.
+ *
+ * Usable on both sides: it names no client classes, so dedicated servers can
+ * register stores and transfer settings too. Config screens are registered
+ * separately, from client-only code, with
+ * {@link com.snowbird.snowlib.client.ScreenRegistry}.
+ *
+ * Forge constructs mods in parallel, so registration may happen on several
+ * threads at once. Readers get an immutable snapshot in registration order,
+ * which is rebuilt only when stores are registered.
+ */
+public final class ConfigRegistry {
+
+	// Republished under the class lock after each registration; read without locking
+	private static volatile Map<String, List<ConfigStore>> snapshot = Map.of();
+
+	private ConfigRegistry() {
+	}
+
+	/**
+	 * Adds the stores to the mod's group. Stores already in it are not added again.
+	 */
+	public static void registerStores(String modId, ConfigStore... stores) {
+		if (stores.length == 0) {
+			return;
+		}
+		synchronized (ConfigRegistry.class) {
+			Map<String, List<ConfigStore>> groups = new LinkedHashMap<>(snapshot);
+			List<ConfigStore> group = new ArrayList<>(groups.getOrDefault(modId, List.of()));
+			for (ConfigStore store : stores) {
+				if (!group.contains(store)) {
+					group.add(store);
+				}
+			}
+			groups.put(modId, List.copyOf(group));
+			snapshot = Collections.unmodifiableMap(groups);
+		}
+	}
+
+	/**
+	 * @return The stores registered for the mod ID, possibly empty.
+	 */
+	public static List<ConfigStore> getStores(String modId) {
+		return snapshot.getOrDefault(modId, List.of());
+	}
+
+	/**
+	 * @return An immutable snapshot of every group, in registration order.
+	 */
+	public static Map<String, List<ConfigStore>> getStoresByModId() {
+		return snapshot;
+	}
+
+	/**
+	 * Streams the values of every registered store, grouped by mod ID.
+	 */
+	public static void exportSettings(Writer out) throws IOException {
+		ConfigTransfer.export(out, snapshot);
+	}
+
+	/**
+	 * Reads settings written by {@link #exportSettings} and applies them as one batch.
+	 */
+	public static ConfigTransfer.ImportResult importSettings(Reader in) throws IOException {
+		return ConfigTransfer.importFrom(in, snapshot);
+	}
+}
@@ -0,0 +1,38 @@
+package com.snowbird.snowlib.client;
+
+import com.snowbird.snowlib.SnowLib;
+import com.snowbird.snowlib.config.ConfigSync;
+import com.snowbird.snowlib.network.ConfigSyncPacket;
+import com.snowbird.snowlib.network.SnowLibNetwork;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * The client half of {@link com.snowbird.snowlib.network.ConfigSyncEvents}:
+ * sends local changes once per tick and ends the sync session on logout.
+ */
+@Mod.EventBusSubscriber(modid = SnowLib.MODID, value = Dist.CLIENT)
+public final class ClientConfigSyncEvents {
+
+	private ClientConfigSyncEvents() {
+	}
+
+	@SubscribeEvent
+	public static void onClientTick(TickEvent.ClientTickEvent event) {
+		if (event.phase != TickEvent.Phase.END) {
+			return;
+		}
+		byte[] data = ConfigSync.client().drain();
+		if (data != null) {
+			SnowLibNetwork.sendToServer(new ConfigSyncPacket(data));
+		}
+	}
+
+	@SubscribeEvent
+	public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+		ConfigSync.client().endSession();
+	}
+}
@@ -0,0 +1,224 @@
+package com.snowbird.snowlib.client;
+
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlConst;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.VertexSorting;
+import com.snowbird.snowlib.SnowLib;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.texture.AbstractTexture;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.ItemLike;
+import net.minecraftforge.client.ForgeHooksClient;
+import org.joml.Matrix4f;
+import org.lwjgl.opengl.GL11;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Item and block icons baked into one offscreen texture, so lists showing
+ * many of them draw one textured quad per icon instead of an item model.
+ *
+ * An icon is rendered into a free slot the first time it is drawn; when all
+ * slots are taken the least recently drawn icon gives up its slot. At most
+ * {@link #BAKES_PER_FRAME} icons are baked per frame so opening a long list
+ * does not stall; the rest appear over the next frames. Resource reloads
+ * clear the atlas, since models and textures may have changed.
+ *
+ * Only used on the render thread.
+ */
+public final class IconAtlas {
+	private static final ResourceLocation TEXTURE = new ResourceLocation(SnowLib.MODID, "dynamic/icon_atlas");
+
+	// Texels per icon; items are drawn at 16 GUI pixels, so this stays sharp up to GUI scale 2
+	private static final int SLOT_SIZE = 32;
+	private static final int SLOTS_PER_ROW = 32;
+	private static final int ATLAS_SIZE = SLOT_SIZE * SLOTS_PER_ROW;
+	private static final int BAKES_PER_FRAME = 8;
+	private static final long FRAME_MILLIS = 16L;
+
+	private static final IconAtlas INSTANCE = new IconAtlas();
+
+	// Item -> slot, in order of last use
+	private final LinkedHashMap<Item, Integer> slots = new LinkedHashMap<>(64, 0.75f, true);
+	private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+
+	private RenderTarget target;
+	// Start of the current bake budget window, about one frame long
+	private long budgetStart;
+	private int bakesThisFrame;
+
+	private IconAtlas() {
+	}
+
+	public static IconAtlas get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Resolves registry IDs to icons: an item with the ID, else the item of a
+	 * block with the ID, else none. Suitable for dropdowns of registry IDs.
+	 */
+	public static Function<String, ItemLike> registryIcons() {
+		return id -> {
+			ResourceLocation location = ResourceLocation.tryParse(id);
+			if (location == null) {
+				return Items.AIR;
+			}
+			Item item = BuiltInRegistries.ITEM.get(location);
+			if (item != Items.AIR) {
+				return item;
+			}
+			return BuiltInRegistries.BLOCK.get(location).asItem();
+		};
+	}
+
+	/**
+	 * Draws the icon of an item (or a block's item) as a 16x16 quad.
+	 * Nothing is drawn for air, or while the icon waits for its turn to be baked.
+	 *
+	 * @return Whether the icon was drawn.
+	 */
+	public boolean draw(GuiGraphics guiGraphics, ItemLike itemLike, int x, int y) {
+		Item item = itemLike.asItem();
+		if (item == Items.AIR) {
+			return false;
+		}
+		Integer slot = this.slots.get(item);
+		if (slot == null) {
+			slot = this.bake(guiGraphics, item);
+			if (slot == null) {
+				return false;
+			}
+		}
+		int u = (slot % SLOTS_PER_ROW) * SLOT_SIZE;
+		int v = (slot / SLOTS_PER_ROW) * SLOT_SIZE;
+		// The target's rows are stored bottom up, so the slot is sampled upside down
+		guiGraphics.blit(TEXTURE, x, y, 16, 16, u, ATLAS_SIZE - v, SLOT_SIZE, -SLOT_SIZE, ATLAS_SIZE, ATLAS_SIZE);
+		return true;
+	}
+
+	/**
+	 * Forgets every icon. Called after a resource reload.
+	 */
+	public void clear() {
+		this.slots.clear();
+		this.freeSlots.clear();
+		if (this.target != null) {
+			Minecraft.getInstance().getTextureManager().release(TEXTURE);
+			this.target.destroyBuffers();
+			this.target = null;
+		}
+	}
+
+	private Integer bake(GuiGraphics guiGraphics, Item item) {
+		Minecraft minecraft = Minecraft.getInstance();
+		long now = Util.getMillis();
+		if (now - this.budgetStart >= FRAME_MILLIS) {
+			this.budgetStart = now;
+			this.bakesThisFrame = 0;
+		}
+		if (this.bakesThisFrame >= BAKES_PER_FRAME) {
+			return null;
+		}
+		this.bakesThisFrame++;
+
+		if (this.target == null) {
+			this.createTarget();
+		}
+		int slot = this.takeSlot();
+		int slotX = (slot % SLOTS_PER_ROW) * SLOT_SIZE;
+		int slotY = (slot / SLOTS_PER_ROW) * SLOT_SIZE;
+
+		// Whatever the screen queued so far belongs to the main target
+		guiGraphics.flush();
+
+		Matrix4f projection = RenderSystem.getProjectionMatrix();
+		VertexSorting sorting = RenderSystem.getVertexSorting();
+		// Lists bake while their own scissor is active; it must neither clip the atlas nor be lost
+		boolean scissored = GL11.glIsEnabled(GL11.GL_SCISSOR_TEST);
+		int[] scissorBox = new int[4];
+		GL11.glGetIntegerv(GL11.GL_SCISSOR_BOX, scissorBox);
+
+		this.target.bindWrite(true);
+		// Clear only this slot; an evicted icon may still be in it
+		RenderSystem.enableScissor(slotX, ATLAS_SIZE - slotY - SLOT_SIZE, SLOT_SIZE, SLOT_SIZE);
+		RenderSystem.clearColor(0.0F, 0.0F, 0.0F, 0.0F);
+		RenderSystem.clear(GlConst.GL_COLOR_BUFFER_BIT | GlConst.GL_DEPTH_BUFFER_BIT, Minecraft.ON_OSX);
+		RenderSystem.disableScissor();
+
+		RenderSystem.setProjectionMatrix(new Matrix4f().setOrtho(0.0F, ATLAS_SIZE, ATLAS_SIZE, 0.0F,
+			1000.0F, ForgeHooksClient.getGuiFarPlane()), VertexSorting.ORTHOGRAPHIC_Z);
+		GuiGraphics atlasGraphics = new GuiGraphics(minecraft, minecraft.renderBuffers().bufferSource());
+		atlasGraphics.pose().pushPose();
+		atlasGraphics.pose().translate(slotX, slotY, 0.0F);
+		atlasGraphics.pose().scale(SLOT_SIZE / 16.0F, SLOT_SIZE / 16.0F, 1.0F);
+		atlasGraphics.renderItem(new ItemStack(item), 0, 0);
+		atlasGraphics.pose().popPose();
+		atlasGraphics.flush();
+
+		RenderSystem.setProjectionMatrix(projection, sorting);
+		minecraft.getMainRenderTarget().bindWrite(true);
+		if (scissored) {
+			RenderSystem.enableScissor(scissorBox[0], scissorBox[1], scissorBox[2], scissorBox[3]);
+		}
+
+		this.slots.put(item, slot);
+		return slot;
+	}
+
+	/**
+	 * @return A free slot, evicting the least recently drawn icon if none is left.
+	 */
+	private int takeSlot() {
+		Integer free = this.freeSlots.poll();
+		if (free != null) {
+			return free;
+		}
+		Iterator<Map.Entry<Item, Integer>> eldest = this.slots.entrySet().iterator();
+		int slot = eldest.next().getValue();
+		eldest.remove();
+		return slot;
+	}
+
+	private void createTarget() {
+		this.target = new TextureTarget(ATLAS_SIZE, ATLAS_SIZE, true, Minecraft.ON_OSX);
+		this.target.setClearColor(0.0F, 0.0F, 0.0F, 0.0F);
+		this.target.clear(Minecraft.ON_OSX);
+		this.target.setFilterMode(GlConst.GL_NEAREST);
+		Minecraft.getInstance().getTextureManager().register(TEXTURE, new TargetTexture(this.target));
+		for (int slot = 0; slot < SLOTS_PER_ROW * SLOTS_PER_ROW; slot++) {
+			this.freeSlots.add(slot);
+		}
+	}
+
+	/**
+	 * Exposes the target's color buffer to blit under {@link #TEXTURE}.
+	 * The target owns the GL texture, so releasing this does not delete it.
+	 */
+	private static final class TargetTexture extends AbstractTexture {
+		TargetTexture(RenderTarget target) {
+			this.id = target.getColorTextureId();
+		}
+
+		@Override
+		public void load(ResourceManager resourceManager) {
+		}
+
+		@Override
+		public void releaseId() {
+		}
+	}
+}
@@ -0,0 +1,204 @@
+package com.snowbird.snowlib.client;
+
+import com.mojang.logging.LogUtils;
+import com.snowbird.snowlib.ConfigRegistry;
+import com.snowbird.snowlib.config.ConfigStore;
+import com.snowbird.snowlib.screens.options.ForgeSpecBindings;
+import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.network.chat.Component;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.fml.loading.FMLEnvironment;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Global registry for configuration screens.
+ * Each registered screen is displayed as a tab in the MasterConfigScreen.
+ *
+ * Register from client-only code, such as an {@code FMLClientSetupEvent}
+ * listener in a class subscribed for {@link Dist#CLIENT}. Dedicated servers
+ * have no screen classes, and code that names one can load it before the
+ * supplier is ever called: a method reference such as {@code MyScreen::new}
+ * is resolved when the registering call runs. Pass a lambda such as
+ * {@code () -> new MyScreen(...)} instead. Registrations made on a dedicated
+ * server anyway are ignored.
+ *
+ * Stores passed along with a screen are added to the {@link ConfigRegistry},
+ * which handles export and import and is usable on both sides.
+ *
+ * Each mod ID has one tab. Registering another screen for a mod ID replaces
+ * the earlier one in its tab position, with a warning.
+ *
+ * Forge constructs mods in parallel, so registration may happen on several
+ * threads at once. Readers get an immutable snapshot ordered by priority
+ * (highest first) and then registration order, which is rebuilt only when a
+ * screen is registered.
+ */
+public class ScreenRegistry {
+	private static final Logger LOGGER = LogUtils.getLogger();
+
+	private static final Comparator<Registered> ORDER = Comparator
+		.comparingInt((Registered registered) -> registered.registration().getPriority()).reversed()
+		.thenComparingLong(Registered::sequence);
+
+	/**
+	 * A registration and the position it was first made in, which breaks ties between equal priorities.
+	 */
+	private record Registered(ConfigScreenRegistration registration, long sequence) {
+	}
+
+	private static final Map<String, Registered> BY_MOD_ID = new ConcurrentHashMap<>();
+	// Guarded by the class lock
+	private static long nextSequence = 0L;
+	// Republished under the class lock after each registration; read without locking
+	private static volatile List<ConfigScreenRegistration> snapshot = List.of();
+
+	/**
+	 * Register a new config screen with a specified mod ID and title.
+	 *
+	 * @param modId          Unique identifier for the mod.
+	 * @param title          The title to show on the config tab.
+	 * @param screenSupplier Supplies an instance of the screen when needed; a
+	 *                       lambda, not a constructor reference.
+	 */
+	public static void registerConfigScreen(String modId, Component title, Supplier<Screen> screenSupplier) {
+		register(new ConfigScreenRegistration(modId, title, screenSupplier));
+	}
+
+	/**
+	 * Register a config screen together with the config stores its entries are bound to.
+	 * The stores are registered with {@link ConfigRegistry#registerStores}, so they
+	 * are included in its export and import.
+	 *
+	 */
+	public static void registerConfigScreen(String modId, Component title, Supplier<Screen> screenSupplier, ConfigStore... stores) {
+		register(new ConfigScreenRegistration(modId, title, screenSupplier, List.of(stores)));
+		ConfigRegistry.registerStores(modId, stores);
+	}
+
+	/**
+	 * Like {@link #registerConfigScreen(String, Component, Supplier, ConfigStore...)},
+	 * with tabs of higher priority shown first. The default priority is 0.
+	 *
+	 */
+	public static void registerConfigScreen(String modId, Component title, Supplier<Screen> screenSupplier, int priority, ConfigStore... stores) {
+		register(new ConfigScreenRegistration(modId, title, screenSupplier, List.of(stores), priority));
+		ConfigRegistry.registerStores(modId, stores);
+	}
+
+	/**
+	 * Register a screen generated from a Forge config spec by {@link ForgeSpecBindings}.
+	 * The spec is not read until the screen is first opened.
+	 *
+	 */
+	public static void registerForgeConfigScreen(String modId, Component title, ForgeConfigSpec spec) {
+		register(new ConfigScreenRegistration(modId, title, () -> ForgeSpecBindings.of(spec).createScreen()));
+	}
+
+	private static void register(ConfigScreenRegistration registration) {
+		if (FMLEnvironment.dist != Dist.CLIENT) {
+			return;
+		}
+		// Serialized so a slower thread cannot publish a snapshot missing a newer registration
+		synchronized (ScreenRegistry.class) {
+			Registered previous = BY_MOD_ID.get(registration.getModId());
+			if (previous != null) {
+				LOGGER.warn("Config screen for {} registered again, replacing the earlier one", registration.getModId());
+			}
+			long sequence = previous != null ? previous.sequence() : nextSequence++;
+			BY_MOD_ID.put(registration.getModId(), new Registered(registration, sequence));
+
+			List<Registered> sorted = new ArrayList<>(BY_MOD_ID.values());
+			sorted.sort(ORDER);
+			List<ConfigScreenRegistration> registrations = new ArrayList<>(sorted.size());
+			for (Registered registered : sorted) {
+				registrations.add(registered.registration());
+			}
+			snapshot = List.copyOf(registrations);
+		}
+	}
+
+	/**
+	 * @return The registration for the mod ID, or null.
+	 */
+	public static ConfigScreenRegistration getRegistration(String modId) {
+		Registered registered = BY_MOD_ID.get(modId);
+		return registered != null ? registered.registration() : null;
+	}
+
+	/**
+	 * Retrieves all registered config screens.
+	 *
+	 * @return An immutable snapshot of the registrations, in tab order. Keep it
+	 *         rather than calling again if indices must stay consistent.
+	 */
+	public static List<ConfigScreenRegistration> getRegisteredScreens() {
+		return snapshot;
+	}
+
+	/**
+	 * Data class containing information about a single
+	 * registered configuration screen.
+	 */
+	public static class ConfigScreenRegistration {
+		private final String modId;
+		private final Component title;
+		private final Supplier<Screen> screenSupplier;
+		private final List<ConfigStore> stores;
+		private final int priority;
+
+		/**
+		 * @param modId          Mod’s ID.
+		 * @param title          Title for the tab in MasterConfigScreen.
+		 * @param screenSupplier Creates the Screen instance to show.
+		 */
+		public ConfigScreenRegistration(String modId, Component title, Supplier<Screen> screenSupplier) {
+			this(modId, title, screenSupplier, List.of());
+		}
+
+		/**
+		 * @param stores Config stores backing the screen's entries.
+		 */
+		public ConfigScreenRegistration(String modId, Component title, Supplier<Screen> screenSupplier, List<ConfigStore> stores) {
+			this(modId, title, screenSupplier, stores, 0);
+		}
+
+		/**
+		 * @param priority Tabs of higher priority are shown first.
+		 */
+		public ConfigScreenRegistration(String modId, Component title, Supplier<Screen> screenSupplier, List<ConfigStore> stores, int priority) {
+			this.modId = modId;
+			this.title = title;
+			this.screenSupplier = screenSupplier;
+			this.stores = List.copyOf(stores);
+			this.priority = priority;
+		}
+
+		public String getModId() {
+			return modId;
+		}
+
+		public Component getTitle() {
+			return title;
+		}
+
+		public Supplier<Screen> getScreenSupplier() {
+			return screenSupplier;
+		}
+
+		public List<ConfigStore> getStores() {
+			return stores;
+		}
+
+		public int getPriority() {
+			return priority;
+		}
+	}
+}
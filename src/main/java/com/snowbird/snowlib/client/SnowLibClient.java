@@ -0,0 +1,92 @@
+package com.snowbird.snowlib.client;
+
+import com.mojang.blaze3d.platform.InputConstants;
+import com.snowbird.snowlib.SnowLib;
+import com.snowbird.snowlib.screens.MasterConfigScreen;
+import net.minecraft.client.KeyMapping;
+import net.minecraft.client.Minecraft;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.minecraftforge.client.event.InputEvent;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
+import net.minecraftforge.client.event.RegisterKeyMappingsEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
+import org.lwjgl.glfw.GLFW;
+
+/**
+ * Client-only setup: registers config screens and a key binding that opens
+ * the master config screen when it is pressed, and clears the
+ * {@link IconAtlas} on resource reloads.
+ *
+ * Only referenced through event subscriber annotations limited to
+ * {@link Dist#CLIENT}, so dedicated servers never load this class or the
+ * GUI classes it uses.
+ */
+@Mod.EventBusSubscriber(modid = SnowLib.MODID, value = Dist.CLIENT, bus = Mod.EventBusSubscriber.Bus.MOD)
+public final class SnowLibClient {
+	private static KeyMapping openGuiKey;
+
+	private SnowLibClient() {
+	}
+
+	/**
+	 * Registers the key mapping that opens the MasterConfigScreen.
+	 */
+	@SubscribeEvent
+	public static void onRegisterKeyMappings(RegisterKeyMappingsEvent event) {
+		openGuiKey = new KeyMapping(
+			"key.snowlib.open_gui",
+			InputConstants.Type.KEYSYM,
+			GLFW.GLFW_KEY_J,
+			"key.categories.snowlib"
+		);
+		event.register(openGuiKey);
+	}
+
+	/**
+	 * Registers client-only config screens. Screens are registered here rather
+	 * than from common code, so their classes are never loaded on a dedicated server.
+	 */
+	@SubscribeEvent
+	public static void onClientSetup(FMLClientSetupEvent event) {
+//		// Example config screens for demonstration
+//		ScreenRegistry.registerConfigScreen(
+//			"snowlibnewexample",
+//			Component.literal("New Example"),
+//			() -> new SnowLibNewExampleScreen()
+//		);
+//
+//		// Shown as a separate “All Test” screen
+//		ScreenRegistry.registerConfigScreen(
+//			"All Test",
+//			Component.literal("Color"),
+//			() -> new AllEntriesTestScreen()
+//		);
+	}
+
+	/**
+	 * Baked icons may show outdated models or textures after a reload.
+	 */
+	@SubscribeEvent
+	public static void onRegisterReloadListeners(RegisterClientReloadListenersEvent event) {
+		event.registerReloadListener((ResourceManagerReloadListener) resourceManager -> IconAtlas.get().clear());
+	}
+
+	/**
+	 * Handles key presses on the client side. If the user presses
+	 * the assigned key, it opens the MasterConfigScreen.
+	 */
+	@Mod.EventBusSubscriber(modid = SnowLib.MODID, value = Dist.CLIENT)
+	public static class ClientKeyHandler {
+
+		@SubscribeEvent
+		public static void onKeyInput(InputEvent.Key event) {
+			if (openGuiKey != null && openGuiKey.consumeClick()) {
+				Minecraft mc = Minecraft.getInstance();
+				mc.setScreen(new MasterConfigScreen());
+			}
+		}
+	}
+}
@@ -0,0 +1,306 @@
+package com.snowbird.snowlib.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compact binary cache of a {@link ConfigStore}'s values, read into memory in one go
+ * at load so startup skips the JSON parse.
+ *
+ * The JSON file stays the source of truth; the cache records the JSON file's
+ * modification time and size and is ignored once either differs. Layout
+ * (big-endian):
+ *
+ * <pre>
+ * header   int magic, short format version, short reserved,
+ *          long source mtime, long source size, int entry count, int heap offset
+ * keys     int[count]  heap offsets of the keys, sorted by their UTF-8 bytes
+ * payload  long[count] primitive bits, or a heap offset for strings, enums and sets
+ * types    byte[count] {@link ValueKind} ordinals
+ * heap     strings as (int length, UTF-8 bytes); sets as (int size, int[size] string offsets)
+ * </pre>
+ *
+ * Values are looked up by binary search on the key column, so only the keys
+ * a store actually defines are ever decoded.
+ */
+final class BinarySnapshot {
+	private static final int MAGIC = 0x534E4243; // "SNBC"
+	private static final short FORMAT_VERSION = 1;
+	private static final int HEADER_SIZE = 32;
+
+	private final ByteBuffer buffer;
+	private final int count;
+	private final int keysOffset;
+	private final int payloadOffset;
+	private final int typesOffset;
+	private final int heapOffset;
+
+	private BinarySnapshot(ByteBuffer buffer, int count, int heapOffset) {
+		this.buffer = buffer;
+		this.count = count;
+		this.keysOffset = HEADER_SIZE;
+		this.payloadOffset = this.keysOffset + 4 * count;
+		this.typesOffset = this.payloadOffset + 8 * count;
+		this.heapOffset = heapOffset;
+	}
+
+	/**
+	 * Reads the cache file if it exists and was written for the given source file state.
+	 * The file is closed on return; the cache holds no handle to it.
+	 *
+	 * @return The cache, or null if it is missing, stale or not a cache file.
+	 */
+	static BinarySnapshot open(Path file, long sourceModified, long sourceSize) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+				return null;
+			}
+			// The header is checked before the rest is read, so stale caches cost one small read
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			if (!readFully(channel, header)) {
+				return null;
+			}
+			if (header.getInt(0) != MAGIC || header.getShort(4) != FORMAT_VERSION
+				|| header.getLong(8) != sourceModified || header.getLong(16) != sourceSize) {
+				return null;
+			}
+			int count = header.getInt(24);
+			int heapOffset = header.getInt(28);
+			if (count < 0 || heapOffset != HEADER_SIZE + 13L * count || heapOffset > fileSize) {
+				return null;
+			}
+			ByteBuffer buffer = ByteBuffer.allocate((int) fileSize);
+			buffer.put(header.flip());
+			if (!readFully(channel, buffer)) {
+				return null;
+			}
+			return new BinarySnapshot(buffer, count, heapOffset);
+		} catch (NoSuchFileException e) {
+			return null;
+		}
+	}
+
+	private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	int size() {
+		return this.count;
+	}
+
+	/**
+	 * Reads the value from the cache without setting it; see {@link ConfigValue#setParsed}.
+	 * Throws a RuntimeException if the cache is damaged.
+	 *
+	 * @return The value, or null if the cache has no entry of the value's kind for its key.
+	 */
+	Object decode(ConfigValue<?> value) {
+		int index = this.find(value.getKey().getBytes(StandardCharsets.UTF_8));
+		if (index < 0 || this.buffer.get(this.typesOffset + index) != value.getKind().ordinal()) {
+			return null;
+		}
+		long payload = this.buffer.getLong(this.payloadOffset + 8 * index);
+		return switch (value.getKind()) {
+			case BOOLEAN -> payload != 0L;
+			case LONG -> payload;
+			case DOUBLE -> Double.longBitsToDouble(payload);
+			case STRING -> this.readString((int) payload);
+			case ENUM -> ((EnumValue<?>) value).byName(this.readString((int) payload));
+			case SET -> this.decodeSet((SetValue<?>) value, (int) payload);
+		};
+	}
+
+	private <T> Set<T> decodeSet(SetValue<T> value, int offset) {
+		int size = this.buffer.getInt(offset);
+		Set<T> elements = new LinkedHashSet<>();
+		for (int i = 0; i < size; i++) {
+			T element = value.decode(this.readString(this.buffer.getInt(offset + 4 + 4 * i)));
+			if (element != null) {
+				elements.add(element);
+			}
+		}
+		return elements;
+	}
+
+	private int find(byte[] key) {
+		int low = 0;
+		int high = this.count - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = this.compareKey(this.buffer.getInt(this.keysOffset + 4 * mid), key);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Compares the heap string at offset with the key, unsigned byte-wise like the writer's sort.
+	 */
+	private int compareKey(int offset, byte[] key) {
+		int length = this.buffer.getInt(offset);
+		int common = Math.min(length, key.length);
+		for (int i = 0; i < common; i++) {
+			int cmp = Byte.compareUnsigned(this.buffer.get(offset + 4 + i), key[i]);
+			if (cmp != 0) {
+				return cmp;
+			}
+		}
+		return Integer.compare(length, key.length);
+	}
+
+	private String readString(int offset) {
+		int length = this.buffer.getInt(offset);
+		byte[] bytes = new byte[length];
+		this.buffer.get(offset + 4, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	// ---------------------- Writing ----------------------
+
+	/**
+	 * Writes the snapshot's values to a temporary file and moves it over the target.
+	 */
+	static void write(Path file, Collection<ConfigValue<?>> values, ConfigSnapshot snapshot,
+					  long sourceModified, long sourceSize) throws IOException {
+		List<Entry> entries = new ArrayList<>(values.size());
+		for (ConfigValue<?> value : values) {
+			entries.add(new Entry(value, value.getKey().getBytes(StandardCharsets.UTF_8)));
+		}
+		entries.sort((a, b) -> Arrays.compareUnsigned(a.key, b.key));
+
+		int count = entries.size();
+		int heapOffset = HEADER_SIZE + 13 * count;
+		Heap heap = new Heap();
+		int[] keyOffsets = new int[count];
+		long[] payloads = new long[count];
+		for (int i = 0; i < count; i++) {
+			Entry entry = entries.get(i);
+			keyOffsets[i] = heapOffset + heap.addString(entry.key);
+			payloads[i] = encode(entry.value, snapshot, heap, heapOffset);
+		}
+
+		ByteBuffer out = ByteBuffer.allocate(heapOffset + heap.size());
+		out.putInt(MAGIC).putShort(FORMAT_VERSION).putShort((short) 0)
+			.putLong(sourceModified).putLong(sourceSize)
+			.putInt(count).putInt(heapOffset);
+		for (int offset : keyOffsets) {
+			out.putInt(offset);
+		}
+		for (long payload : payloads) {
+			out.putLong(payload);
+		}
+		for (Entry entry : entries) {
+			out.put((byte) entry.value.getKind().ordinal());
+		}
+		out.put(heap.bytes, 0, heap.size());
+		out.flip();
+
+		Files.createDirectories(file.getParent());
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+			StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (out.hasRemaining()) {
+				channel.write(out);
+			}
+		}
+		try {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static long encode(ConfigValue<?> value, ConfigSnapshot snapshot, Heap heap, int heapOffset) {
+		return switch (value.getKind()) {
+			case BOOLEAN -> snapshot.getBoolean((BooleanValue) value) ? 1L : 0L;
+			case LONG -> snapshot.getLong((LongValue) value);
+			case DOUBLE -> Double.doubleToLongBits(snapshot.getDouble((DoubleValue) value));
+			case STRING -> heapOffset + heap.addString(snapshot.getString((StringValue) value));
+			case ENUM -> heapOffset + heap.addString(snapshot.getEnum((EnumValue<?>) value).name());
+			case SET -> heapOffset + encodeSet((SetValue<?>) value, snapshot, heap, heapOffset);
+		};
+	}
+
+	private static <T> int encodeSet(SetValue<T> value, ConfigSnapshot snapshot, Heap heap, int heapOffset) {
+		Set<T> elements = snapshot.getSet(value);
+		int[] offsets = new int[elements.size()];
+		int i = 0;
+		for (T element : elements) {
+			offsets[i++] = heapOffset + heap.addString(value.encode(element));
+		}
+		int start = heap.addInt(offsets.length);
+		for (int offset : offsets) {
+			heap.addInt(offset);
+		}
+		return start;
+	}
+
+	private record Entry(ConfigValue<?> value, byte[] key) {
+	}
+
+	/**
+	 * Growable byte array for the string heap; offsets are relative to its start.
+	 */
+	private static final class Heap {
+		private byte[] bytes = new byte[256];
+		private int size = 0;
+
+		int size() {
+			return this.size;
+		}
+
+		int addString(String text) {
+			return this.addString(text.getBytes(StandardCharsets.UTF_8));
+		}
+
+		int addString(byte[] utf8) {
+			int start = this.addInt(utf8.length);
+			this.ensure(utf8.length);
+			System.arraycopy(utf8, 0, this.bytes, this.size, utf8.length);
+			this.size += utf8.length;
+			return start;
+		}
+
+		int addInt(int value) {
+			int start = this.size;
+			this.ensure(4);
+			this.bytes[this.size++] = (byte) (value >>> 24);
+			this.bytes[this.size++] = (byte) (value >>> 16);
+			this.bytes[this.size++] = (byte) (value >>> 8);
+			this.bytes[this.size++] = (byte) value;
+			return start;
+		}
+
+		private void ensure(int extra) {
+			if (this.size + extra > this.bytes.length) {
+				this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.size + extra));
+			}
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.snowbird.snowlib.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.snowbird.snowlib.delivery.CoalescingDelivery;
+import com.snowbird.snowlib.delivery.DeliveryTarget;
+import com.snowbird.snowlib.delivery.Subscription;
+import com.snowbird.snowlib.function.BooleanConsumer;
+
+import java.io.IOException;
+
+/**
+ * A boolean config value.
+ */
+public class BooleanValue extends ConfigValue<Boolean> {
+	private final boolean defaultValue;
+
+	BooleanValue(ConfigStore store, String key, boolean defaultValue) {
+		super(store, key);
+		this.defaultValue = defaultValue;
+	}
+
+	public boolean get() {
+		return this.store.readPrimitive(this) != 0L;
+	}
+
+	public void set(boolean value) {
+		this.store.writePrimitive(this, value ? 1L : 0L);
+	}
+
+	/**
+	 * Like {@link #addListener} but without boxing the value.
+	 */
+	public Subscription addBooleanListener(DeliveryTarget target, BooleanConsumer listener) {
+		return this.addDelivery(new CoalescingDelivery(target) {
+			@Override
+			protected void deliver() {
+				listener.accept(BooleanValue.this.get());
+			}
+		});
+	}
+
+	@Override
+	public ValueKind getKind() {
+		return ValueKind.BOOLEAN;
+	}
+
+	@Override
+	public Boolean getValue() {
+		return this.get();
+	}
+
+	@Override
+	public void setValue(Boolean value) {
+		this.set(value);
+	}
+
+	@Override
+	public Boolean getDefaultValue() {
+		return this.defaultValue;
+	}
+
+	@Override
+	void write(JsonWriter out, ConfigSnapshot snapshot) throws IOException {
+		out.value(snapshot.getBoolean(this));
+	}
+
+	@Override
+	Boolean parse(JsonReader in) throws IOException {
+		if (in.peek() != JsonToken.BOOLEAN) {
+			in.skipValue();
+			return null;
+		}
+		return in.nextBoolean();
+	}
+}
@@ -0,0 +1,51 @@
+package com.snowbird.snowlib.config;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * One or more merged publications of a {@link ConfigStore}.
+ *
+ * When several snapshots are published before a queued listener runs, the
+ * event spans from the snapshot before the first to the newest one and
+ * reports every value changed in between.
+ */
+public final class ConfigChangeEvent {
+	private final ConfigStore store;
+	private final ConfigSnapshot previous;
+	private final ConfigSnapshot current;
+	private final BitSet changed;
+
+	ConfigChangeEvent(ConfigStore store, ConfigSnapshot previous, ConfigSnapshot current, BitSet changed) {
+		this.store = store;
+		this.previous = previous;
+		this.current = current;
+		this.changed = changed;
+	}
+
+	public ConfigStore getStore() {
+		return this.store;
+	}
+
+	public ConfigSnapshot getPrevious() {
+		return this.previous;
+	}
+
+	public ConfigSnapshot getCurrent() {
+		return this.current;
+	}
+
+	public boolean hasChanged(ConfigValue<?> value) {
+		return value.getStore() == this.store && this.changed.get(value.index);
+	}
+
+	public List<ConfigValue<?>> getChangedValues() {
+		List<ConfigValue<?>> values = this.store.getValues();
+		List<ConfigValue<?>> result = new ArrayList<>(this.changed.cardinality());
+		for (int i = this.changed.nextSetBit(0); i >= 0; i = this.changed.nextSetBit(i + 1)) {
+			result.add(values.get(i));
+		}
+		return result;
+	}
+}
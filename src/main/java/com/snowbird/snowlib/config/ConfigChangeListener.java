@@ -0,0 +1,9 @@
+package com.snowbird.snowlib.config;
+
+/**
+ * Receives the changes published by a {@link ConfigStore}.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+	void configChanged(ConfigChangeEvent event);
+}
@@ -0,0 +1,102 @@
+package com.snowbird.snowlib.config;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the directories of loaded {@link ConfigStore}s and reloads a store
+ * when its file is changed by something else (an editor, a deploy tool).
+ *
+ * Events are collected until the directory has been quiet for a moment, so a
+ * file written in several steps is parsed once. Only files that belong to a
+ * store are looked at; the store itself skips changes it wrote.
+ */
+final class ConfigFileWatcher {
+	private static final Logger LOGGER = LogUtils.getLogger();
+	private static final long SETTLE_MILLIS = 200L;
+
+	private static final Map<Path, ConfigStore> STORES_BY_FILE = new ConcurrentHashMap<>();
+	private static final Set<Path> WATCHED_DIRECTORIES = new HashSet<>();
+	private static WatchService watchService;
+
+	private ConfigFileWatcher() {
+	}
+
+	static synchronized void watch(ConfigStore store) {
+		Path file = store.getFile().toAbsolutePath().normalize();
+		STORES_BY_FILE.put(file, store);
+
+		Path directory = file.getParent();
+		if (directory == null || WATCHED_DIRECTORIES.contains(directory)) {
+			return;
+		}
+		try {
+			if (watchService == null) {
+				watchService = FileSystems.getDefault().newWatchService();
+				Thread thread = new Thread(ConfigFileWatcher::run, "SnowLib Config Watcher");
+				thread.setDaemon(true);
+				thread.start();
+			}
+			Files.createDirectories(directory);
+			directory.register(watchService,
+				StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+			WATCHED_DIRECTORIES.add(directory);
+		} catch (IOException | UnsupportedOperationException e) {
+			LOGGER.warn("Cannot watch config directory {}; changes on disk need a restart", directory, e);
+		}
+	}
+
+	private static void run() {
+		try {
+			while (true) {
+				Set<Path> changed = new HashSet<>();
+				collect(watchService.take(), changed);
+				// Wait for the writer to finish before parsing
+				WatchKey next;
+				while ((next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					collect(next, changed);
+				}
+				for (Path file : changed) {
+					ConfigStore store = STORES_BY_FILE.get(file);
+					if (store != null) {
+						store.reloadFromDisk();
+					}
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// Shutting down
+		}
+	}
+
+	private static void collect(WatchKey key, Set<Path> changed) {
+		Path directory = (Path) key.watchable();
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				// Events were lost; check every store in the directory
+				for (Path file : STORES_BY_FILE.keySet()) {
+					if (directory.equals(file.getParent())) {
+						changed.add(file);
+					}
+				}
+			} else if (event.context() instanceof Path name && name.toString().endsWith(".json")) {
+				changed.add(directory.resolve(name));
+			}
+		}
+		key.reset();
+	}
+}
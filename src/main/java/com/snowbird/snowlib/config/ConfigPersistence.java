@@ -0,0 +1,91 @@
+package com.snowbird.snowlib.config;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background writer for {@link ConfigStore}s.
+ *
+ * Dirty stores are collected for a short window and then written on a single
+ * daemon thread, so a burst of changes costs one write per store. A shutdown
+ * hook flushes whatever is still pending when the game exits.
+ */
+final class ConfigPersistence {
+	private static final Logger LOGGER = LogUtils.getLogger();
+	private static final long BATCH_WINDOW_MILLIS = 250L;
+
+	private static final Set<ConfigStore> DIRTY = ConcurrentHashMap.newKeySet();
+	private static final AtomicBoolean FLUSH_SCHEDULED = new AtomicBoolean();
+	// Serializes writes between the writer thread and saveNow/shutdown callers
+	private static final Object WRITE_LOCK = new Object();
+
+	private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "SnowLib Config Writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(ConfigPersistence::flushAll, "SnowLib Config Shutdown"));
+	}
+
+	private ConfigPersistence() {
+	}
+
+	static void requestSave(ConfigStore store) {
+		DIRTY.add(store);
+		if (FLUSH_SCHEDULED.compareAndSet(false, true)) {
+			WRITER.schedule(ConfigPersistence::flushAll, BATCH_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Regenerates the store's binary cache from a snapshot read from the JSON
+	 * file in the given state. If the file changes first, the cache is simply stale.
+	 */
+	static void requestCacheWrite(ConfigStore store, ConfigSnapshot snapshot, long sourceModified, long sourceSize) {
+		WRITER.execute(() -> {
+			synchronized (WRITE_LOCK) {
+				store.writeCache(snapshot, sourceModified, sourceSize);
+			}
+		});
+	}
+
+	static void writeNow(ConfigStore store) {
+		DIRTY.remove(store);
+		write(store);
+	}
+
+	/**
+	 * Writes every dirty store on the calling thread.
+	 */
+	static void flushAll() {
+		// Cleared first so changes made during the flush schedule another one
+		FLUSH_SCHEDULED.set(false);
+		Iterator<ConfigStore> iterator = DIRTY.iterator();
+		while (iterator.hasNext()) {
+			ConfigStore store = iterator.next();
+			iterator.remove();
+			write(store);
+		}
+	}
+
+	private static void write(ConfigStore store) {
+		synchronized (WRITE_LOCK) {
+			try {
+				store.writeAtomically();
+			} catch (IOException | RuntimeException e) {
+				LOGGER.error("Failed to save config {}", store.getFile(), e);
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.snowbird.snowlib.config;
+
+import java.util.Set;
+
+/**
+ * An immutable view of every value in a {@link ConfigStore} at one point in time.
+ *
+ * Values are stored in two columns: a long array for booleans, longs and
+ * doubles (as raw bits) and an object array for strings, enums and sets.
+ * Writers never modify a published snapshot; they copy the columns and
+ * publish a new one, so a reader holding a snapshot sees a consistent set
+ * of values without locking.
+ */
+public final class ConfigSnapshot {
+	private final long version;
+	final long[] primitives;
+	final Object[] objects;
+
+	ConfigSnapshot(long version, long[] primitives, Object[] objects) {
+		this.version = version;
+		this.primitives = primitives;
+		this.objects = objects;
+	}
+
+	/**
+	 * Increases with every publication of the owning store.
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	public boolean getBoolean(BooleanValue value) {
+		return this.hasPrimitive(value) ? this.primitives[value.slot] != 0L : value.getDefaultValue();
+	}
+
+	public long getLong(LongValue value) {
+		return this.hasPrimitive(value) ? this.primitives[value.slot] : value.getDefaultValue();
+	}
+
+	public double getDouble(DoubleValue value) {
+		return this.hasPrimitive(value) ? Double.longBitsToDouble(this.primitives[value.slot]) : value.getDefaultValue();
+	}
+
+	public String getString(StringValue value) {
+		return this.hasObject(value) ? (String) this.objects[value.slot] : value.getDefaultValue();
+	}
+
+	@SuppressWarnings("unchecked")
+	public <E extends Enum<E>> E getEnum(EnumValue<E> value) {
+		return this.hasObject(value) ? (E) this.objects[value.slot] : value.getDefaultValue();
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> Set<T> getSet(SetValue<T> value) {
+		return this.hasObject(value) ? (Set<T>) this.objects[value.slot] : value.getDefaultValue();
+	}
+
+	/**
+	 * Boxed access for generic code.
+	 */
+	public Object get(ConfigValue<?> value) {
+		return switch (value.getKind()) {
+			case BOOLEAN -> this.getBoolean((BooleanValue) value);
+			case LONG -> this.getLong((LongValue) value);
+			case DOUBLE -> this.getDouble((DoubleValue) value);
+			case STRING, ENUM, SET -> this.hasObject(value) ? this.objects[value.slot] : value.getDefaultValue();
+		};
+	}
+
+	// A snapshot taken before a value was defined does not contain it
+	private boolean hasPrimitive(ConfigValue<?> value) {
+		return value.slot < this.primitives.length;
+	}
+
+	private boolean hasObject(ConfigValue<?> value) {
+		return value.slot < this.objects.length;
+	}
+}
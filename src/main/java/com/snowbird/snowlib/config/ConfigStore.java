@@ -0,0 +1,909 @@
+package com.snowbird.snowlib.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.mojang.logging.LogUtils;
+import com.snowbird.snowlib.SnowLib;
+import com.snowbird.snowlib.delivery.CoalescingDelivery;
+import com.snowbird.snowlib.delivery.DeliveryTarget;
+import com.snowbird.snowlib.delivery.Subscription;
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A named set of typed config values persisted to one JSON file.
+ *
+ * Mods define their values once (typically during construction), call
+ * {@link #load()} and then bind the values to SnowLib entries. Changes mark
+ * the store dirty and are written by a background thread that batches
+ * writes and replaces the file atomically, so nothing blocks a frame.
+ *
+ * Current values live in an immutable {@link ConfigSnapshot} published through
+ * a single volatile field. Readers never lock. Writers stage their changes on
+ * their own thread and publish a replacement snapshot under a short per-store
+ * lock, which is never held while caller code runs. Writes made inside
+ * {@link #batch(Runnable)} are published as one snapshot per store when the
+ * outermost batch ends; until then only the batching thread sees them.
+ *
+ * Listeners registered on the store or on single values choose a
+ * {@link DeliveryTarget}; publications made before a queued notification
+ * runs are merged into one.
+ *
+ * A store with a {@link SyncMode} other than NONE is kept in step with the
+ * server by {@link ConfigSync} while connected to one.
+ */
+public final class ConfigStore {
+	private static final Logger LOGGER = LogUtils.getLogger();
+	private static final Map<String, ConfigStore> STORES = new ConcurrentHashMap<>();
+
+	// The batch open on each thread, if any
+	private static final ThreadLocal<Batch> BATCH = new ThreadLocal<>();
+
+	private final String id;
+	private final Path file;
+	// Guards definitions and publishing a snapshot; only held to swap in new columns
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Map<String, ConfigValue<?>> values = new ConcurrentHashMap<>();
+	// Definition order is preserved so files stay in a stable, readable order; replaced on define
+	private volatile List<ConfigValue<?>> valueList = List.of();
+	private volatile ConfigSnapshot snapshot = new ConfigSnapshot(0L, new long[0], new Object[0]);
+	// File state last written or read by this store, so the watcher can skip it
+	private volatile FileState knownState = FileState.NONE;
+	private volatile SyncMode syncMode = SyncMode.NONE;
+
+	// Number of batches with writes staged for this store, so reads only look for them when there are any
+	private final AtomicInteger stagingBatches = new AtomicInteger();
+
+	private final List<StoreDelivery> listeners = new CopyOnWriteArrayList<>();
+
+	private ConfigStore(String id, Path file) {
+		this.id = id;
+		this.file = file;
+	}
+
+	/**
+	 * Creates a store saved to {@code config/snowlib/<id>.json}.
+	 *
+	 * @throws IllegalStateException if a store with this ID already exists.
+	 */
+	public static ConfigStore create(String id) {
+		return create(id, defaultDirectory().resolve(id + ".json"));
+	}
+
+	/**
+	 * Creates a store saved to the given file.
+	 *
+	 * @throws IllegalStateException if a store with this ID already exists.
+	 */
+	public static ConfigStore create(String id, Path file) {
+		ConfigStore store = new ConfigStore(id, file);
+		if (STORES.putIfAbsent(id, store) != null) {
+			throw new IllegalStateException("Config store already exists: " + id);
+		}
+		return store;
+	}
+
+	/**
+	 * Creates a store that is not registered: {@link #get(String)} does not
+	 * return it and its ID may already be taken. Lets one process hold a
+	 * server's and a client's copy of the same store, as sync tests do.
+	 */
+	static ConfigStore createDetached(String id, Path file) {
+		return new ConfigStore(id, file);
+	}
+
+	/**
+	 * @return The store with the given ID, or null.
+	 */
+	public static ConfigStore get(String id) {
+		return STORES.get(id);
+	}
+
+	public static Collection<ConfigStore> getStores() {
+		return Collections.unmodifiableCollection(STORES.values());
+	}
+
+	/**
+	 * The directory SnowLib keeps its config files in.
+	 */
+	public static Path defaultDirectory() {
+		return FMLPaths.CONFIGDIR.get().resolve(SnowLib.MODID);
+	}
+
+	public String getId() {
+		return this.id;
+	}
+
+	public Path getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Sets whether and how the store is synchronized with the server.
+	 * Must match on both sides and be set before the server starts or the
+	 * client connects.
+	 */
+	public void setSyncMode(SyncMode syncMode) {
+		this.syncMode = Objects.requireNonNull(syncMode);
+	}
+
+	public SyncMode getSyncMode() {
+		return this.syncMode;
+	}
+
+	// ---------------------- Definitions ----------------------
+
+	public BooleanValue defineBoolean(String key, boolean defaultValue) {
+		return this.define(new BooleanValue(this, key, defaultValue));
+	}
+
+	public LongValue defineLong(String key, long defaultValue) {
+		return this.defineLong(key, defaultValue, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	public LongValue defineLong(String key, long defaultValue, long min, long max) {
+		return this.define(new LongValue(this, key, defaultValue, min, max));
+	}
+
+	public DoubleValue defineDouble(String key, double defaultValue) {
+		return this.defineDouble(key, defaultValue, -Double.MAX_VALUE, Double.MAX_VALUE);
+	}
+
+	public DoubleValue defineDouble(String key, double defaultValue, double min, double max) {
+		return this.define(new DoubleValue(this, key, defaultValue, min, max));
+	}
+
+	public StringValue defineString(String key, String defaultValue) {
+		return this.define(new StringValue(this, key, defaultValue));
+	}
+
+	public <E extends Enum<E>> EnumValue<E> defineEnum(String key, Class<E> enumClass, E defaultValue) {
+		return this.define(new EnumValue<>(this, key, enumClass, defaultValue));
+	}
+
+	/**
+	 * Defines a set whose elements are stored as strings.
+	 *
+	 * @param decoder Maps stored text back to an element, or null to drop it.
+	 */
+	public <T> SetValue<T> defineSet(String key, Collection<T> defaultValue, Function<T, String> encoder, Function<String, T> decoder) {
+		return this.define(new SetValue<>(this, key, defaultValue, encoder, decoder));
+	}
+
+	/**
+	 * Defines a set of enum constants, stored by name.
+	 */
+	public <E extends Enum<E>> SetValue<E> defineEnumSet(String key, Class<E> enumClass, Collection<E> defaultValue) {
+		return this.defineSet(key, defaultValue, Enum::name, name -> {
+			for (E constant : enumClass.getEnumConstants()) {
+				if (constant.name().equals(name)) {
+					return constant;
+				}
+			}
+			return null;
+		});
+	}
+
+	private <V extends ConfigValue<?>> V define(V value) {
+		if (value.getKey().isEmpty()) {
+			throw new IllegalArgumentException("Config key must not be empty");
+		}
+		this.lock.lock();
+		try {
+			if (this.values.containsKey(value.getKey())) {
+				throw new IllegalArgumentException("Duplicate config key '" + value.getKey() + "' in store " + this.id);
+			}
+			List<ConfigValue<?>> list = new ArrayList<>(this.valueList);
+			value.index = list.size();
+			list.add(value);
+
+			// Definitions happen once at startup, so copying the column each time is fine
+			ConfigSnapshot current = this.snapshot;
+			long[] primitives = current.primitives;
+			Object[] objects = current.objects;
+			if (value.getKind().isPrimitive()) {
+				value.slot = primitives.length;
+				primitives = append(primitives, defaultBits(value));
+			} else {
+				value.slot = objects.length;
+				objects = append(objects, value.getDefaultValue());
+			}
+			this.valueList = Collections.unmodifiableList(list);
+			this.snapshot = new ConfigSnapshot(current.getVersion(), primitives, objects);
+			// Looked up without the lock, so only added once its slot is assigned
+			this.values.put(value.getKey(), value);
+		} finally {
+			this.lock.unlock();
+		}
+		return value;
+	}
+
+	private static long defaultBits(ConfigValue<?> value) {
+		return switch (value.getKind()) {
+			case BOOLEAN -> ((BooleanValue) value).getDefaultValue() ? 1L : 0L;
+			case LONG -> ((LongValue) value).getDefaultValue();
+			case DOUBLE -> Double.doubleToLongBits(((DoubleValue) value).getDefaultValue());
+			default -> throw new IllegalArgumentException("Not a primitive value: " + value.getKind());
+		};
+	}
+
+	private static long[] append(long[] column, long element) {
+		long[] copy = Arrays.copyOf(column, column.length + 1);
+		copy[column.length] = element;
+		return copy;
+	}
+
+	private static Object[] append(Object[] column, Object element) {
+		Object[] copy = Arrays.copyOf(column, column.length + 1);
+		copy[column.length] = element;
+		return copy;
+	}
+
+	/**
+	 * @return The value with the given key, or null.
+	 */
+	public ConfigValue<?> getValue(String key) {
+		return this.values.get(key);
+	}
+
+	/**
+	 * @return The defined values in definition order. The list is immutable.
+	 */
+	public List<ConfigValue<?>> getValues() {
+		return this.valueList;
+	}
+
+	/**
+	 * Notifies the listener on the given target after values of this store change.
+	 */
+	public Subscription addListener(DeliveryTarget target, ConfigChangeListener listener) {
+		StoreDelivery delivery = new StoreDelivery(this, target, listener);
+		this.listeners.add(delivery);
+		return () -> {
+			delivery.cancel();
+			this.listeners.remove(delivery);
+		};
+	}
+
+	// ---------------------- Snapshots ----------------------
+
+	/**
+	 * The currently published values. Read it once and use it for several
+	 * values to see them consistently with each other.
+	 */
+	public ConfigSnapshot snapshot() {
+		return this.snapshot;
+	}
+
+	/**
+	 * Runs the action with all config writes batched: each store touched by the
+	 * action publishes one snapshot when the outermost batch ends, and a store
+	 * whose values end up unchanged publishes nothing.
+	 *
+	 * The writes are staged on the calling thread. Values read on that thread
+	 * see them right away; other threads see them once the batch ends. No lock
+	 * is held while the action runs, so batches never block other threads.
+	 * Batches on different threads that set the same value publish in the
+	 * order they end, and the last one wins.
+	 */
+	public static void batch(Runnable action) {
+		beginBatch();
+		try {
+			action.run();
+		} finally {
+			endBatch();
+		}
+	}
+
+	/**
+	 * Starts a batch; must be paired with {@link #endBatch()} on the same thread.
+	 * Prefer {@link #batch(Runnable)}.
+	 */
+	public static void beginBatch() {
+		Batch batch = BATCH.get();
+		if (batch == null) {
+			batch = new Batch();
+			BATCH.set(batch);
+		}
+		batch.depth++;
+	}
+
+	public static void endBatch() {
+		Batch batch = BATCH.get();
+		if (batch == null) {
+			throw new IllegalStateException("No batch in progress on this thread");
+		}
+		if (--batch.depth > 0) {
+			return;
+		}
+		BATCH.remove();
+		List<Publication> publications = new ArrayList<>(batch.stores.size());
+		Throwable failure = null;
+		for (Map.Entry<ConfigStore, Staging> entry : batch.stores.entrySet()) {
+			ConfigStore store = entry.getKey();
+			try {
+				Publication publication = store.publish(entry.getValue());
+				if (publication != null) {
+					publications.add(publication);
+				}
+			} catch (RuntimeException | Error e) {
+				// The other stores still publish; the first failure is rethrown afterwards
+				if (failure == null) {
+					failure = e;
+				} else {
+					failure.addSuppressed(e);
+				}
+			} finally {
+				store.stagingBatches.decrementAndGet();
+			}
+		}
+		// Follow-up work runs with no batch open, so listeners may write again
+		for (Publication publication : publications) {
+			publication.store.published(publication);
+		}
+		if (failure instanceof RuntimeException runtime) {
+			throw runtime;
+		}
+		if (failure != null) {
+			throw (Error) failure;
+		}
+	}
+
+	/**
+	 * Reads a value's bits, as staged by the current thread's batch if it set them.
+	 */
+	long readPrimitive(ConfigValue<?> value) {
+		if (this.stagingBatches.get() != 0) {
+			Staging staging = this.currentStaging();
+			if (staging != null && staging.changed.get(value.index)) {
+				return staging.primitives[value.slot];
+			}
+		}
+		return this.snapshot.primitives[value.slot];
+	}
+
+	/**
+	 * Reads a value's object, as staged by the current thread's batch if it set it.
+	 */
+	Object readObject(ConfigValue<?> value) {
+		if (this.stagingBatches.get() != 0) {
+			Staging staging = this.currentStaging();
+			if (staging != null && staging.changed.get(value.index)) {
+				return staging.objects[value.slot];
+			}
+		}
+		return this.snapshot.objects[value.slot];
+	}
+
+	void writePrimitive(ConfigValue<?> value, long bits) {
+		beginBatch();
+		try {
+			Staging staging = this.staging();
+			if (staging.primitives == null || staging.primitives.length <= value.slot) {
+				staging.primitives = grow(staging.primitives, this.snapshot.primitives.length);
+			}
+			staging.primitives[value.slot] = bits;
+			staging.changed.set(value.index);
+		} finally {
+			endBatch();
+		}
+	}
+
+	void writeObject(ConfigValue<?> value, Object object) {
+		beginBatch();
+		try {
+			Staging staging = this.staging();
+			if (staging.objects == null || staging.objects.length <= value.slot) {
+				staging.objects = grow(staging.objects, this.snapshot.objects.length);
+			}
+			staging.objects[value.slot] = object;
+			staging.changed.set(value.index);
+		} finally {
+			endBatch();
+		}
+	}
+
+	private static long[] grow(long[] column, int length) {
+		return column == null ? new long[length] : Arrays.copyOf(column, length);
+	}
+
+	private static Object[] grow(Object[] column, int length) {
+		return column == null ? new Object[length] : Arrays.copyOf(column, length);
+	}
+
+	/**
+	 * A value's staging in the current thread's batch at one point, so a step
+	 * of the batch that fails can undo its own writes and keep earlier ones.
+	 */
+	record StagedValue(ConfigValue<?> value, boolean staged, Object previous) {
+	}
+
+	/**
+	 * Captures what the current thread's batch has staged for the value.
+	 */
+	StagedValue captureStaged(ConfigValue<?> value) {
+		Staging staging = this.currentStaging();
+		boolean staged = staging != null && staging.changed.get(value.index);
+		return new StagedValue(value, staged, staged ? value.getValue() : null);
+	}
+
+	/**
+	 * Puts the value's staging back the way it was captured, undoing later
+	 * writes to it in the same batch.
+	 */
+	void restoreStaged(StagedValue state) {
+		if (state.staged()) {
+			state.value().setParsed(state.previous());
+			return;
+		}
+		Staging staging = this.currentStaging();
+		if (staging != null) {
+			staging.changed.clear(state.value().index);
+		}
+	}
+
+	/**
+	 * @return This store's staging in the current thread's batch, which must be open.
+	 */
+	private Staging staging() {
+		Batch batch = BATCH.get();
+		Staging staging = batch.stores.get(this);
+		if (staging == null) {
+			staging = new Staging();
+			batch.stores.put(this, staging);
+			this.stagingBatches.incrementAndGet();
+		}
+		return staging;
+	}
+
+	private Staging currentStaging() {
+		Batch batch = BATCH.get();
+		return batch != null ? batch.stores.get(this) : null;
+	}
+
+	/**
+	 * Publishes the staged values on top of the current snapshot, so values
+	 * published meanwhile by other threads' batches are kept.
+	 *
+	 * @return The publication, or null if nothing actually changed.
+	 */
+	private Publication publish(Staging staging) {
+		this.lock.lock();
+		try {
+			ConfigSnapshot previous = this.snapshot;
+			List<ConfigValue<?>> list = this.valueList;
+			long[] primitives = previous.primitives;
+			Object[] objects = previous.objects;
+			BitSet changed = new BitSet();
+
+			// A value set and then set back within the batch is not a change
+			for (int i = staging.changed.nextSetBit(0); i >= 0; i = staging.changed.nextSetBit(i + 1)) {
+				ConfigValue<?> value = list.get(i);
+				if (value.getKind().isPrimitive()) {
+					long bits = staging.primitives[value.slot];
+					if (primitives[value.slot] != bits) {
+						if (primitives == previous.primitives) {
+							primitives = primitives.clone();
+						}
+						primitives[value.slot] = bits;
+						changed.set(i);
+					}
+				} else {
+					Object object = staging.objects[value.slot];
+					if (!Objects.equals(objects[value.slot], object)) {
+						if (objects == previous.objects) {
+							objects = objects.clone();
+						}
+						objects[value.slot] = object;
+						changed.set(i);
+					}
+				}
+			}
+			if (changed.isEmpty()) {
+				return null;
+			}
+			ConfigSnapshot current = new ConfigSnapshot(previous.getVersion() + 1, primitives, objects);
+			this.snapshot = current;
+			return new Publication(this, previous, current, changed, staging.origin);
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * The batch open on one thread: its nesting depth and the stores it wrote to, in order.
+	 */
+	private static final class Batch {
+		int depth;
+		final Map<ConfigStore, Staging> stores = new LinkedHashMap<>();
+	}
+
+	/**
+	 * One store's writes within a batch. Only used by the batching thread.
+	 */
+	private static final class Staging {
+		// Indexed by slot; only the entries of changed values are meaningful
+		long[] primitives;
+		Object[] objects;
+		// Definition indices of the values written
+		final BitSet changed = new BitSet();
+		// Where the values came from; only local writes are saved back to the file
+		Origin origin = Origin.LOCAL;
+	}
+
+	/**
+	 * Called after a new snapshot was published, with no lock held and no batch open.
+	 */
+	private void published(Publication publication) {
+		ConfigSnapshot previous = publication.previous();
+		ConfigSnapshot current = publication.current();
+		BitSet changed = publication.changed();
+		if (publication.origin() == Origin.LOCAL) {
+			this.save();
+		}
+		if (this.syncMode != SyncMode.NONE) {
+			ConfigSync.published(this, changed, publication.origin());
+		}
+		List<ConfigValue<?>> list = this.valueList;
+		for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+			list.get(i).notifyListeners();
+		}
+		for (StoreDelivery delivery : this.listeners) {
+			delivery.offer(previous, current, changed);
+		}
+	}
+
+	/**
+	 * Merges publications until the listener runs. Publications can arrive out
+	 * of order from different threads, so the versions decide the span.
+	 */
+	private static final class StoreDelivery extends CoalescingDelivery {
+		private final ConfigStore store;
+		private final ConfigChangeListener listener;
+		private ConfigSnapshot previous;
+		private ConfigSnapshot current;
+		private final BitSet changed = new BitSet();
+
+		StoreDelivery(ConfigStore store, DeliveryTarget target, ConfigChangeListener listener) {
+			super(target);
+			this.store = store;
+			this.listener = listener;
+		}
+
+		void offer(ConfigSnapshot previous, ConfigSnapshot current, BitSet changed) {
+			synchronized (this) {
+				if (this.previous == null || previous.getVersion() < this.previous.getVersion()) {
+					this.previous = previous;
+				}
+				if (this.current == null || current.getVersion() > this.current.getVersion()) {
+					this.current = current;
+				}
+				this.changed.or(changed);
+			}
+			this.request();
+		}
+
+		@Override
+		protected void deliver() {
+			ConfigChangeEvent event;
+			synchronized (this) {
+				if (this.current == null) {
+					return;
+				}
+				event = new ConfigChangeEvent(this.store, this.previous, this.current, (BitSet) this.changed.clone());
+				this.previous = null;
+				this.current = null;
+				this.changed.clear();
+			}
+			this.listener.configChanged(event);
+		}
+	}
+
+	/**
+	 * Where a batch of writes came from.
+	 */
+	enum Origin {
+		// Set through a value, e.g. by an entry or game code
+		LOCAL,
+		// Read from the store's file
+		FILE,
+		// Received from the other side of the connection
+		REMOTE
+	}
+
+	/**
+	 * @param changed Definition indices of the values that changed.
+	 */
+	private record Publication(ConfigStore store, ConfigSnapshot previous, ConfigSnapshot current, BitSet changed, Origin origin) {
+	}
+
+	// ---------------------- Persistence ----------------------
+
+	/**
+	 * Reads the file synchronously. Missing keys keep their current values and
+	 * unknown keys are ignored. A missing file is created with the defaults.
+	 * An unreadable file is set aside as {@code <name>.broken} and defaults are kept.
+	 *
+	 * If the binary cache was written for the file as it is now, values are read
+	 * from the binary cache instead of parsing the JSON; otherwise the JSON is
+	 * parsed and the cache regenerated in the background.
+	 */
+	public void load() {
+		ConfigFileWatcher.watch(this);
+		if (!Files.exists(this.file)) {
+			this.save();
+			return;
+		}
+		try {
+			FileState state = FileState.of(this.file);
+			if (!this.loadCache(state.modified(), state.size())) {
+				this.readJsonFile();
+				ConfigPersistence.requestCacheWrite(this, this.snapshot, state.modified(), state.size());
+			}
+			this.knownState = state;
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Failed to read config {}, keeping defaults", this.file, e);
+			try {
+				Files.move(this.file, this.file.resolveSibling(this.file.getFileName() + ".broken"),
+					StandardCopyOption.REPLACE_EXISTING);
+			} catch (IOException moveError) {
+				LOGGER.warn("Failed to set aside broken config {}", this.file, moveError);
+			}
+			this.save();
+		}
+	}
+
+	/**
+	 * Re-reads the file after it changed on disk. Only values that differ from
+	 * the current snapshot are published, and the file is not saved back.
+	 * Changes made by this store's own writes are ignored.
+	 */
+	void reloadFromDisk() {
+		if (ConfigSync.isSessionStore(this)) {
+			// The server's values win; the file is re-checked when the session ends
+			return;
+		}
+		try {
+			FileState state = FileState.of(this.file);
+			if (state.equals(this.knownState)) {
+				return;
+			}
+			this.readJsonFile();
+			this.knownState = state;
+			ConfigPersistence.requestCacheWrite(this, this.snapshot, state.modified(), state.size());
+			LOGGER.info("Reloaded config {} after it changed on disk", this.file);
+		} catch (NoSuchFileException e) {
+			// Deleted or being replaced; the replacement triggers another reload
+		} catch (IOException | RuntimeException e) {
+			// Possibly caught half-written; keep the current values until the next change
+			LOGGER.warn("Failed to reload config {}", this.file, e);
+		}
+	}
+
+	private void readJsonFile() throws IOException {
+		try (Reader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+			JsonReader json = new JsonReader(reader);
+			json.setLenient(true);
+			this.readJsonBatched(json);
+		}
+	}
+
+	private boolean loadCache(long sourceModified, long sourceSize) {
+		Path cacheFile = this.getCacheFile();
+		try {
+			BinarySnapshot cache = BinarySnapshot.open(cacheFile, sourceModified, sourceSize);
+			if (cache == null) {
+				return false;
+			}
+			// Decoded in full before anything is set, so a damaged cache changes nothing
+			Map<ConfigValue<?>, Object> decoded = new LinkedHashMap<>();
+			for (ConfigValue<?> value : this.valueList) {
+				Object cached = cache.decode(value);
+				if (cached != null) {
+					decoded.put(value, cached);
+				}
+			}
+			this.applyParsed(decoded, Origin.FILE);
+			return true;
+		} catch (IOException | RuntimeException e) {
+			LOGGER.debug("Ignoring unreadable config cache {}", cacheFile, e);
+			return false;
+		}
+	}
+
+	/**
+	 * The binary cache file, kept in a {@code .cache} directory next to the JSON file.
+	 */
+	Path getCacheFile() {
+		return this.file.resolveSibling(".cache").resolve(this.file.getFileName() + ".snapshot");
+	}
+
+	/**
+	 * Queues the store for the background writer. Multiple requests within the
+	 * batching window result in a single write.
+	 *
+	 * Does nothing while the store holds values from a server, so they never
+	 * end up in the local file.
+	 */
+	public void save() {
+		if (!ConfigSync.isSessionStore(this)) {
+			ConfigPersistence.requestSave(this);
+		}
+	}
+
+	/**
+	 * Writes the file on the calling thread, bypassing the batching window.
+	 */
+	public void saveNow() {
+		if (!ConfigSync.isSessionStore(this)) {
+			ConfigPersistence.writeNow(this);
+		}
+	}
+
+	/**
+	 * Starts a batch whose writes to this store came from the given origin.
+	 * Only local writes are saved back to the file.
+	 */
+	void beginSourcedBatch(Origin origin) {
+		beginBatch();
+		this.markOrigin(origin);
+	}
+
+	/**
+	 * Tags this store's writes in the current thread's batch, which must be open, with their origin.
+	 */
+	void markOrigin(Origin origin) {
+		this.staging().origin = origin;
+	}
+
+	/**
+	 * Sets values read from the file or cache in one batch, so they publish one snapshot.
+	 */
+	void applyParsed(Map<ConfigValue<?>, Object> parsed, Origin origin) {
+		this.beginSourcedBatch(origin);
+		try {
+			for (Map.Entry<ConfigValue<?>, Object> entry : parsed.entrySet()) {
+				entry.getKey().setParsed(entry.getValue());
+			}
+		} finally {
+			endBatch();
+		}
+	}
+
+	/**
+	 * Parses the whole file first, then sets its values in one batch so they
+	 * publish one snapshot. If the file cannot be parsed to the end, nothing
+	 * is set.
+	 */
+	void readJsonBatched(JsonReader json) throws IOException {
+		this.applyParsed(this.parseJson(json), Origin.FILE);
+	}
+
+	/**
+	 * Reads the values of a JSON object without setting them.
+	 *
+	 * @return The parsed values in file order; unknown keys and invalid values are left out.
+	 */
+	Map<ConfigValue<?>, Object> parseJson(JsonReader json) throws IOException {
+		if (json.peek() != JsonToken.BEGIN_OBJECT) {
+			throw new IOException("Expected a JSON object");
+		}
+		Map<ConfigValue<?>, Object> parsed = new LinkedHashMap<>();
+		json.beginObject();
+		while (json.hasNext()) {
+			String key = json.nextName();
+			ConfigValue<?> value = this.getValue(key);
+			if (value == null) {
+				json.skipValue();
+				continue;
+			}
+			Object read = value.parse(json);
+			if (read != null) {
+				parsed.put(value, read);
+			} else {
+				LOGGER.warn("Ignoring invalid value for '{}' in {}", key, this.file);
+			}
+		}
+		json.endObject();
+		return parsed;
+	}
+
+	void writeJson(JsonWriter json, ConfigSnapshot snapshot) throws IOException {
+		json.beginObject();
+		for (ConfigValue<?> value : this.valueList) {
+			json.name(value.getKey());
+			value.write(json, snapshot);
+		}
+		json.endObject();
+	}
+
+	/**
+	 * Writes to a temporary file next to the target and renames it over the
+	 * target, so readers never see a half-written file.
+	 */
+	void writeAtomically() throws IOException {
+		// One snapshot for the whole file, so it never mixes old and new values
+		ConfigSnapshot snapshot = this.snapshot;
+		Files.createDirectories(this.file.getParent());
+		Path temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+		try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+			JsonWriter json = new JsonWriter(writer);
+			json.setIndent("\t");
+			this.writeJson(json, snapshot);
+			json.flush();
+		}
+		// Recorded before the move, since the watcher may see the new file before
+		// the move returns; a rename keeps the temporary file's time and size
+		FileState previous = this.knownState;
+		this.knownState = FileState.of(temp);
+		try {
+			try {
+				Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException | RuntimeException e) {
+			this.knownState = previous;
+			throw e;
+		}
+
+		// A non-atomic move may have copied the file instead; it is reloaded at worst
+		FileState written = FileState.of(this.file);
+		this.knownState = written;
+		this.writeCache(snapshot, written.modified(), written.size());
+	}
+
+	/**
+	 * A file's modification time and size, used to tell this store's own writes
+	 * from changes made by others.
+	 */
+	private record FileState(long modified, long size) {
+		static final FileState NONE = new FileState(-1L, -1L);
+
+		static FileState of(Path file) throws IOException {
+			BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+			return new FileState(attributes.lastModifiedTime().toMillis(), attributes.size());
+		}
+	}
+
+	/**
+	 * Writes the binary cache for the snapshot, tagged with the JSON file state it matches.
+	 * Failures only cost the next startup a JSON parse, so they are not propagated.
+	 */
+	void writeCache(ConfigSnapshot snapshot, long sourceModified, long sourceSize) {
+		Path cacheFile = this.getCacheFile();
+		try {
+			BinarySnapshot.write(cacheFile, this.valueList, snapshot, sourceModified, sourceSize);
+			// Second slot of the earlier memory-mapped cache, which could not be replaced while mapped
+			Files.deleteIfExists(cacheFile.resolveSibling(cacheFile.getFileName() + ".1"));
+		} catch (IOException | RuntimeException e) {
+			LOGGER.debug("Failed to write config cache {}", cacheFile, e);
+		}
+	}
+}
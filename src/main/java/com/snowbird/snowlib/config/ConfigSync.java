@@ -0,0 +1,654 @@
+package com.snowbird.snowlib.config;
+
+import com.mojang.logging.LogUtils;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keeps stores with a {@link SyncMode} in step between a server and its clients.
+ *
+ * This class owns the wire format and the session state; the network layer
+ * only moves the encoded bytes. Each side is a {@link Server} or {@link Client}
+ * instance given the stores it syncs, so both can run in one process without a
+ * connection, e.g. in a GameTest feeding the output of one into the other.
+ *
+ * Wire format, with all counts and indices as varints:
+ * - Full (server to client, on login): FULL, store count, and per store its ID,
+ *   whether the player may change it, value count and per value its key, kind
+ *   and payload.
+ * - Delta (either direction, at most one per tick): DELTA, store count, and per
+ *   store its index in the full packet, changed value count and per value its
+ *   index and payload.
+ *
+ * Values are addressed by the server's definition index. The client maps
+ * those to its own values by key when the full packet arrives, so both sides
+ * may define values in a different order; keys unknown to one side or of a
+ * different kind are skipped. Longs are zigzag encoded, so small negative
+ * numbers stay small.
+ */
+public final class ConfigSync {
+	private static final Logger LOGGER = LogUtils.getLogger();
+
+	/**
+	 * Permission level a player needs to change {@link SyncMode#BIDIRECTIONAL} stores.
+	 */
+	public static final int WRITE_PERMISSION_LEVEL = 2;
+
+	private static final byte FULL = 0;
+	private static final byte DELTA = 1;
+	private static final ValueKind[] KINDS = ValueKind.values();
+
+	// Sides currently syncing, told about every publication
+	private static final CopyOnWriteArrayList<Server> SERVERS = new CopyOnWriteArrayList<>();
+	private static final CopyOnWriteArrayList<Client> CLIENTS = new CopyOnWriteArrayList<>();
+
+	private static final Server SERVER = new Server(ConfigStore::getStores);
+	private static final Client CLIENT = new Client(ConfigStore::get);
+
+	private ConfigSync() {
+	}
+
+	/**
+	 * @return The server side used by the network layer, syncing the registered stores.
+	 */
+	public static Server server() {
+		return SERVER;
+	}
+
+	/**
+	 * @return The client side used by the network layer, resolving store IDs
+	 *         to the registered stores.
+	 */
+	public static Client client() {
+		return CLIENT;
+	}
+
+	/**
+	 * @return Whether the store currently holds values received from a server.
+	 */
+	public static boolean isSessionStore(ConfigStore store) {
+		for (Client client : CLIENTS) {
+			if (client.holds(store)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return Whether the store holds server values this client may not change.
+	 */
+	public static boolean isLocked(ConfigStore store) {
+		for (Client client : CLIENTS) {
+			if (client.locks(store)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The server half of the sync. The network layer uses {@link #server()};
+	 * other instances sync their own stores, e.g. in a GameTest.
+	 */
+	public static final class Server {
+		private final Supplier<? extends Collection<ConfigStore>> storeSource;
+		// Guards the fields below
+		private final Object lock = new Object();
+		// Synced stores in wire order while running, else null
+		private List<ConfigStore> stores;
+		private final Map<ConfigStore, BitSet> pending = new LinkedHashMap<>();
+
+		/**
+		 * @param stores The stores to choose from on {@link #start()}; those
+		 *               without a {@link SyncMode} are left out.
+		 */
+		public Server(Supplier<? extends Collection<ConfigStore>> stores) {
+			this.storeSource = stores;
+		}
+
+		/**
+		 * Fixes the stores synced for this server run. Stores are ordered by ID so
+		 * their wire indices do not depend on mod loading order.
+		 */
+		public void start() {
+			List<ConfigStore> synced = new ArrayList<>();
+			for (ConfigStore store : this.storeSource.get()) {
+				if (store.getSyncMode() != SyncMode.NONE) {
+					synced.add(store);
+				}
+			}
+			synced.sort(Comparator.comparing(ConfigStore::getId));
+			synchronized (this.lock) {
+				this.stores = List.copyOf(synced);
+				this.pending.clear();
+			}
+			SERVERS.addIfAbsent(this);
+		}
+
+		public void stop() {
+			SERVERS.remove(this);
+			synchronized (this.lock) {
+				this.stores = null;
+				this.pending.clear();
+			}
+		}
+
+		/**
+		 * @param mayWrite Whether the player may change {@link SyncMode#BIDIRECTIONAL} stores.
+		 * @return The full packet for a joining player, or null if nothing is synced.
+		 */
+		public byte[] encodeFull(boolean mayWrite) {
+			List<ConfigStore> synced;
+			synchronized (this.lock) {
+				synced = this.stores;
+			}
+			if (synced == null || synced.isEmpty()) {
+				return null;
+			}
+			FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+			buf.writeByte(FULL);
+			buf.writeVarInt(synced.size());
+			for (ConfigStore store : synced) {
+				ConfigSnapshot snapshot = store.snapshot();
+				List<ConfigValue<?>> values = store.getValues();
+				buf.writeUtf(store.getId());
+				buf.writeBoolean(mayWrite && store.getSyncMode() == SyncMode.BIDIRECTIONAL);
+				buf.writeVarInt(values.size());
+				for (ConfigValue<?> value : values) {
+					buf.writeUtf(value.getKey());
+					buf.writeByte(value.getKind().ordinal());
+					writePayload(buf, value, snapshot);
+				}
+			}
+			return toBytes(buf);
+		}
+
+		/**
+		 * Collects the values changed on the server since the last call.
+		 * Called once per server tick.
+		 *
+		 * @return A delta for every client, or null if nothing changed.
+		 */
+		public byte[] drain() {
+			List<ConfigStore> synced;
+			Map<ConfigStore, BitSet> changed;
+			synchronized (this.lock) {
+				if (this.stores == null || this.pending.isEmpty()) {
+					return null;
+				}
+				synced = this.stores;
+				changed = new LinkedHashMap<>(this.pending);
+				this.pending.clear();
+			}
+			return encodeDelta(changed, synced::indexOf, store -> null);
+		}
+
+		/**
+		 * Applies a delta sent by a client. Changes to stores the player may not
+		 * change are dropped.
+		 *
+		 * @param mayWrite Whether the player may change {@link SyncMode#BIDIRECTIONAL} stores.
+		 * @return A delta with the server's values for the dropped changes, to send
+		 *         back so the client shows them again, or null.
+		 */
+		public byte[] receive(byte[] data, boolean mayWrite) {
+			List<ConfigStore> synced;
+			synchronized (this.lock) {
+				synced = this.stores;
+			}
+			if (synced == null) {
+				return null;
+			}
+			Map<ConfigStore, Map<ConfigValue<?>, Object>> accepted = new LinkedHashMap<>();
+			Map<ConfigStore, BitSet> rejected = new LinkedHashMap<>();
+			try {
+				FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(data));
+				if (buf.readByte() != DELTA) {
+					throw new IllegalArgumentException("Clients may only send deltas");
+				}
+				int storeCount = buf.readVarInt();
+				for (int s = 0; s < storeCount; s++) {
+					ConfigStore store = synced.get(buf.readVarInt());
+					List<ConfigValue<?>> values = store.getValues();
+					boolean writable = mayWrite && store.getSyncMode() == SyncMode.BIDIRECTIONAL;
+					int valueCount = buf.readVarInt();
+					for (int v = 0; v < valueCount; v++) {
+						ConfigValue<?> value = values.get(buf.readVarInt());
+						Object payload = readPayload(buf, value.getKind());
+						if (writable) {
+							accepted.computeIfAbsent(store, key -> new HashMap<>()).put(value, payload);
+						} else {
+							rejected.computeIfAbsent(store, key -> new BitSet()).set(value.index);
+						}
+					}
+				}
+			} catch (RuntimeException e) {
+				LOGGER.warn("Ignoring malformed config sync packet from client", e);
+				return null;
+			}
+			// The server is authoritative: accepted edits are its own now, so they are saved to its file
+			apply(accepted, ConfigStore.Origin.LOCAL);
+			return rejected.isEmpty() ? null : encodeDelta(rejected, synced::indexOf, store -> null);
+		}
+
+		private void published(ConfigStore store, BitSet changed) {
+			synchronized (this.lock) {
+				// Passes on everything, including changes received from clients
+				if (this.stores != null && this.stores.contains(store)) {
+					this.pending.computeIfAbsent(store, key -> new BitSet()).or(changed);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The client half of the sync. The network layer uses {@link #client()};
+	 * other instances resolve store IDs their own way, e.g. in a GameTest.
+	 */
+	public static final class Client {
+		private final Function<String, ConfigStore> storeLookup;
+		// Guards pending
+		private final Object lock = new Object();
+		private final Map<ConfigStore, BitSet> pending = new LinkedHashMap<>();
+		// Non-null while connected to a server that sent its values
+		private volatile ClientSession session;
+
+		/**
+		 * @param stores Resolves the store IDs in the full packet; returns null
+		 *               for stores that do not exist on this side.
+		 */
+		public Client(Function<String, ConfigStore> stores) {
+			this.storeLookup = stores;
+		}
+
+		/**
+		 * Applies a packet from the server. A full packet starts a new session,
+		 * ending any previous one first.
+		 */
+		public void receive(byte[] data) {
+			try {
+				FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(data));
+				byte type = buf.readByte();
+				if (type == FULL) {
+					this.startSession(buf);
+				} else if (type == DELTA) {
+					this.receiveDelta(buf);
+				} else {
+					throw new IllegalArgumentException("Unknown packet type " + type);
+				}
+			} catch (RuntimeException e) {
+				LOGGER.warn("Ignoring malformed config sync packet from server", e);
+			}
+		}
+
+		/**
+		 * Collects the values changed on this client since the last call.
+		 * Called once per client tick.
+		 *
+		 * @return A delta for the server, or null if nothing it accepts changed.
+		 */
+		public byte[] drain() {
+			ClientSession current = this.session;
+			Map<ConfigStore, BitSet> changed;
+			synchronized (this.lock) {
+				if (current == null || this.pending.isEmpty()) {
+					return null;
+				}
+				changed = new LinkedHashMap<>(this.pending);
+				this.pending.clear();
+			}
+			return encodeDelta(changed, store -> current.storeIndices.getOrDefault(store, -1), current.wireIndices::get);
+		}
+
+		/**
+		 * Restores the values the client had before it connected, then picks up
+		 * any edits made to the files meanwhile. Called when leaving the server.
+		 */
+		public void endSession() {
+			ClientSession ended = this.session;
+			if (ended == null) {
+				return;
+			}
+			this.session = null;
+			CLIENTS.remove(this);
+			synchronized (this.lock) {
+				this.pending.clear();
+			}
+			for (Map.Entry<ConfigStore, ConfigSnapshot> entry : ended.baselines.entrySet()) {
+				ConfigStore store = entry.getKey();
+				ConfigSnapshot baseline = entry.getValue();
+				ConfigStore.beginBatch();
+				try {
+					// These are the file's values, so there is nothing to save
+					store.markOrigin(ConfigStore.Origin.FILE);
+					for (ConfigValue<?> value : store.getValues()) {
+						if (value.getKind().isPrimitive()) {
+							if (value.slot < baseline.primitives.length) {
+								store.writePrimitive(value, baseline.primitives[value.slot]);
+							}
+						} else if (value.slot < baseline.objects.length) {
+							store.writeObject(value, baseline.objects[value.slot]);
+						}
+					}
+				} finally {
+					ConfigStore.endBatch();
+				}
+				store.reloadFromDisk();
+			}
+		}
+
+		/**
+		 * @return Whether the store holds values received through this client.
+		 */
+		public boolean holds(ConfigStore store) {
+			ClientSession current = this.session;
+			return current != null && current.storeIndices.containsKey(store);
+		}
+
+		/**
+		 * @return Whether the store holds server values this client may not change.
+		 */
+		public boolean locks(ConfigStore store) {
+			ClientSession current = this.session;
+			if (current == null) {
+				return false;
+			}
+			Integer index = current.storeIndices.get(store);
+			return index != null && !current.writable[index];
+		}
+
+		private void startSession(FriendlyByteBuf buf) {
+			this.endSession();
+
+			int storeCount = buf.readVarInt();
+			ConfigStore[] stores = new ConfigStore[storeCount];
+			boolean[] writable = new boolean[storeCount];
+			ValueKind[][] kinds = new ValueKind[storeCount][];
+			ConfigValue<?>[][] values = new ConfigValue<?>[storeCount][];
+			Map<ConfigStore, Integer> storeIndices = new HashMap<>();
+			Map<ConfigStore, int[]> wireIndices = new HashMap<>();
+			Map<ConfigStore, Map<ConfigValue<?>, Object>> received = new LinkedHashMap<>();
+
+			for (int s = 0; s < storeCount; s++) {
+				String id = buf.readUtf();
+				writable[s] = buf.readBoolean();
+				ConfigStore store = this.storeLookup.apply(id);
+				if (store != null && store.getSyncMode() == SyncMode.NONE) {
+					LOGGER.warn("Server syncs config store {}, which is not synced here; ignoring it", id);
+					store = null;
+				}
+				stores[s] = store;
+
+				int valueCount = buf.readVarInt();
+				kinds[s] = new ValueKind[valueCount];
+				values[s] = new ConfigValue<?>[valueCount];
+				int[] toWire = null;
+				if (store != null) {
+					toWire = new int[store.getValues().size()];
+					Arrays.fill(toWire, -1);
+					storeIndices.put(store, s);
+					wireIndices.put(store, toWire);
+				}
+				for (int v = 0; v < valueCount; v++) {
+					String key = buf.readUtf();
+					ValueKind kind = KINDS[buf.readByte()];
+					Object payload = readPayload(buf, kind);
+					kinds[s][v] = kind;
+					ConfigValue<?> value = store != null ? store.getValue(key) : null;
+					if (value != null && value.getKind() == kind) {
+						values[s][v] = value;
+						toWire[value.index] = v;
+						received.computeIfAbsent(store, k -> new HashMap<>()).put(value, payload);
+					}
+				}
+			}
+
+			Map<ConfigStore, ConfigSnapshot> baselines = new HashMap<>();
+			for (ConfigStore store : storeIndices.keySet()) {
+				baselines.put(store, store.snapshot());
+			}
+			// Published before the values arrive, so they are never saved to the local files
+			this.session = new ClientSession(stores, writable, kinds, values, storeIndices, wireIndices, baselines);
+			CLIENTS.addIfAbsent(this);
+			apply(received, ConfigStore.Origin.REMOTE);
+		}
+
+		private void receiveDelta(FriendlyByteBuf buf) {
+			ClientSession current = this.session;
+			if (current == null) {
+				return;
+			}
+			Map<ConfigStore, Map<ConfigValue<?>, Object>> received = new LinkedHashMap<>();
+			int storeCount = buf.readVarInt();
+			for (int s = 0; s < storeCount; s++) {
+				int storeIndex = buf.readVarInt();
+				ConfigStore store = current.stores[storeIndex];
+				int valueCount = buf.readVarInt();
+				for (int v = 0; v < valueCount; v++) {
+					int valueIndex = buf.readVarInt();
+					// Read even if unknown here, to get past the payload
+					Object payload = readPayload(buf, current.kinds[storeIndex][valueIndex]);
+					ConfigValue<?> value = current.values[storeIndex][valueIndex];
+					if (store != null && value != null) {
+						received.computeIfAbsent(store, k -> new HashMap<>()).put(value, payload);
+					}
+				}
+			}
+			apply(received, ConfigStore.Origin.REMOTE);
+		}
+
+		private void published(ConfigStore store, BitSet changed, ConfigStore.Origin origin) {
+			ClientSession current = this.session;
+			// Values from the server are not echoed back
+			if (origin == ConfigStore.Origin.REMOTE || current == null) {
+				return;
+			}
+			Integer index = current.storeIndices.get(store);
+			if (index != null && current.writable[index]) {
+				synchronized (this.lock) {
+					this.pending.computeIfAbsent(store, key -> new BitSet()).or(changed);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The connection to one server: its store table as sent in the full packet,
+	 * and the values the client had before.
+	 */
+	private record ClientSession(
+		// By wire index; null where the store or value does not exist here
+		ConfigStore[] stores,
+		boolean[] writable,
+		ValueKind[][] kinds,
+		ConfigValue<?>[][] values,
+		Map<ConfigStore, Integer> storeIndices,
+		// Local definition index to wire index, -1 if the server lacks the value
+		Map<ConfigStore, int[]> wireIndices,
+		Map<ConfigStore, ConfigSnapshot> baselines
+	) {
+	}
+
+	// ---------------------- Shared ----------------------
+
+	/**
+	 * Called after a synced store published a snapshot.
+	 */
+	static void published(ConfigStore store, BitSet changed, ConfigStore.Origin origin) {
+		for (Server server : SERVERS) {
+			server.published(store, changed);
+		}
+		for (Client client : CLIENTS) {
+			client.published(store, changed, origin);
+		}
+	}
+
+	/**
+	 * Sets received values, publishing one snapshot per store.
+	 *
+	 * @param origin REMOTE for the client's copy of server values, which are
+	 *               neither saved nor echoed back; LOCAL for client edits the
+	 *               server accepted, which it saves like its own.
+	 */
+	private static void apply(Map<ConfigStore, Map<ConfigValue<?>, Object>> received, ConfigStore.Origin origin) {
+		if (received.isEmpty()) {
+			return;
+		}
+		ConfigStore.beginBatch();
+		try {
+			for (Map.Entry<ConfigStore, Map<ConfigValue<?>, Object>> entry : received.entrySet()) {
+				entry.getKey().markOrigin(origin);
+				for (Map.Entry<ConfigValue<?>, Object> change : entry.getValue().entrySet()) {
+					applyPayload(change.getKey(), change.getValue());
+				}
+			}
+		} finally {
+			ConfigStore.endBatch();
+		}
+	}
+
+	/**
+	 * @param storeIndex  Wire index of a store, or -1 to leave it out.
+	 * @param wireIndices Maps definition indices to wire indices (-1 to leave
+	 *                    a value out), or returns null if they are the same.
+	 */
+	private static byte[] encodeDelta(
+		Map<ConfigStore, BitSet> pending,
+		ToIntFunction<ConfigStore> storeIndex,
+		Function<ConfigStore, int[]> wireIndices
+	) {
+		FriendlyByteBuf body = new FriendlyByteBuf(Unpooled.buffer());
+		int storeCount = 0;
+		for (Map.Entry<ConfigStore, BitSet> entry : pending.entrySet()) {
+			ConfigStore store = entry.getKey();
+			int index = storeIndex.applyAsInt(store);
+			if (index < 0) {
+				continue;
+			}
+			BitSet changed = entry.getValue();
+			int[] toWire = wireIndices.apply(store);
+			int valueCount = 0;
+			for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+				if (toWire == null || toWire[i] >= 0) {
+					valueCount++;
+				}
+			}
+			if (valueCount == 0) {
+				continue;
+			}
+			// Latest values only; earlier changes within the tick are not sent
+			ConfigSnapshot snapshot = store.snapshot();
+			List<ConfigValue<?>> values = store.getValues();
+			body.writeVarInt(index);
+			body.writeVarInt(valueCount);
+			for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+				int wire = toWire == null ? i : toWire[i];
+				if (wire >= 0) {
+					body.writeVarInt(wire);
+					writePayload(body, values.get(i), snapshot);
+				}
+			}
+			storeCount++;
+		}
+		if (storeCount == 0) {
+			return null;
+		}
+		FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer(body.readableBytes() + 6));
+		buf.writeByte(DELTA);
+		buf.writeVarInt(storeCount);
+		buf.writeBytes(body);
+		return toBytes(buf);
+	}
+
+	private static void writePayload(FriendlyByteBuf buf, ConfigValue<?> value, ConfigSnapshot snapshot) {
+		switch (value.getKind()) {
+			case BOOLEAN -> buf.writeBoolean(snapshot.getBoolean((BooleanValue) value));
+			case LONG -> {
+				long v = snapshot.getLong((LongValue) value);
+				buf.writeVarLong((v << 1) ^ (v >> 63));
+			}
+			case DOUBLE -> buf.writeDouble(snapshot.getDouble((DoubleValue) value));
+			case STRING -> buf.writeUtf(snapshot.getString((StringValue) value));
+			case ENUM -> buf.writeUtf(snapshot.getEnum((EnumValue<?>) value).name());
+			case SET -> writeSet(buf, (SetValue<?>) value, snapshot);
+		}
+	}
+
+	private static <T> void writeSet(FriendlyByteBuf buf, SetValue<T> value, ConfigSnapshot snapshot) {
+		Set<T> elements = snapshot.getSet(value);
+		buf.writeVarInt(elements.size());
+		for (T element : elements) {
+			buf.writeUtf(value.encode(element));
+		}
+	}
+
+	/**
+	 * Reads a payload as a Boolean, Long, Double, String (also for enums) or
+	 * List of encoded set elements.
+	 */
+	private static Object readPayload(FriendlyByteBuf buf, ValueKind kind) {
+		return switch (kind) {
+			case BOOLEAN -> buf.readBoolean();
+			case LONG -> {
+				long zigzag = buf.readVarLong();
+				yield (zigzag >>> 1) ^ -(zigzag & 1L);
+			}
+			case DOUBLE -> buf.readDouble();
+			case STRING, ENUM -> buf.readUtf();
+			case SET -> {
+				int size = buf.readVarInt();
+				List<String> elements = new ArrayList<>(Math.min(size, 256));
+				for (int i = 0; i < size; i++) {
+					elements.add(buf.readUtf());
+				}
+				yield elements;
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void applyPayload(ConfigValue<?> value, Object payload) {
+		switch (value.getKind()) {
+			case BOOLEAN -> ((BooleanValue) value).set((Boolean) payload);
+			case LONG -> ((LongValue) value).set((Long) payload);
+			case DOUBLE -> ((DoubleValue) value).set((Double) payload);
+			case STRING -> ((StringValue) value).set((String) payload);
+			case ENUM -> ((EnumValue<?>) value).setByName((String) payload);
+			case SET -> applySet((SetValue<?>) value, (List<String>) payload);
+		}
+	}
+
+	private static <T> void applySet(SetValue<T> value, List<String> encoded) {
+		List<T> elements = new ArrayList<>(encoded.size());
+		for (String text : encoded) {
+			T element = value.decode(text);
+			if (element != null) {
+				elements.add(element);
+			}
+		}
+		value.set(elements);
+	}
+
+	private static byte[] toBytes(FriendlyByteBuf buf) {
+		byte[] bytes = new byte[buf.readableBytes()];
+		buf.readBytes(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,163 @@
+package com.snowbird.snowlib.config;
+
+import com.snowbird.snowlib.SnowLib;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Runs a {@link ConfigSync.Server} and a {@link ConfigSync.Client} side by
+ * side, each with its own copy of a store, and passes the packets between
+ * them by hand. The copies are detached, so they neither touch the
+ * registered stores nor find each other by ID.
+ *
+ * Run with the {@code gameTestServer} Gradle task.
+ */
+@GameTestHolder(SnowLib.MODID)
+@PrefixGameTestTemplate(false)
+public final class ConfigSyncGameTests {
+	private static final String STORE_ID = "sync_test";
+
+	private ConfigSyncGameTests() {
+	}
+
+	@GameTest(template = "empty")
+	public static void fullPacketOnLogin(GameTestHelper helper) {
+		Connection connection = new Connection();
+		try {
+			connection.server.count.set(7L);
+			connection.server.name.set("server");
+			connection.connect(true);
+
+			helper.assertTrue(connection.client.count.get() == 7L, "Client did not receive the count");
+			helper.assertTrue("server".equals(connection.client.name.get()), "Client did not receive the name");
+			helper.assertTrue(ConfigSync.isSessionStore(connection.client.store), "Client store is not in the session");
+			helper.assertTrue(!ConfigSync.isSessionStore(connection.server.store), "Server store is in the session");
+			helper.assertTrue(!ConfigSync.isLocked(connection.client.store), "Writable store is locked");
+
+			connection.clientSide.endSession();
+			helper.assertTrue(connection.client.count.get() == 0L, "Client count was not restored on logout");
+			helper.assertTrue(!ConfigSync.isSessionStore(connection.client.store), "Session outlived logout");
+		} finally {
+			connection.close();
+		}
+		helper.succeed();
+	}
+
+	@GameTest(template = "empty")
+	public static void deltasEachTick(GameTestHelper helper) {
+		Connection connection = new Connection();
+		try {
+			connection.connect(true);
+			connection.server.count.set(8L);
+			byte[] delta = connection.serverSide.drain();
+			helper.assertTrue(delta != null, "Server change produced no delta");
+			helper.assertTrue(connection.serverSide.drain() == null, "Server delta was sent twice");
+			connection.clientSide.receive(delta);
+			helper.assertTrue(connection.client.count.get() == 8L, "Client did not apply the server delta");
+			helper.assertTrue(connection.clientSide.drain() == null, "Client echoed the server delta");
+
+			connection.client.name.set("client");
+			byte[] edit = connection.clientSide.drain();
+			helper.assertTrue(edit != null, "Client change produced no delta");
+			helper.assertTrue(connection.serverSide.receive(edit, true) == null, "Server rejected a permitted edit");
+			helper.assertTrue("client".equals(connection.server.name.get()), "Server did not apply the client edit");
+			// Passed on to the other players
+			helper.assertTrue(connection.serverSide.drain() != null, "Server did not pass on the client edit");
+		} finally {
+			connection.close();
+		}
+		helper.succeed();
+	}
+
+	@GameTest(template = "empty")
+	public static void rejectsClientWithoutPermission(GameTestHelper helper) {
+		Connection locked = new Connection();
+		try {
+			locked.connect(false);
+			helper.assertTrue(ConfigSync.isLocked(locked.client.store), "Store without permission is not locked");
+			locked.client.count.set(3L);
+			helper.assertTrue(locked.clientSide.drain() == null, "Locked client sent its change");
+		} finally {
+			locked.close();
+		}
+
+		// Permission revoked after login: the edit is sent, dropped and corrected
+		Connection revoked = new Connection();
+		try {
+			revoked.connect(true);
+			revoked.server.count.set(5L);
+			revoked.clientSide.receive(revoked.serverSide.drain());
+			revoked.client.count.set(9L);
+			byte[] correction = revoked.serverSide.receive(revoked.clientSide.drain(), false);
+			helper.assertTrue(revoked.server.count.get() == 5L, "Server applied an edit without permission");
+			helper.assertTrue(correction != null, "Server sent no correction");
+			revoked.clientSide.receive(correction);
+			helper.assertTrue(revoked.client.count.get() == 5L, "Correction did not restore the client value");
+		} finally {
+			revoked.close();
+		}
+		helper.succeed();
+	}
+
+	/**
+	 * A server and a client side, each with its copy of the store.
+	 */
+	private static final class Connection {
+		final Copy server = new Copy("server", false);
+		final Copy client = new Copy("client", true);
+		final ConfigSync.Server serverSide = new ConfigSync.Server(() -> List.of(this.server.store));
+		final ConfigSync.Client clientSide = new ConfigSync.Client(id -> STORE_ID.equals(id) ? this.client.store : null);
+
+		/**
+		 * Starts the server and logs the client in with the full packet.
+		 */
+		void connect(boolean mayWrite) {
+			this.serverSide.start();
+			this.clientSide.receive(Objects.requireNonNull(this.serverSide.encodeFull(mayWrite)));
+		}
+
+		void close() {
+			this.clientSide.endSession();
+			this.serverSide.stop();
+		}
+	}
+
+	/**
+	 * One side's copy of the store, saved to a temporary directory.
+	 */
+	private static final class Copy {
+		final ConfigStore store;
+		final LongValue count;
+		final StringValue name;
+
+		Copy(String side, boolean reversed) {
+			Path directory;
+			try {
+				directory = Files.createTempDirectory("snowlib-" + side);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			this.store = ConfigStore.createDetached(STORE_ID, directory.resolve(STORE_ID + ".json"));
+			this.store.setSyncMode(SyncMode.BIDIRECTIONAL);
+			// Defined in a different order on each side, and each with a value the other lacks
+			if (reversed) {
+				this.store.defineBoolean("client_only", false);
+				this.name = this.store.defineString("name", "");
+				this.count = this.store.defineLong("count", 0L);
+			} else {
+				this.count = this.store.defineLong("count", 0L);
+				this.name = this.store.defineString("name", "");
+				this.store.defineBoolean("server_only", false);
+			}
+		}
+	}
+}
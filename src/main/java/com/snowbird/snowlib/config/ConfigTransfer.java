@@ -0,0 +1,221 @@
+package com.snowbird.snowlib.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming export and import of config stores, grouped by owner (usually a mod ID).
+ *
+ * Both directions work value by value on Gson's streaming reader and writer,
+ * so neither holds the whole input or output in memory. The format is:
+ *
+ * <pre>
+ * {
+ *   "format": 1,
+ *   "groups": {
+ *     "&lt;group&gt;": {
+ *       "&lt;store id&gt;": { "&lt;key&gt;": value, ... }
+ *     }
+ *   }
+ * }
+ * </pre>
+ */
+public final class ConfigTransfer {
+	private static final Logger LOGGER = LogUtils.getLogger();
+	public static final int FORMAT_VERSION = 1;
+
+	/**
+	 * Counts of the values an import set and the ones it could not use
+	 * (unknown groups, stores or keys, or values of the wrong type).
+	 */
+	public record ImportResult(int applied, int skipped) {
+	}
+
+	private ConfigTransfer() {
+	}
+
+	/**
+	 * Writes every value of the given stores. A store listed under several
+	 * groups is written under the first one only.
+	 */
+	public static void export(Writer out, Map<String, ? extends Collection<ConfigStore>> groups) throws IOException {
+		JsonWriter json = new JsonWriter(out);
+		json.setIndent("\t");
+		json.beginObject();
+		json.name("format").value(FORMAT_VERSION);
+		json.name("groups").beginObject();
+
+		Set<ConfigStore> written = new HashSet<>();
+		for (Map.Entry<String, ? extends Collection<ConfigStore>> group : groups.entrySet()) {
+			json.name(group.getKey()).beginObject();
+			for (ConfigStore store : group.getValue()) {
+				if (!written.add(store)) {
+					continue;
+				}
+				// One snapshot per store keeps its values consistent with each other
+				ConfigSnapshot snapshot = store.snapshot();
+				json.name(store.getId()).beginObject();
+				for (ConfigValue<?> value : store.getValues()) {
+					json.name(value.getKey());
+					value.write(json, snapshot);
+				}
+				json.endObject();
+			}
+			json.endObject();
+		}
+
+		json.endObject();
+		json.endObject();
+		json.flush();
+	}
+
+	/**
+	 * Reads an export and sets the values of matching stores as one batch: each
+	 * store publishes a single snapshot, and other threads see nothing until
+	 * the input was read. If the input is malformed, the values it set are put
+	 * back, and earlier writes of an enclosing batch are kept.
+	 *
+	 * Values are set as they are read, so memory use does not grow with the
+	 * input, only with the number of distinct values it sets.
+	 */
+	public static ImportResult importFrom(Reader in, Map<String, ? extends Collection<ConfigStore>> groups) throws IOException {
+		JsonReader json = new JsonReader(in);
+		json.setLenient(true);
+		Import state = new Import();
+		ConfigStore.beginBatch();
+		try {
+			readRoot(json, groups, state);
+		} catch (IOException | RuntimeException | Error e) {
+			state.undo();
+			throw e;
+		} finally {
+			ConfigStore.endBatch();
+		}
+		return new ImportResult(state.applied, state.skipped);
+	}
+
+	/**
+	 * Progress of one import: the values it set, and how to undo them.
+	 */
+	private static final class Import {
+		// Definition indices of the values set so far, per store
+		private final Map<ConfigStore, BitSet> set = new HashMap<>();
+		private final List<ConfigStore.StagedValue> previous = new ArrayList<>();
+		int applied;
+		int skipped;
+
+		void apply(ConfigValue<?> value, Object read) {
+			BitSet indices = this.set.computeIfAbsent(value.getStore(), store -> new BitSet());
+			if (!indices.get(value.index)) {
+				// Captured before the first write only, so a key repeated in the input counts once
+				indices.set(value.index);
+				this.previous.add(value.getStore().captureStaged(value));
+				this.applied++;
+			}
+			value.setParsed(read);
+		}
+
+		void undo() {
+			for (ConfigStore.StagedValue state : this.previous) {
+				state.value().getStore().restoreStaged(state);
+			}
+		}
+	}
+
+	private static void readRoot(
+		JsonReader json,
+		Map<String, ? extends Collection<ConfigStore>> groups,
+		Import state
+	) throws IOException {
+		if (json.peek() != JsonToken.BEGIN_OBJECT) {
+			throw new IOException("Expected a JSON object");
+		}
+		json.beginObject();
+		while (json.hasNext()) {
+			String name = json.nextName();
+			if (name.equals("format") && json.peek() == JsonToken.NUMBER) {
+				int format = json.nextInt();
+				if (format > FORMAT_VERSION) {
+					throw new IOException("Unsupported export format " + format);
+				}
+			} else if (name.equals("groups") && json.peek() == JsonToken.BEGIN_OBJECT) {
+				readGroups(json, groups, state);
+			} else {
+				json.skipValue();
+			}
+		}
+		json.endObject();
+	}
+
+	private static void readGroups(
+		JsonReader json,
+		Map<String, ? extends Collection<ConfigStore>> groups,
+		Import state
+	) throws IOException {
+		json.beginObject();
+		while (json.hasNext()) {
+			String group = json.nextName();
+			Collection<ConfigStore> stores = groups.get(group);
+			if (stores == null || json.peek() != JsonToken.BEGIN_OBJECT) {
+				LOGGER.debug("Skipping unknown config group '{}'", group);
+				json.skipValue();
+				state.skipped++;
+				continue;
+			}
+			Map<String, ConfigStore> storesById = new HashMap<>();
+			for (ConfigStore store : stores) {
+				storesById.put(store.getId(), store);
+			}
+
+			json.beginObject();
+			while (json.hasNext()) {
+				String storeId = json.nextName();
+				ConfigStore store = storesById.get(storeId);
+				if (store == null || json.peek() != JsonToken.BEGIN_OBJECT) {
+					LOGGER.debug("Skipping unknown config store '{}' in group '{}'", storeId, group);
+					json.skipValue();
+					state.skipped++;
+				} else {
+					readValues(json, store, state);
+				}
+			}
+			json.endObject();
+		}
+		json.endObject();
+	}
+
+	private static void readValues(JsonReader json, ConfigStore store, Import state) throws IOException {
+		json.beginObject();
+		while (json.hasNext()) {
+			String key = json.nextName();
+			ConfigValue<?> value = store.getValue(key);
+			if (value == null) {
+				json.skipValue();
+				state.skipped++;
+				continue;
+			}
+			Object read = value.parse(json);
+			if (read != null) {
+				state.apply(value, read);
+			} else {
+				state.skipped++;
+			}
+		}
+		json.endObject();
+	}
+}
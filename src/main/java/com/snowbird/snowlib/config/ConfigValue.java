@@ -0,0 +1,111 @@
+package com.snowbird.snowlib.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.snowbird.snowlib.delivery.CoalescingDelivery;
+import com.snowbird.snowlib.delivery.DeliveryTarget;
+import com.snowbird.snowlib.delivery.Subscription;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A single typed value held by a {@link ConfigStore}.
+ *
+ * Subclasses expose primitive get/set methods for their type; the boxed
+ * {@link #getValue()}/{@link #setValue(Object)} pair is for generic code such
+ * as import/export.
+ *
+ * A value is a resolved handle into its store's snapshot: reading it is a
+ * volatile read of the current snapshot plus an array access, with no locking
+ * or key lookup, so game code can keep the handle and read it every tick.
+ */
+public abstract class ConfigValue<T> {
+	protected final ConfigStore store;
+	private final String key;
+
+	// Assigned by the store on definition: position in definition order and in the snapshot column
+	int index = -1;
+	int slot = -1;
+
+	private final List<CoalescingDelivery> listeners = new CopyOnWriteArrayList<>();
+
+	protected ConfigValue(ConfigStore store, String key) {
+		this.store = store;
+		this.key = key;
+	}
+
+	public String getKey() {
+		return this.key;
+	}
+
+	public ConfigStore getStore() {
+		return this.store;
+	}
+
+	public abstract ValueKind getKind();
+
+	public abstract T getValue();
+
+	public abstract void setValue(T value);
+
+	public abstract T getDefaultValue();
+
+	public void resetToDefault() {
+		this.setValue(this.getDefaultValue());
+	}
+
+	/**
+	 * Notifies the listener on the given target after the value changes.
+	 * Changes made before a queued notification runs are merged, and the
+	 * listener receives the value current at delivery time.
+	 */
+	public Subscription addListener(DeliveryTarget target, Consumer<? super T> listener) {
+		return this.addDelivery(new CoalescingDelivery(target) {
+			@Override
+			protected void deliver() {
+				listener.accept(ConfigValue.this.getValue());
+			}
+		});
+	}
+
+	/**
+	 * Registers a delivery requested on every change; used by the primitive listener variants.
+	 */
+	protected final Subscription addDelivery(CoalescingDelivery delivery) {
+		this.listeners.add(delivery);
+		return () -> {
+			delivery.cancel();
+			this.listeners.remove(delivery);
+		};
+	}
+
+	void notifyListeners() {
+		for (CoalescingDelivery delivery : this.listeners) {
+			delivery.request();
+		}
+	}
+
+	/**
+	 * Sets a value read from a file or cache, which must be of this value's type.
+	 */
+	@SuppressWarnings("unchecked")
+	void setParsed(Object value) {
+		this.setValue((T) value);
+	}
+
+	/**
+	 * Writes the value held by the snapshot as a JSON value (not a name/value pair).
+	 */
+	abstract void write(JsonWriter out, ConfigSnapshot snapshot) throws IOException;
+
+	/**
+	 * Reads a JSON value written by {@link #write} without setting it; see
+	 * {@link #setParsed}. Values of the wrong JSON type are skipped.
+	 *
+	 * @return The value, or null if it was skipped.
+	 */
+	abstract T parse(JsonReader in) throws IOException;
+}
@@ -0,0 +1,102 @@
+package com.snowbird.snowlib.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.snowbird.snowlib.delivery.CoalescingDelivery;
+import com.snowbird.snowlib.delivery.DeliveryTarget;
+import com.snowbird.snowlib.delivery.Subscription;
+
+import java.io.IOException;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A double config value, clamped to an inclusive range.
+ */
+public class DoubleValue extends ConfigValue<Double> {
+	private final double defaultValue;
+	private final double min;
+	private final double max;
+
+	DoubleValue(ConfigStore store, String key, double defaultValue, double min, double max) {
+		super(store, key);
+		if (!(min <= max)) {
+			throw new IllegalArgumentException("min must not be greater than max");
+		}
+		this.min = min;
+		this.max = max;
+		this.defaultValue = clamp(defaultValue, min, max);
+	}
+
+	public double get() {
+		return Double.longBitsToDouble(this.store.readPrimitive(this));
+	}
+
+	/**
+	 * Sets the value, clamping it into range. NaN is ignored.
+	 */
+	public void set(double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+		this.store.writePrimitive(this, Double.doubleToLongBits(clamp(value, this.min, this.max)));
+	}
+
+	public double getMin() {
+		return this.min;
+	}
+
+	public double getMax() {
+		return this.max;
+	}
+
+	/**
+	 * Like {@link #addListener} but without boxing the value.
+	 */
+	public Subscription addDoubleListener(DeliveryTarget target, DoubleConsumer listener) {
+		return this.addDelivery(new CoalescingDelivery(target) {
+			@Override
+			protected void deliver() {
+				listener.accept(DoubleValue.this.get());
+			}
+		});
+	}
+
+	@Override
+	public ValueKind getKind() {
+		return ValueKind.DOUBLE;
+	}
+
+	@Override
+	public Double getValue() {
+		return this.get();
+	}
+
+	@Override
+	public void setValue(Double value) {
+		this.set(value);
+	}
+
+	@Override
+	public Double getDefaultValue() {
+		return this.defaultValue;
+	}
+
+	@Override
+	void write(JsonWriter out, ConfigSnapshot snapshot) throws IOException {
+		out.value(snapshot.getDouble(this));
+	}
+
+	@Override
+	Double parse(JsonReader in) throws IOException {
+		if (in.peek() != JsonToken.NUMBER) {
+			in.skipValue();
+			return null;
+		}
+		return in.nextDouble();
+	}
+
+	private static double clamp(double value, double min, double max) {
+		return Math.max(min, Math.min(max, value));
+	}
+}
@@ -0,0 +1,95 @@
+package com.snowbird.snowlib.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * An enum config value, stored by constant name.
+ */
+public class EnumValue<E extends Enum<E>> extends ConfigValue<E> {
+	private final Class<E> enumClass;
+	private final E defaultValue;
+
+	EnumValue(ConfigStore store, String key, Class<E> enumClass, E defaultValue) {
+		super(store, key);
+		this.enumClass = enumClass;
+		this.defaultValue = Objects.requireNonNull(defaultValue);
+	}
+
+	@SuppressWarnings("unchecked")
+	public E get() {
+		return (E) this.store.readObject(this);
+	}
+
+	public void set(E value) {
+		this.store.writeObject(this, Objects.requireNonNull(value));
+	}
+
+	@Override
+	public ValueKind getKind() {
+		return ValueKind.ENUM;
+	}
+
+	public Class<E> getEnumClass() {
+		return this.enumClass;
+	}
+
+	/**
+	 * Sets the value by constant name.
+	 *
+	 * @return false if no constant has that name.
+	 */
+	public boolean setByName(String name) {
+		E constant = this.byName(name);
+		if (constant == null) {
+			return false;
+		}
+		this.set(constant);
+		return true;
+	}
+
+	/**
+	 * @return The constant with the given name, or null.
+	 */
+	E byName(String name) {
+		for (E constant : this.enumClass.getEnumConstants()) {
+			if (constant.name().equals(name)) {
+				return constant;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public E getValue() {
+		return this.get();
+	}
+
+	@Override
+	public void setValue(E value) {
+		this.set(value);
+	}
+
+	@Override
+	public E getDefaultValue() {
+		return this.defaultValue;
+	}
+
+	@Override
+	void write(JsonWriter out, ConfigSnapshot snapshot) throws IOException {
+		out.value(snapshot.getEnum(this).name());
+	}
+
+	@Override
+	E parse(JsonReader in) throws IOException {
+		if (in.peek() != JsonToken.STRING) {
+			in.skipValue();
+			return null;
+		}
+		return this.byName(in.nextString());
+	}
+}
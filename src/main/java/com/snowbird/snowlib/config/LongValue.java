@@ -0,0 +1,105 @@
+package com.snowbird.snowlib.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.snowbird.snowlib.delivery.CoalescingDelivery;
+import com.snowbird.snowlib.delivery.DeliveryTarget;
+import com.snowbird.snowlib.delivery.Subscription;
+
+import java.io.IOException;
+import java.util.function.LongConsumer;
+
+/**
+ * A long config value, clamped to an inclusive range.
+ */
+public class LongValue extends ConfigValue<Long> {
+	private final long defaultValue;
+	private final long min;
+	private final long max;
+
+	LongValue(ConfigStore store, String key, long defaultValue, long min, long max) {
+		super(store, key);
+		if (min > max) {
+			throw new IllegalArgumentException("min must not be greater than max");
+		}
+		this.min = min;
+		this.max = max;
+		this.defaultValue = clamp(defaultValue, min, max);
+	}
+
+	public long get() {
+		return this.store.readPrimitive(this);
+	}
+
+	/**
+	 * Sets the value, clamping it into range.
+	 */
+	public void set(long value) {
+		this.store.writePrimitive(this, clamp(value, this.min, this.max));
+	}
+
+	public long getMin() {
+		return this.min;
+	}
+
+	public long getMax() {
+		return this.max;
+	}
+
+	/**
+	 * Like {@link #addListener} but without boxing the value.
+	 */
+	public Subscription addLongListener(DeliveryTarget target, LongConsumer listener) {
+		return this.addDelivery(new CoalescingDelivery(target) {
+			@Override
+			protected void deliver() {
+				listener.accept(LongValue.this.get());
+			}
+		});
+	}
+
+	@Override
+	public ValueKind getKind() {
+		return ValueKind.LONG;
+	}
+
+	@Override
+	public Long getValue() {
+		return this.get();
+	}
+
+	@Override
+	public void setValue(Long value) {
+		this.set(value);
+	}
+
+	@Override
+	public Long getDefaultValue() {
+		return this.defaultValue;
+	}
+
+	@Override
+	void write(JsonWriter out, ConfigSnapshot snapshot) throws IOException {
+		out.value(snapshot.getLong(this));
+	}
+
+	@Override
+	Long parse(JsonReader in) throws IOException {
+		if (in.peek() != JsonToken.NUMBER) {
+			in.skipValue();
+			return null;
+		}
+		// Read as text so fractional or oversized numbers are skipped rather than truncated
+		String text = in.nextString();
+		try {
+			return Long.parseLong(text);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static long clamp(long value, long min, long max) {
+		return Math.max(min, Math.min(max, value));
+	}
+}
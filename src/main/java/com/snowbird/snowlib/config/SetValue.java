@@ -0,0 +1,110 @@
+package com.snowbird.snowlib.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A set config value, stored as an array of strings.
+ *
+ * The held set is immutable; {@link #set} copies its argument. Elements that
+ * the decoder cannot map (returns null for) are dropped when reading.
+ */
+public class SetValue<T> extends ConfigValue<Set<T>> {
+	private final Function<T, String> encoder;
+	private final Function<String, T> decoder;
+	private final Set<T> defaultValue;
+
+	SetValue(ConfigStore store, String key, Collection<T> defaultValue, Function<T, String> encoder, Function<String, T> decoder) {
+		super(store, key);
+		this.encoder = encoder;
+		this.decoder = decoder;
+		this.defaultValue = copyOf(defaultValue);
+	}
+
+	@SuppressWarnings("unchecked")
+	public Set<T> get() {
+		return (Set<T>) this.store.readObject(this);
+	}
+
+	public void set(Collection<T> value) {
+		this.store.writeObject(this, copyOf(value));
+	}
+
+	public boolean contains(T element) {
+		return this.get().contains(element);
+	}
+
+	public String encode(T element) {
+		return this.encoder.apply(element);
+	}
+
+	/**
+	 * @return The element for the text, or null if it does not map to one.
+	 */
+	public T decode(String text) {
+		return this.decoder.apply(text);
+	}
+
+	@Override
+	public ValueKind getKind() {
+		return ValueKind.SET;
+	}
+
+	@Override
+	public Set<T> getValue() {
+		return this.get();
+	}
+
+	@Override
+	public void setValue(Set<T> value) {
+		this.set(value);
+	}
+
+	@Override
+	public Set<T> getDefaultValue() {
+		return this.defaultValue;
+	}
+
+	@Override
+	void write(JsonWriter out, ConfigSnapshot snapshot) throws IOException {
+		out.beginArray();
+		for (T element : snapshot.getSet(this)) {
+			out.value(this.encoder.apply(element));
+		}
+		out.endArray();
+	}
+
+	@Override
+	Set<T> parse(JsonReader in) throws IOException {
+		if (in.peek() != JsonToken.BEGIN_ARRAY) {
+			in.skipValue();
+			return null;
+		}
+		Set<T> result = new LinkedHashSet<>();
+		in.beginArray();
+		while (in.hasNext()) {
+			if (in.peek() != JsonToken.STRING) {
+				in.skipValue();
+				continue;
+			}
+			T element = this.decoder.apply(in.nextString());
+			if (element != null) {
+				result.add(element);
+			}
+		}
+		in.endArray();
+		return result;
+	}
+
+	private static <T> Set<T> copyOf(Collection<T> values) {
+		return Collections.unmodifiableSet(new LinkedHashSet<>(values));
+	}
+}
@@ -0,0 +1,63 @@
+package com.snowbird.snowlib.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * A String config value. Never null.
+ */
+public class StringValue extends ConfigValue<String> {
+	private final String defaultValue;
+
+	StringValue(ConfigStore store, String key, String defaultValue) {
+		super(store, key);
+		this.defaultValue = Objects.requireNonNull(defaultValue);
+	}
+
+	public String get() {
+		return (String) this.store.readObject(this);
+	}
+
+	public void set(String value) {
+		this.store.writeObject(this, Objects.requireNonNull(value));
+	}
+
+	@Override
+	public ValueKind getKind() {
+		return ValueKind.STRING;
+	}
+
+	@Override
+	public String getValue() {
+		return this.get();
+	}
+
+	@Override
+	public void setValue(String value) {
+		this.set(value);
+	}
+
+	@Override
+	public String getDefaultValue() {
+		return this.defaultValue;
+	}
+
+	@Override
+	void write(JsonWriter out, ConfigSnapshot snapshot) throws IOException {
+		out.value(snapshot.getString(this));
+	}
+
+	@Override
+	String parse(JsonReader in) throws IOException {
+		JsonToken token = in.peek();
+		if (token != JsonToken.STRING && token != JsonToken.NUMBER && token != JsonToken.BOOLEAN) {
+			in.skipValue();
+			return null;
+		}
+		return token == JsonToken.BOOLEAN ? Boolean.toString(in.nextBoolean()) : in.nextString();
+	}
+}
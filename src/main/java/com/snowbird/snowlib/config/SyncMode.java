@@ -0,0 +1,25 @@
+package com.snowbird.snowlib.config;
+
+/**
+ * How a {@link ConfigStore} is synchronized between a server and its clients.
+ *
+ * Synchronized stores hold the server's values on the client for as long as
+ * it is connected; the client's own values are restored when it disconnects
+ * and server values are never written to the client's file.
+ */
+public enum SyncMode {
+	/**
+	 * Each side keeps its own values.
+	 */
+	NONE,
+	/**
+	 * The server's values are sent to clients, where entries bound to them are read-only.
+	 */
+	SERVER_LOCKED,
+	/**
+	 * Changes on either side are sent to the other. Clients need
+	 * {@link ConfigSync#WRITE_PERMISSION_LEVEL} to change the server's values;
+	 * for other players the store behaves like {@link #SERVER_LOCKED}.
+	 */
+	BIDIRECTIONAL
+}
@@ -0,0 +1,26 @@
+package com.snowbird.snowlib.config;
+
+/**
+ * The storage type of a {@link ConfigValue}.
+ *
+ * Primitive kinds live in the snapshot's long column (doubles as raw bits),
+ * the others in its object column.
+ */
+public enum ValueKind {
+	BOOLEAN(true),
+	LONG(true),
+	DOUBLE(true),
+	STRING(false),
+	ENUM(false),
+	SET(false);
+
+	private final boolean primitive;
+
+	ValueKind(boolean primitive) {
+		this.primitive = primitive;
+	}
+
+	public boolean isPrimitive() {
+		return this.primitive;
+	}
+}
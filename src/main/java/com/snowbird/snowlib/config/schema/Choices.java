@@ -0,0 +1,17 @@
+package com.snowbird.snowlib.config.schema;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The values a String {@link ConfigOption} may take, shown as a dropdown.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Choices {
+	String[] value();
+}
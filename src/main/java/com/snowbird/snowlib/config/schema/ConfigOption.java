@@ -0,0 +1,33 @@
+package com.snowbird.snowlib.config.schema;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An option shown for a field of a {@link ConfigSchema} class.
+ *
+ * Supported field types are boolean, int, long, double, String and enums.
+ * Categories are shown in the order they first appear among the fields, and
+ * options in field order.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface ConfigOption {
+	/**
+	 * Label of the entry.
+	 */
+	String name();
+
+	String description() default "";
+
+	/**
+	 * Category to show the option in; empty for the schema's default category.
+	 */
+	String category() default "";
+
+	Widget widget() default Widget.AUTO;
+}
@@ -0,0 +1,34 @@
+package com.snowbird.snowlib.config.schema;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a plain config class whose {@link ConfigOption} fields should be
+ * turned into a SnowLib screen at compile time.
+ *
+ * With SnowLib's schema processor on the annotation processor path
+ * ({@code annotationProcessor project(':processor')} in this build), a class
+ * {@code MyConfig} gets a generated {@code MyConfigSchema} next to it with
+ * {@code categories(MyConfig)} returning the category definitions for a
+ * {@link com.snowbird.snowlib.screens.SimpleTwoColumnConfigScreen}, and
+ * {@code createScreen(MyConfig)}. The generated code reads and writes the
+ * fields directly, so no reflection happens at runtime.
+ *
+ * Annotated fields must not be private, static or final. Classes that cannot
+ * use the processor can be bound at runtime through
+ * {@link com.snowbird.snowlib.screens.options.SchemaBindings}, which also
+ * accepts private fields.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ConfigSchema {
+	/**
+	 * Category for options that do not name one.
+	 */
+	String defaultCategory() default "General";
+}
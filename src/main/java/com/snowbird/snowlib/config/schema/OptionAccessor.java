@@ -0,0 +1,171 @@
+package com.snowbird.snowlib.config.schema;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Reads and writes one {@link ConfigOption} field of a config class at
+ * runtime, as resolved by {@link SchemaAccessors}.
+ *
+ * The getter and setter are functional objects built once per class, which
+ * call the field's accessor methods or use a {@link java.lang.invoke.VarHandle};
+ * see {@link SchemaAccessors} for what each costs. Use the typed methods matching
+ * {@link #getKind()}; the others fail with a ClassCastException.
+ */
+@SuppressWarnings("unchecked")
+public final class OptionAccessor {
+	public enum Kind {
+		BOOLEAN,
+		INT,
+		LONG,
+		DOUBLE,
+		STRING,
+		ENUM
+	}
+
+	private final String field;
+	private final Kind kind;
+	private final Class<?> type;
+	private final ConfigOption option;
+	private final String category;
+	private final Widget widget;
+	private final Range range;
+	private final List<String> choices;
+
+	// One of Predicate, ToIntFunction, ToLongFunction, ToDoubleFunction or Function, by kind
+	private final Object getter;
+	// One of BiConsumer, ObjIntConsumer, ObjLongConsumer or ObjDoubleConsumer, by kind
+	private final Object setter;
+
+	OptionAccessor(
+		String field,
+		Kind kind,
+		Class<?> type,
+		ConfigOption option,
+		String category,
+		Widget widget,
+		Range range,
+		List<String> choices,
+		Object getter,
+		Object setter
+	) {
+		this.field = field;
+		this.kind = kind;
+		this.type = type;
+		this.option = option;
+		this.category = category;
+		this.widget = widget;
+		this.range = range;
+		this.choices = choices;
+		this.getter = getter;
+		this.setter = setter;
+	}
+
+	/**
+	 * Name of the field, used as the entry key.
+	 */
+	public String getField() {
+		return this.field;
+	}
+
+	public Kind getKind() {
+		return this.kind;
+	}
+
+	/**
+	 * The field's type; the enum class for {@link Kind#ENUM}.
+	 */
+	public Class<?> getType() {
+		return this.type;
+	}
+
+	public String getName() {
+		return this.option.name();
+	}
+
+	public String getDescription() {
+		return this.option.description();
+	}
+
+	/**
+	 * The option's category, or the schema's default category.
+	 */
+	public String getCategory() {
+		return this.category;
+	}
+
+	/**
+	 * The widget to show, never {@link Widget#AUTO}.
+	 */
+	public Widget getWidget() {
+		return this.widget;
+	}
+
+	/**
+	 * @return The field's range, or null if it has none.
+	 */
+	public Range getRange() {
+		return this.range;
+	}
+
+	/**
+	 * @return The allowed strings, or null if the field has no {@link Choices}.
+	 */
+	public List<String> getChoices() {
+		return this.choices;
+	}
+
+	public boolean getBoolean(Object target) {
+		return ((Predicate<Object>) this.getter).test(target);
+	}
+
+	public void setBoolean(Object target, boolean value) {
+		((BiConsumer<Object, Object>) this.setter).accept(target, value);
+	}
+
+	public int getInt(Object target) {
+		return ((ToIntFunction<Object>) this.getter).applyAsInt(target);
+	}
+
+	public void setInt(Object target, int value) {
+		((ObjIntConsumer<Object>) this.setter).accept(target, value);
+	}
+
+	public long getLong(Object target) {
+		return ((ToLongFunction<Object>) this.getter).applyAsLong(target);
+	}
+
+	public void setLong(Object target, long value) {
+		((ObjLongConsumer<Object>) this.setter).accept(target, value);
+	}
+
+	public double getDouble(Object target) {
+		return ((ToDoubleFunction<Object>) this.getter).applyAsDouble(target);
+	}
+
+	public void setDouble(Object target, double value) {
+		((ObjDoubleConsumer<Object>) this.setter).accept(target, value);
+	}
+
+	/**
+	 * Value of a String or enum field.
+	 */
+	public Object get(Object target) {
+		return ((Function<Object, Object>) this.getter).apply(target);
+	}
+
+	/**
+	 * Sets a String or enum field.
+	 */
+	public void set(Object target, Object value) {
+		((BiConsumer<Object, Object>) this.setter).accept(target, value);
+	}
+}
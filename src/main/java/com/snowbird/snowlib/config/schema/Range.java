@@ -0,0 +1,25 @@
+package com.snowbird.snowlib.config.schema;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bounds and step of a numeric {@link ConfigOption}. For int and long fields
+ * the values are truncated and clamped to the field type's range.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Range {
+	double min() default -Double.MAX_VALUE;
+
+	double max() default Double.MAX_VALUE;
+
+	/**
+	 * Amount the up/down arrow keys change the value by.
+	 */
+	double step() default 1.0;
+}
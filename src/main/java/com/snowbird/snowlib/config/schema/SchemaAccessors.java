@@ -0,0 +1,311 @@
+package com.snowbird.snowlib.config.schema;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Resolves the {@link ConfigOption} fields of a {@link ConfigSchema} class
+ * at runtime, for classes that do not go through the schema processor.
+ *
+ * Each class is resolved once and cached. A field with a matching
+ * {@code getX}/{@code isX} and {@code setX} method is accessed through those
+ * methods, compiled into functional objects by {@link LambdaMetafactory}, so
+ * a read or write costs an interface call. Other fields are read and written
+ * through a {@link VarHandle} kept by their accessor. The JIT cannot inline a
+ * handle that is not a constant, so this path costs about as much as
+ * {@link Field#getInt} (see {@code runSchemaAccessBenchmark}); give options
+ * that are read often a getter and setter.
+ *
+ * Fields may be private, as long as the lookup passed in can access them;
+ * pass {@code MethodHandles.lookup()} from the config class. LambdaMetafactory
+ * needs a lookup with full privilege, so with a lookup from elsewhere even
+ * fields with accessor methods go through their VarHandle.
+ * Options are listed in the order the JVM reports the fields, which is their
+ * declaration order on HotSpot.
+ */
+public final class SchemaAccessors {
+	private static final Logger LOGGER = LogUtils.getLogger();
+
+	private static final Map<Class<?>, List<OptionAccessor>> CACHE = new ConcurrentHashMap<>();
+
+	private SchemaAccessors() {
+	}
+
+	/**
+	 * The options of a config class, resolved on first use.
+	 *
+	 * @throws IllegalArgumentException If the class is not a valid schema or
+	 *                                  the lookup cannot access it.
+	 */
+	public static List<OptionAccessor> of(Class<?> type, MethodHandles.Lookup lookup) {
+		List<OptionAccessor> cached = CACHE.get(type);
+		if (cached != null) {
+			return cached;
+		}
+		// Resolving twice on a race is harmless; the first result wins
+		List<OptionAccessor> resolved = resolve(type, lookup);
+		List<OptionAccessor> raced = CACHE.putIfAbsent(type, resolved);
+		return raced != null ? raced : resolved;
+	}
+
+	private static List<OptionAccessor> resolve(Class<?> type, MethodHandles.Lookup lookup) {
+		ConfigSchema schema = type.getAnnotation(ConfigSchema.class);
+		if (schema == null) {
+			throw new IllegalArgumentException(type.getName() + " is not annotated with @ConfigSchema");
+		}
+		MethodHandles.Lookup access;
+		try {
+			access = MethodHandles.privateLookupIn(type, lookup);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Lookup " + lookup + " cannot access " + type.getName(), e);
+		}
+
+		List<OptionAccessor> accessors = new ArrayList<>();
+		for (Field field : type.getDeclaredFields()) {
+			ConfigOption option = field.getAnnotation(ConfigOption.class);
+			if (option == null) {
+				continue;
+			}
+			String where = type.getName() + "." + field.getName();
+			int modifiers = field.getModifiers();
+			if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+				throw new IllegalArgumentException(where + ": @ConfigOption fields must not be static or final");
+			}
+			OptionAccessor.Kind kind = kindOf(field.getType());
+			if (kind == null) {
+				throw new IllegalArgumentException(where + ": unsupported type " + field.getType().getName()
+					+ "; use boolean, int, long, double, String or an enum");
+			}
+			Range range = field.getAnnotation(Range.class);
+			Choices choices = field.getAnnotation(Choices.class);
+			Widget widget = widgetFor(option.widget(), kind, choices != null);
+			if (!fits(widget, kind, choices != null)) {
+				throw new IllegalArgumentException(where + ": widget " + widget + " does not fit type "
+					+ field.getType().getName());
+			}
+			if (range != null && widget != Widget.NUMBER_FIELD) {
+				throw new IllegalArgumentException(where + ": @Range only applies to numeric fields");
+			}
+
+			Object getter;
+			Object setter;
+			try {
+				Method getterMethod = findGetter(type, field);
+				Method setterMethod = findSetter(type, field);
+				getter = getterMethod != null ? spin(access, kind, access.unreflect(getterMethod), false) : null;
+				setter = setterMethod != null ? spin(access, kind, access.unreflect(setterMethod), true) : null;
+				if (getter == null || setter == null) {
+					VarHandle handle = access.unreflectVarHandle(field);
+					if (getter == null) {
+						getter = fieldGetter(kind, handle);
+					}
+					if (setter == null) {
+						setter = fieldSetter(kind, handle);
+					}
+				}
+			} catch (IllegalAccessException e) {
+				throw new IllegalArgumentException(where + ": not accessible from " + lookup, e);
+			}
+
+			accessors.add(new OptionAccessor(
+				field.getName(),
+				kind,
+				field.getType(),
+				option,
+				option.category().isEmpty() ? schema.defaultCategory() : option.category(),
+				widget,
+				range,
+				choices != null ? List.copyOf(Arrays.asList(choices.value())) : null,
+				getter,
+				setter
+			));
+		}
+		return List.copyOf(accessors);
+	}
+
+	private static OptionAccessor.Kind kindOf(Class<?> type) {
+		if (type == boolean.class) {
+			return OptionAccessor.Kind.BOOLEAN;
+		}
+		if (type == int.class) {
+			return OptionAccessor.Kind.INT;
+		}
+		if (type == long.class) {
+			return OptionAccessor.Kind.LONG;
+		}
+		if (type == double.class) {
+			return OptionAccessor.Kind.DOUBLE;
+		}
+		if (type == String.class) {
+			return OptionAccessor.Kind.STRING;
+		}
+		if (type.isEnum()) {
+			return OptionAccessor.Kind.ENUM;
+		}
+		return null;
+	}
+
+	private static Widget widgetFor(Widget widget, OptionAccessor.Kind kind, boolean hasChoices) {
+		if (widget != Widget.AUTO) {
+			return widget;
+		}
+		return switch (kind) {
+			case BOOLEAN -> Widget.CHECKBOX;
+			case INT, LONG, DOUBLE -> Widget.NUMBER_FIELD;
+			case ENUM -> Widget.DROPDOWN;
+			case STRING -> hasChoices ? Widget.DROPDOWN : Widget.TEXT_FIELD;
+		};
+	}
+
+	private static boolean fits(Widget widget, OptionAccessor.Kind kind, boolean hasChoices) {
+		return switch (widget) {
+			case CHECKBOX -> kind == OptionAccessor.Kind.BOOLEAN;
+			case NUMBER_FIELD -> kind == OptionAccessor.Kind.INT || kind == OptionAccessor.Kind.LONG
+				|| kind == OptionAccessor.Kind.DOUBLE;
+			case TEXT_FIELD -> kind == OptionAccessor.Kind.STRING;
+			case DROPDOWN -> kind == OptionAccessor.Kind.ENUM || (kind == OptionAccessor.Kind.STRING && hasChoices);
+			case AUTO -> false;
+		};
+	}
+
+	private static Method findGetter(Class<?> type, Field field) {
+		String name = capitalize(field.getName());
+		Method getter = findMethod(type, "get" + name, field.getType());
+		if (getter == null && field.getType() == boolean.class) {
+			getter = findMethod(type, "is" + name, field.getType());
+		}
+		return getter;
+	}
+
+	private static Method findSetter(Class<?> type, Field field) {
+		return findMethod(type, "set" + capitalize(field.getName()), null, field.getType());
+	}
+
+	/**
+	 * A non-static method declared by the type, or null.
+	 *
+	 * @param returnType Required return type, or null for any.
+	 */
+	private static Method findMethod(Class<?> type, String name, Class<?> returnType, Class<?>... parameters) {
+		try {
+			Method method = type.getDeclaredMethod(name, parameters);
+			if (Modifier.isStatic(method.getModifiers())) {
+				return null;
+			}
+			if (returnType != null && method.getReturnType() != returnType) {
+				return null;
+			}
+			return method;
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	private static String capitalize(String name) {
+		return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+	}
+
+	/**
+	 * The functional interface an accessor of the given kind implements.
+	 */
+	private record Sam(Class<?> type, String name, MethodType methodType) {
+	}
+
+	private static Sam sam(OptionAccessor.Kind kind, boolean setter) {
+		if (setter) {
+			return switch (kind) {
+				case INT -> new Sam(ObjIntConsumer.class, "accept", MethodType.methodType(void.class, Object.class, int.class));
+				case LONG -> new Sam(ObjLongConsumer.class, "accept", MethodType.methodType(void.class, Object.class, long.class));
+				case DOUBLE -> new Sam(ObjDoubleConsumer.class, "accept", MethodType.methodType(void.class, Object.class, double.class));
+				default -> new Sam(BiConsumer.class, "accept", MethodType.methodType(void.class, Object.class, Object.class));
+			};
+		}
+		return switch (kind) {
+			case BOOLEAN -> new Sam(Predicate.class, "test", MethodType.methodType(boolean.class, Object.class));
+			case INT -> new Sam(ToIntFunction.class, "applyAsInt", MethodType.methodType(int.class, Object.class));
+			case LONG -> new Sam(ToLongFunction.class, "applyAsLong", MethodType.methodType(long.class, Object.class));
+			case DOUBLE -> new Sam(ToDoubleFunction.class, "applyAsDouble", MethodType.methodType(double.class, Object.class));
+			default -> new Sam(Function.class, "apply", MethodType.methodType(Object.class, Object.class));
+		};
+	}
+
+	/**
+	 * Compiles an accessor method into the functional object for its kind.
+	 *
+	 * @return The functional object, or null if the lookup lacks the access
+	 * LambdaMetafactory needs; the caller then falls back to the field.
+	 */
+	private static Object spin(MethodHandles.Lookup lookup, OptionAccessor.Kind kind, MethodHandle impl, boolean setter) {
+		Sam sam = sam(kind, setter);
+		MethodType samType = sam.methodType();
+
+		// Box primitives where the interface takes Object, and drop a fluent setter's return value
+		MethodType instantiated = impl.type();
+		for (int i = 0; i < samType.parameterCount(); i++) {
+			if (!samType.parameterType(i).isPrimitive()) {
+				instantiated = instantiated.changeParameterType(i, instantiated.wrap().parameterType(i));
+			}
+		}
+		if (setter) {
+			instantiated = instantiated.changeReturnType(void.class);
+		}
+
+		try {
+			CallSite site = LambdaMetafactory.metafactory(
+				lookup, sam.name(), MethodType.methodType(sam.type()), samType, impl, instantiated);
+			return site.getTarget().invoke();
+		} catch (Throwable e) {
+			LOGGER.debug("Could not compile accessor {}, using field access instead", impl, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Wraps the field's handle in the functional object for its kind. LambdaMetafactory
+	 * only takes method handles, not field handles, so this cannot be compiled like
+	 * an accessor method.
+	 */
+	private static Object fieldGetter(OptionAccessor.Kind kind, VarHandle handle) {
+		return switch (kind) {
+			case BOOLEAN -> (Predicate<Object>) target -> (boolean) handle.get(target);
+			case INT -> (ToIntFunction<Object>) target -> (int) handle.get(target);
+			case LONG -> (ToLongFunction<Object>) target -> (long) handle.get(target);
+			case DOUBLE -> (ToDoubleFunction<Object>) target -> (double) handle.get(target);
+			default -> (Function<Object, Object>) target -> (Object) handle.get(target);
+		};
+	}
+
+	private static Object fieldSetter(OptionAccessor.Kind kind, VarHandle handle) {
+		return switch (kind) {
+			case INT -> (ObjIntConsumer<Object>) (target, value) -> handle.set(target, value);
+			case LONG -> (ObjLongConsumer<Object>) (target, value) -> handle.set(target, value);
+			case DOUBLE -> (ObjDoubleConsumer<Object>) (target, value) -> handle.set(target, value);
+			// Booleans arrive boxed and are unboxed by the handle
+			default -> (BiConsumer<Object, Object>) (target, value) -> handle.set(target, value);
+		};
+	}
+}
@@ -0,0 +1,16 @@
+package com.snowbird.snowlib.config.schema;
+
+/**
+ * The entry used for a {@link ConfigOption}.
+ */
+public enum Widget {
+	/**
+	 * Chosen from the field type: checkbox for booleans, number field for
+	 * numbers, dropdown for enums and {@link Choices} strings, else text field.
+	 */
+	AUTO,
+	CHECKBOX,
+	TEXT_FIELD,
+	NUMBER_FIELD,
+	DROPDOWN
+}
@@ -0,0 +1,245 @@
+package com.snowbird.snowlib.delivery;
+
+import com.snowbird.snowlib.SnowLib;
+import com.snowbird.snowlib.function.BooleanConsumer;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStartingEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.loading.FMLEnvironment;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Runs {@link CoalescingDelivery coalescing deliveries} on their target.
+ *
+ * Tick targets are drained at the end of each client or server tick; the
+ * background target runs on a single daemon thread. Server thread deliveries
+ * only run while a server is running: ones requested without a server, or
+ * still queued when it stops, are dropped rather than run on the next one.
+ * A dedicated server has no client ticks, so client tick deliveries run on
+ * the server thread there. The static factories
+ * wrap an entry callback so that heavy consumers run on a chosen target with
+ * only the latest value, e.g.
+ * {@code ChangeScheduler.booleanConsumer(DeliveryTarget.CLIENT_TICK, enabled -> reloadChunks())}.
+ */
+@Mod.EventBusSubscriber(modid = SnowLib.MODID)
+public final class ChangeScheduler {
+	private static final Queue<CoalescingDelivery> CLIENT_TICK_QUEUE = new ConcurrentLinkedQueue<>();
+	private static final Queue<CoalescingDelivery> SERVER_THREAD_QUEUE = new ConcurrentLinkedQueue<>();
+	private static final boolean DEDICATED_SERVER = FMLEnvironment.dist == Dist.DEDICATED_SERVER;
+
+	private static volatile boolean serverRunning = false;
+
+	private static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "SnowLib Change Delivery");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private ChangeScheduler() {
+	}
+
+	static void enqueue(CoalescingDelivery delivery) {
+		switch (delivery.getTarget()) {
+			case IMMEDIATE -> delivery.run();
+			case CLIENT_TICK -> {
+				if (DEDICATED_SERVER) {
+					enqueueOnServer(delivery);
+				} else {
+					CLIENT_TICK_QUEUE.add(delivery);
+				}
+			}
+			case SERVER_THREAD -> enqueueOnServer(delivery);
+			case BACKGROUND -> BACKGROUND.execute(delivery::run);
+		}
+	}
+
+	private static void enqueueOnServer(CoalescingDelivery delivery) {
+		if (serverRunning) {
+			SERVER_THREAD_QUEUE.add(delivery);
+		} else {
+			delivery.discard();
+		}
+	}
+
+	@SubscribeEvent
+	public static void onServerStarting(ServerStartingEvent event) {
+		// Anything that slipped in while the previous server stopped belongs to that one
+		discardAll(SERVER_THREAD_QUEUE);
+		serverRunning = true;
+	}
+
+	@SubscribeEvent
+	public static void onServerStopped(ServerStoppedEvent event) {
+		serverRunning = false;
+		discardAll(SERVER_THREAD_QUEUE);
+	}
+
+	@SubscribeEvent
+	public static void onClientTick(TickEvent.ClientTickEvent event) {
+		if (event.phase == TickEvent.Phase.END) {
+			drain(CLIENT_TICK_QUEUE);
+		}
+	}
+
+	@SubscribeEvent
+	public static void onServerTick(TickEvent.ServerTickEvent event) {
+		if (event.phase == TickEvent.Phase.END) {
+			drain(SERVER_THREAD_QUEUE);
+		}
+	}
+
+	/**
+	 * Runs the deliveries queued when draining started. Ones queued by the
+	 * listeners themselves wait for the next tick, so a listener that keeps
+	 * changing values cannot stall the tick.
+	 */
+	private static void drain(Queue<CoalescingDelivery> queue) {
+		for (int remaining = queue.size(); remaining > 0; remaining--) {
+			CoalescingDelivery delivery = queue.poll();
+			if (delivery == null) {
+				return;
+			}
+			delivery.run();
+		}
+	}
+
+	private static void discardAll(Queue<CoalescingDelivery> queue) {
+		CoalescingDelivery delivery;
+		while ((delivery = queue.poll()) != null) {
+			delivery.discard();
+		}
+	}
+
+	// ---------------------- Callback wrappers ----------------------
+
+	public static BooleanConsumer booleanConsumer(DeliveryTarget target, BooleanConsumer consumer) {
+		if (target == DeliveryTarget.IMMEDIATE) {
+			return consumer;
+		}
+		BooleanDelivery delivery = new BooleanDelivery(target, consumer);
+		return delivery::offer;
+	}
+
+	public static IntConsumer intConsumer(DeliveryTarget target, IntConsumer consumer) {
+		if (target == DeliveryTarget.IMMEDIATE) {
+			return consumer;
+		}
+		LongDelivery delivery = new LongDelivery(target, value -> consumer.accept((int) value));
+		return delivery::offer;
+	}
+
+	public static LongConsumer longConsumer(DeliveryTarget target, LongConsumer consumer) {
+		if (target == DeliveryTarget.IMMEDIATE) {
+			return consumer;
+		}
+		LongDelivery delivery = new LongDelivery(target, consumer);
+		return delivery::offer;
+	}
+
+	public static DoubleConsumer doubleConsumer(DeliveryTarget target, DoubleConsumer consumer) {
+		if (target == DeliveryTarget.IMMEDIATE) {
+			return consumer;
+		}
+		DoubleDelivery delivery = new DoubleDelivery(target, consumer);
+		return delivery::offer;
+	}
+
+	public static <T> Consumer<T> consumer(DeliveryTarget target, Consumer<T> consumer) {
+		if (target == DeliveryTarget.IMMEDIATE) {
+			return consumer;
+		}
+		ObjectDelivery<T> delivery = new ObjectDelivery<>(target, consumer);
+		return delivery::offer;
+	}
+
+	private static final class BooleanDelivery extends CoalescingDelivery {
+		private final BooleanConsumer consumer;
+		private volatile boolean latest;
+
+		BooleanDelivery(DeliveryTarget target, BooleanConsumer consumer) {
+			super(target);
+			this.consumer = consumer;
+		}
+
+		void offer(boolean value) {
+			this.latest = value;
+			this.request();
+		}
+
+		@Override
+		protected void deliver() {
+			this.consumer.accept(this.latest);
+		}
+	}
+
+	private static final class LongDelivery extends CoalescingDelivery {
+		private final LongConsumer consumer;
+		private volatile long latest;
+
+		LongDelivery(DeliveryTarget target, LongConsumer consumer) {
+			super(target);
+			this.consumer = consumer;
+		}
+
+		void offer(long value) {
+			this.latest = value;
+			this.request();
+		}
+
+		@Override
+		protected void deliver() {
+			this.consumer.accept(this.latest);
+		}
+	}
+
+	private static final class DoubleDelivery extends CoalescingDelivery {
+		private final DoubleConsumer consumer;
+		private volatile double latest;
+
+		DoubleDelivery(DeliveryTarget target, DoubleConsumer consumer) {
+			super(target);
+			this.consumer = consumer;
+		}
+
+		void offer(double value) {
+			this.latest = value;
+			this.request();
+		}
+
+		@Override
+		protected void deliver() {
+			this.consumer.accept(this.latest);
+		}
+	}
+
+	private static final class ObjectDelivery<T> extends CoalescingDelivery {
+		private final Consumer<T> consumer;
+		private volatile T latest;
+
+		ObjectDelivery(DeliveryTarget target, Consumer<T> consumer) {
+			super(target);
+			this.consumer = consumer;
+		}
+
+		void offer(T value) {
+			this.latest = value;
+			this.request();
+		}
+
+		@Override
+		protected void deliver() {
+			this.consumer.accept(this.latest);
+		}
+	}
+}
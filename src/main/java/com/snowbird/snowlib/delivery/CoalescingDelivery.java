@@ -0,0 +1,81 @@
+package com.snowbird.snowlib.delivery;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A notification that is queued at most once on its {@link DeliveryTarget}.
+ *
+ * Every {@link #request()} made before the queued delivery runs is merged
+ * into it, so a burst of changes within one tick reaches the listener once.
+ * Subclasses keep whatever state they need to merge (usually just the latest
+ * value) and pass it on in {@link #deliver()}.
+ */
+public abstract class CoalescingDelivery implements Subscription {
+	private static final Logger LOGGER = LogUtils.getLogger();
+
+	private final DeliveryTarget target;
+	private final AtomicBoolean queued = new AtomicBoolean();
+	private volatile boolean cancelled = false;
+
+	protected CoalescingDelivery(DeliveryTarget target) {
+		this.target = target;
+	}
+
+	public DeliveryTarget getTarget() {
+		return this.target;
+	}
+
+	/**
+	 * Asks for a delivery. Immediate targets deliver before returning.
+	 */
+	public final void request() {
+		if (this.cancelled) {
+			return;
+		}
+		if (this.target == DeliveryTarget.IMMEDIATE) {
+			this.deliverSafely();
+		} else if (this.queued.compareAndSet(false, true)) {
+			ChangeScheduler.enqueue(this);
+		}
+	}
+
+	@Override
+	public void cancel() {
+		this.cancelled = true;
+	}
+
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	/**
+	 * Passes the merged state to the listener. Runs on the delivery target.
+	 */
+	protected abstract void deliver();
+
+	final void run() {
+		// Cleared first so a request made during delivery queues another one
+		this.queued.set(false);
+		if (!this.cancelled) {
+			this.deliverSafely();
+		}
+	}
+
+	/**
+	 * Drops a queued delivery without running it; the next request queues a new one.
+	 */
+	final void discard() {
+		this.queued.set(false);
+	}
+
+	private void deliverSafely() {
+		try {
+			this.deliver();
+		} catch (RuntimeException e) {
+			LOGGER.error("Change listener failed", e);
+		}
+	}
+}
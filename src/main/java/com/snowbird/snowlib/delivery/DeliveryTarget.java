@@ -0,0 +1,25 @@
+package com.snowbird.snowlib.delivery;
+
+/**
+ * Where and when a change notification is run.
+ */
+public enum DeliveryTarget {
+	/**
+	 * Synchronously on the thread that made the change.
+	 */
+	IMMEDIATE,
+	/**
+	 * On the client thread at the end of the next client tick. A dedicated
+	 * server has no client thread and delivers like {@link #SERVER_THREAD}.
+	 */
+	CLIENT_TICK,
+	/**
+	 * On the server thread at the end of the next server tick. Dropped while
+	 * no server (integrated or dedicated) is running, and when it stops.
+	 */
+	SERVER_THREAD,
+	/**
+	 * On SnowLib's background delivery thread, as soon as possible.
+	 */
+	BACKGROUND
+}
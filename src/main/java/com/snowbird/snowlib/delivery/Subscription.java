@@ -0,0 +1,10 @@
+package com.snowbird.snowlib.delivery;
+
+/**
+ * A registered listener. Cancelling it stops further notifications,
+ * including one that is already queued.
+ */
+@FunctionalInterface
+public interface Subscription {
+	void cancel();
+}
@@ -0,0 +1,21 @@
+package com.snowbird.snowlib.function;
+
+import java.util.Objects;
+
+/**
+ * The boolean counterpart of {@link java.util.function.IntConsumer}, which the JDK does not provide.
+ * Used for checkbox style callbacks so toggles never box.
+ */
+@FunctionalInterface
+public interface BooleanConsumer {
+
+	void accept(boolean value);
+
+	default BooleanConsumer andThen(BooleanConsumer after) {
+		Objects.requireNonNull(after);
+		return value -> {
+			this.accept(value);
+			after.accept(value);
+		};
+	}
+}
@@ -0,0 +1,55 @@
+package com.snowbird.snowlib.function;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Adapters from boxed functional interfaces to the primitive ones used by
+ * SnowLib entries. They let existing {@code Consumer<Boolean>} style callbacks
+ * be passed where a primitive callback is expected; the boxing then only
+ * happens inside the adapter.
+ */
+public final class PrimitiveAdapters {
+
+	private PrimitiveAdapters() {
+	}
+
+	public static BooleanConsumer booleanConsumer(Consumer<Boolean> consumer) {
+		return consumer::accept;
+	}
+
+	public static IntConsumer intConsumer(Consumer<Integer> consumer) {
+		return consumer::accept;
+	}
+
+	public static LongConsumer longConsumer(Consumer<Long> consumer) {
+		return consumer::accept;
+	}
+
+	public static DoubleConsumer doubleConsumer(Consumer<Double> consumer) {
+		return consumer::accept;
+	}
+
+	public static BooleanSupplier booleanSupplier(Supplier<Boolean> supplier) {
+		return supplier::get;
+	}
+
+	public static IntSupplier intSupplier(Supplier<Integer> supplier) {
+		return supplier::get;
+	}
+
+	public static LongSupplier longSupplier(Supplier<Long> supplier) {
+		return supplier::get;
+	}
+
+	public static DoubleSupplier doubleSupplier(Supplier<Double> supplier) {
+		return supplier::get;
+	}
+}
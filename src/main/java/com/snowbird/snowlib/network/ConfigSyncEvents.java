@@ -0,0 +1,70 @@
+package com.snowbird.snowlib.network;
+
+import com.snowbird.snowlib.SnowLib;
+import com.snowbird.snowlib.config.ConfigSync;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStartingEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * Drives {@link ConfigSync}: a full packet for every joining player, then one
+ * delta per tick in each direction when synced values changed.
+ *
+ * The host of a single player or LAN world shares its stores with the
+ * integrated server, so it is never sent anything. Client-side events are in
+ * {@link com.snowbird.snowlib.client.ClientConfigSyncEvents} so this class
+ * stays loadable on dedicated servers.
+ */
+@Mod.EventBusSubscriber(modid = SnowLib.MODID)
+public final class ConfigSyncEvents {
+
+	private ConfigSyncEvents() {
+	}
+
+	@SubscribeEvent
+	public static void onServerStarting(ServerStartingEvent event) {
+		ConfigSync.server().start();
+	}
+
+	@SubscribeEvent
+	public static void onServerStopped(ServerStoppedEvent event) {
+		ConfigSync.server().stop();
+	}
+
+	@SubscribeEvent
+	public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+		if (event.getEntity() instanceof ServerPlayer player && !isHost(player)) {
+			byte[] data = ConfigSync.server().encodeFull(player.hasPermissions(ConfigSync.WRITE_PERMISSION_LEVEL));
+			if (data != null) {
+				SnowLibNetwork.sendToPlayer(player, new ConfigSyncPacket(data));
+			}
+		}
+	}
+
+	@SubscribeEvent
+	public static void onServerTick(TickEvent.ServerTickEvent event) {
+		if (event.phase != TickEvent.Phase.END) {
+			return;
+		}
+		byte[] data = ConfigSync.server().drain();
+		if (data == null) {
+			return;
+		}
+		ConfigSyncPacket packet = new ConfigSyncPacket(data);
+		for (ServerPlayer player : event.getServer().getPlayerList().getPlayers()) {
+			if (!isHost(player)) {
+				SnowLibNetwork.sendToPlayer(player, packet);
+			}
+		}
+	}
+
+	private static boolean isHost(ServerPlayer player) {
+		MinecraftServer server = player.getServer();
+		return server != null && !server.isDedicatedServer() && server.isSingleplayerOwner(player.getGameProfile());
+	}
+}
@@ -0,0 +1,35 @@
+package com.snowbird.snowlib.network;
+
+import com.snowbird.snowlib.config.ConfigSync;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.network.CustomPayloadEvent;
+
+/**
+ * Carries a full or delta config packet encoded by {@link ConfigSync}, in either direction.
+ */
+public record ConfigSyncPacket(byte[] data) {
+
+	public void encode(FriendlyByteBuf buf) {
+		buf.writeByteArray(this.data);
+	}
+
+	public static ConfigSyncPacket decode(FriendlyByteBuf buf) {
+		return new ConfigSyncPacket(buf.readByteArray());
+	}
+
+	public void handle(CustomPayloadEvent.Context context) {
+		if (context.isServerSide()) {
+			ServerPlayer sender = context.getSender();
+			if (sender != null) {
+				byte[] correction = ConfigSync.server().receive(this.data, sender.hasPermissions(ConfigSync.WRITE_PERMISSION_LEVEL));
+				if (correction != null) {
+					SnowLibNetwork.sendToPlayer(sender, new ConfigSyncPacket(correction));
+				}
+			}
+		} else {
+			ConfigSync.client().receive(this.data);
+		}
+		context.setPacketHandled(true);
+	}
+}
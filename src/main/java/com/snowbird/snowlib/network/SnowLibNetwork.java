@@ -0,0 +1,44 @@
+package com.snowbird.snowlib.network;
+
+import com.snowbird.snowlib.SnowLib;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.ChannelBuilder;
+import net.minecraftforge.network.PacketDistributor;
+import net.minecraftforge.network.SimpleChannel;
+
+/**
+ * SnowLib's network channel. It is optional on both sides, so clients and
+ * servers without SnowLib can still connect; config sync then simply does not happen.
+ */
+public final class SnowLibNetwork {
+	private static final int PROTOCOL_VERSION = 1;
+
+	private static final SimpleChannel CHANNEL = ChannelBuilder
+		.named(new ResourceLocation(SnowLib.MODID, "main"))
+		.networkProtocolVersion(PROTOCOL_VERSION)
+		.optional()
+		.simpleChannel();
+
+	private SnowLibNetwork() {
+	}
+
+	/**
+	 * Registers the messages. Called once from the mod constructor.
+	 */
+	public static void register() {
+		CHANNEL.messageBuilder(ConfigSyncPacket.class)
+			.encoder(ConfigSyncPacket::encode)
+			.decoder(ConfigSyncPacket::decode)
+			.consumerMainThread(ConfigSyncPacket::handle)
+			.add();
+	}
+
+	public static void sendToPlayer(ServerPlayer player, Object message) {
+		CHANNEL.send(message, PacketDistributor.PLAYER.with(player));
+	}
+
+	public static void sendToServer(Object message) {
+		CHANNEL.send(message, PacketDistributor.SERVER.noArg());
+	}
+}
@@ -2,11 +2,13 @@ package com.snowbird.snowlib.screens;
 
 import com.snowbird.snowlib.GuiColorScheme;
 import com.snowbird.snowlib.screens.options.OptionsList;
+import com.snowbird.snowlib.screens.options.ReferenceIndex;
 import com.snowbird.snowlib.screens.options.entries.CheckboxEntry;
 import com.snowbird.snowlib.screens.options.entries.MultiSelectPicklistEntry;
 import com.snowbird.snowlib.screens.options.entries.NumberFieldEntry;
 import com.snowbird.snowlib.screens.options.entries.ScrollableDropdownEntry;
 import com.snowbird.snowlib.screens.options.entries.TextFieldEntry;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.network.chat.Component;
 
 import java.util.ArrayList;
@@ -63,7 +65,7 @@ public class AllEntriesTestScreen extends SimpleTwoColumnConfigScreen {
 
 	/** Populates the "General" category. */
 	private static void populateGeneralOptions(OptionsList options) {
-		options.addCheckboxOption("Enable Feature",
+		options.addPrimitiveCheckboxOption("Enable Feature",
 			"Toggle the main feature on or off.",
 			true,
 			enabled -> { /* handle change */ }
@@ -75,7 +77,7 @@ public class AllEntriesTestScreen extends SimpleTwoColumnConfigScreen {
 			username -> { /* handle text change */ }
 		);
 
-		options.addNumberFieldOption("Max Connections",
+		options.addPrimitiveNumberFieldOption("Max Connections",
 			"Set the maximum number of connections.",
 			10L,
 			max -> { /* handle number change */ }
@@ -98,7 +100,7 @@ public class AllEntriesTestScreen extends SimpleTwoColumnConfigScreen {
 
 	/** Populates the "Advanced" category. */
 	private static void populateAdvancedOptions(OptionsList options) {
-		options.addCheckboxOption("Enable Logging",
+		options.addPrimitiveCheckboxOption("Enable Logging",
 			"Toggle detailed logging.",
 			false,
 			enabled -> { /* handle logging toggle */ }
@@ -110,7 +112,7 @@ public class AllEntriesTestScreen extends SimpleTwoColumnConfigScreen {
 			apiKey -> { /* handle API key change */ }
 		);
 
-		options.addNumberFieldOption("Timeout",
+		options.addPrimitiveNumberFieldOption("Timeout",
 			"Network timeout in seconds.",
 			30L,
 			timeout -> { /* handle number change */ }
@@ -133,7 +135,7 @@ public class AllEntriesTestScreen extends SimpleTwoColumnConfigScreen {
 
 	/** Populates the "Miscellaneous" category. */
 	private static void populateMiscOptions(OptionsList options) {
-		options.addCheckboxOption("Show Notifications",
+		options.addPrimitiveCheckboxOption("Show Notifications",
 			"Toggle notifications display.",
 			true,
 			enabled -> { /* handle change */ }
@@ -145,7 +147,20 @@ public class AllEntriesTestScreen extends SimpleTwoColumnConfigScreen {
 			path -> { /* handle path change */ }
 		);
 
-		options.addNumberFieldOption("Refresh Rate",
+		options.addReferenceFieldOption("Favourite Block",
+			"Block ID, with suggestions from the block registry.",
+			"minecraft:stone",
+			() -> ReferenceIndex.ofRegistry(BuiltInRegistries.BLOCK),
+			block -> { /* handle block change */ }
+		);
+
+		options.addTextAreaOption("Allow List",
+			"One player name per line.",
+			"Player1\nPlayer2\nPlayer3",
+			allowList -> { /* handle allow list change */ }
+		);
+
+		options.addPrimitiveNumberFieldOption("Refresh Rate",
 			"Set refresh rate in Hz.",
 			60L,
 			rate -> { /* handle refresh rate */ }
@@ -182,9 +197,9 @@ public class AllEntriesTestScreen extends SimpleTwoColumnConfigScreen {
 
 		// --- Row 1 ---
 		List<OptionsList.Entry> row1 = new ArrayList<>();
-		row1.add(new CheckboxEntry("Enable Row 1", "Enable features for Row 1", true, val -> {}));
+		row1.add(CheckboxEntry.primitive("Enable Row 1", "Enable features for Row 1", true, val -> {}));
 		row1.add(new TextFieldEntry("Name Row 1", "Enter name for Row 1", "Alpha", val -> {}));
-		row1.add(new NumberFieldEntry("Limit Row 1", "Set limit for Row 1", 50, val -> {}));
+		row1.add(NumberFieldEntry.primitive("Limit Row 1", "Set limit for Row 1", 50, val -> {}));
 		String[] dropdownOptions = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "J"};
 		row1.add(new ScrollableDropdownEntry("Type Row 1", "Select type for Row 1", "A", dropdownOptions, sel -> {}));
 
@@ -199,9 +214,9 @@ public class AllEntriesTestScreen extends SimpleTwoColumnConfigScreen {
 
 		// --- Row 2 ---
 		List<OptionsList.Entry> row2 = new ArrayList<>();
-		row2.add(new CheckboxEntry("Enable Row 2", "Enable features for Row 2", false, val -> {}));
+		row2.add(CheckboxEntry.primitive("Enable Row 2", "Enable features for Row 2", false, val -> {}));
 		row2.add(new TextFieldEntry("Name Row 2", "Enter name for Row 2", "Beta", val -> {}));
-		row2.add(new NumberFieldEntry("Limit Row 2", "Set limit for Row 2", 75, val -> {}));
+		row2.add(NumberFieldEntry.primitive("Limit Row 2", "Set limit for Row 2", 75, val -> {}));
 		row2.add(new ScrollableDropdownEntry("Type Row 2", "Select type for Row 2", "B", dropdownOptions, sel -> {}));
 		Set<TablePicklistEnum> row2Selected = EnumSet.of(TablePicklistEnum.PICK2, TablePicklistEnum.PICK4, TablePicklistEnum.PICK6);
 		row2.add(new MultiSelectPicklistEntry<>("Options Row 2", "Select multiple options for Row 2",
@@ -210,9 +225,9 @@ public class AllEntriesTestScreen extends SimpleTwoColumnConfigScreen {
 
 		// --- Row 3 ---
 		List<OptionsList.Entry> row3 = new ArrayList<>();
-		row3.add(new CheckboxEntry("Enable Row 3", "Enable features for Row 3", true, val -> {}));
+		row3.add(CheckboxEntry.primitive("Enable Row 3", "Enable features for Row 3", true, val -> {}));
 		row3.add(new TextFieldEntry("Name Row 3", "Enter name for Row 3", "Gamma", val -> {}));
-		row3.add(new NumberFieldEntry("Limit Row 3", "Set limit for Row 3", 120, val -> {}));
+		row3.add(NumberFieldEntry.primitive("Limit Row 3", "Set limit for Row 3", 120, val -> {}));
 		row3.add(new ScrollableDropdownEntry("Type Row 3", "Select type for Row 3", "C", dropdownOptions, sel -> {}));
 		Set<TablePicklistEnum> row3Selected = EnumSet.of(TablePicklistEnum.PICK5, TablePicklistEnum.PICK7, TablePicklistEnum.PICK9);
 		row3.add(new MultiSelectPicklistEntry<>("Options Row 3", "Select multiple options for Row 3",
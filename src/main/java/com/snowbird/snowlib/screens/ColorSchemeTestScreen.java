@@ -90,6 +90,9 @@ public class ColorSchemeTestScreen extends Screen {
 		int rightWidth = this.width - leftWidth;
 
 		// Re-init the options list for new options
+		if (this.optionsList != null) {
+			this.optionsList.flushPendingEdits();
+		}
 		this.removeWidget(this.optionsList);
 		this.optionsList = new OptionsList(this.minecraft, rightWidth, this.height, 20, this.height - 20, 45);
 		// Apply custom color scheme again
@@ -109,7 +112,7 @@ public class ColorSchemeTestScreen extends Screen {
 	}
 
 	private void showGeneralOptions() {
-		this.optionsList.addCheckboxOption(
+		this.optionsList.addPrimitiveCheckboxOption(
 			"Enable Feature",
 			"Whether or not to enable this feature",
 			true,
@@ -131,13 +134,13 @@ public class ColorSchemeTestScreen extends Screen {
 	}
 
 	private void showAdvancedOptions() {
-		this.optionsList.addNumberFieldOption(
+		this.optionsList.addPrimitiveNumberFieldOption(
 			"Max Limit",
 			"Set a maximum limit value",
 			100L,
 			num -> {}
 		);
-		this.optionsList.addCheckboxOption(
+		this.optionsList.addPrimitiveCheckboxOption(
 			"Show Debug Logs",
 			"Toggle verbose debug logging",
 			false,
@@ -151,6 +154,14 @@ public class ColorSchemeTestScreen extends Screen {
 		);
 	}
 
+	@Override
+	public void removed() {
+		if (this.optionsList != null) {
+			this.optionsList.flushPendingEdits();
+		}
+		super.removed();
+	}
+
 	@Override
 	public void render(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTicks) {
 		this.renderBackground(guiGraphics, mouseX, mouseY, partialTicks);
@@ -1,6 +1,6 @@
 package com.snowbird.snowlib.screens;
 
-import com.snowbird.snowlib.ScreenRegistry;
+import com.snowbird.snowlib.client.ScreenRegistry;
 import com.snowbird.snowlib.screens.options.dropdown.AbstractDropdownList;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.Screen;
@@ -28,6 +28,10 @@ public class MasterConfigScreen extends Screen {
 	// How slanted the corners are
 	private static final int TAB_CORNER_SLOPE = 8;
 
+	// Registrations captured at init, so tabs and child screens stay in step
+	// even if a mod registers a screen while this one is open
+	private List<ScreenRegistry.ConfigScreenRegistration> registrations = List.of();
+
 	private final List<Integer> tabWidths = new ArrayList<>();
 	private int tabHeight;
 
@@ -44,7 +48,8 @@ public class MasterConfigScreen extends Screen {
 	@Override
 	protected void init() {
 		// Gather all mod-registered screens
-		List<ScreenRegistry.ConfigScreenRegistration> regs = ScreenRegistry.getRegisteredScreens();
+		this.registrations = ScreenRegistry.getRegisteredScreens();
+		List<ScreenRegistry.ConfigScreenRegistration> regs = this.registrations;
 		this.childScreens.clear();
 		this.tabWidths.clear();
 
@@ -79,7 +84,7 @@ public class MasterConfigScreen extends Screen {
 		// Standard MC background
 		super.render(guiGraphics, mouseX, mouseY, partialTicks);
 
-		List<ScreenRegistry.ConfigScreenRegistration> regs = ScreenRegistry.getRegisteredScreens();
+		List<ScreenRegistry.ConfigScreenRegistration> regs = this.registrations;
 		if (regs.isEmpty()) {
 			// If no screens
 			guiGraphics.drawCenteredString(
@@ -133,7 +138,7 @@ public class MasterConfigScreen extends Screen {
 	 * The selected tab is drawn last to appear above the other tabs without altering its position.
 	 */
 	private void renderTabs(GuiGraphics guiGraphics) {
-		List<ScreenRegistry.ConfigScreenRegistration> regs = ScreenRegistry.getRegisteredScreens();
+		List<ScreenRegistry.ConfigScreenRegistration> regs = this.registrations;
 		int totalTabs = regs.size();
 		if (totalTabs == 0) return;
 
@@ -233,7 +238,7 @@ public class MasterConfigScreen extends Screen {
 
 	@Override
 	public boolean mouseClicked(double mouseX, double mouseY, int button) {
-		List<ScreenRegistry.ConfigScreenRegistration> regs = ScreenRegistry.getRegisteredScreens();
+		List<ScreenRegistry.ConfigScreenRegistration> regs = this.registrations;
 		if (regs.isEmpty()) {
 			return super.mouseClicked(mouseX, mouseY, button);
 		}
@@ -253,6 +258,10 @@ public class MasterConfigScreen extends Screen {
 			int w = tabWidths.get(i);
 			if (mouseX >= xStart && mouseX < xStart + w && mouseY >= yStart && mouseY < yStart + tabHeight) {
 				if (selectedTabIndex != i) {
+					// Let the outgoing child settle pending edits before it is hidden
+					if (selectedTabIndex >= 0 && selectedTabIndex < childScreens.size()) {
+						childScreens.get(selectedTabIndex).removed();
+					}
 					selectedTabIndex = i;
 					initChildScreen(i);
 				}
@@ -330,6 +339,14 @@ public class MasterConfigScreen extends Screen {
 		return super.charTyped(codePoint, modifiers);
 	}
 
+	@Override
+	public void removed() {
+		if (selectedTabIndex >= 0 && selectedTabIndex < childScreens.size()) {
+			childScreens.get(selectedTabIndex).removed();
+		}
+		super.removed();
+	}
+
 	@Override
 	public boolean isPauseScreen() {
 		return false;
@@ -3,12 +3,17 @@ package com.snowbird.snowlib.screens;
 import com.snowbird.snowlib.GuiColorScheme;
 import com.snowbird.snowlib.screens.categories.Category;
 import com.snowbird.snowlib.screens.categories.CategoryList;
+import com.snowbird.snowlib.screens.options.ChangeSet;
+import com.snowbird.snowlib.screens.options.EditJournal;
 import com.snowbird.snowlib.screens.options.OptionsList;
+import com.snowbird.snowlib.screens.options.validation.ValidationEngine;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.components.Button;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.network.chat.Component;
 import net.minecraft.util.Mth;
+import org.lwjgl.glfw.GLFW;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +29,11 @@ import java.util.function.Consumer;
  * Features:
  * - Dynamic left column width based on the longest category name plus offsets.
  * - No grey overlay or dirt background over the options; background is behind them.
+ * - Optional staging mode: edits collect in a {@link ChangeSet} until Apply is
+ *   pressed, Cancel discards them, and categories with unapplied edits are marked.
+ *   Apply is blocked while an entry's validator reports an error or is still running.
+ * - Ctrl+Z undoes entry edits and Ctrl+Y (or Ctrl+Shift+Z) redoes them,
+ *   switching to the edited category if needed.
  */
 public class SimpleTwoColumnConfigScreen extends Screen {
 
@@ -53,6 +63,7 @@ public class SimpleTwoColumnConfigScreen extends Screen {
 	// Constants for layout
 	private static final int LEFT_OFFSET = 5; // pixels from the left edge
 	private static final int BUFFER = 30;      // additional buffer
+	private static final int BUTTON_WIDTH = 60;
 
 	private final List<SimpleCategoryDefinition> categoryDefinitions;
 	private CategoryList categoryList;
@@ -69,6 +80,18 @@ public class SimpleTwoColumnConfigScreen extends Screen {
 	// Store the GuiColorScheme
 	protected GuiColorScheme colorScheme;
 
+	// Non-null while staging mode is on
+	private ChangeSet changeSet;
+	private Button applyButton;
+	private Button cancelButton;
+
+	// Kept across categories and re-inits, so undo can reach any edit
+	private final EditJournal journal = new EditJournal();
+	// Likewise, so errors in other categories still block Apply
+	private final ValidationEngine validation = new ValidationEngine();
+	// Set when Apply was clicked while validation was still running; render() finishes it
+	private boolean applyRequested = false;
+
 	/**
 	 * Creates a two-column config screen with a custom grey background.
 	 *
@@ -93,6 +116,34 @@ public class SimpleTwoColumnConfigScreen extends Screen {
 		}
 	}
 
+	/**
+	 * Turns staging mode on or off. Call before the screen is shown; turning it
+	 * off discards staged edits.
+	 */
+	public void setStaging(boolean staging) {
+		if (staging != this.isStaging()) {
+			this.changeSet = staging ? new ChangeSet() : null;
+		}
+	}
+
+	public boolean isStaging() {
+		return this.changeSet != null;
+	}
+
+	/**
+	 * @return The staged edits, or null when not staging.
+	 */
+	public ChangeSet getChangeSet() {
+		return this.changeSet;
+	}
+
+	/**
+	 * Called after Apply delivered the staged edits, which happens as a single
+	 * config batch. Subclasses can trigger one reload here instead of one per edit.
+	 */
+	protected void onChangesApplied(List<ChangeSet.Change> changes) {
+	}
+
 	@Override
 	protected void init() {
 		// Clear existing widgets and categories
@@ -118,7 +169,7 @@ public class SimpleTwoColumnConfigScreen extends Screen {
 
 		// Margins for top and bottom
 		int top = 20;
-		int bottom = this.height - 20;
+		int bottom = this.getListBottom();
 
 		// Create the CategoryList (left column)
 		this.categoryList = new CategoryList(
@@ -134,6 +185,20 @@ public class SimpleTwoColumnConfigScreen extends Screen {
 		// Use addRenderableWidget so it actually renders in 1.20.2
 		this.addRenderableWidget(this.categoryList);
 
+		if (this.isStaging()) {
+			this.categoryList.setDirtyIndicator(category -> this.changeSet.isDirty(category.getName()));
+
+			int buttonY = this.height - 25;
+			this.cancelButton = Button.builder(Component.literal("Cancel"), button -> this.cancelChanges())
+				.bounds(this.width - 5 - BUTTON_WIDTH, buttonY, BUTTON_WIDTH, 20)
+				.build();
+			this.applyButton = Button.builder(this.applyLabel(), button -> this.applyChanges())
+				.bounds(this.width - 10 - 2 * BUTTON_WIDTH, buttonY, BUTTON_WIDTH, 20)
+				.build();
+			this.addRenderableWidget(this.applyButton);
+			this.addRenderableWidget(this.cancelButton);
+		}
+
 		// Create the OptionsList (right column)
 		this.optionsList = new OptionsList(
 			Minecraft.getInstance(),
@@ -175,22 +240,161 @@ public class SimpleTwoColumnConfigScreen extends Screen {
 		setSelectedCategory(category);
 
 		// Re-create the OptionsList for the right column
+		if (this.optionsList != null) {
+			this.optionsList.flushPendingEdits();
+		}
 		this.removeWidget(this.optionsList);
 		this.optionsList = new OptionsList(
 			Minecraft.getInstance(),
 			rightWidth,
 			this.height,
 			20,
-			this.height - 20,
+			this.getListBottom(),
 			45
 		);
 		this.optionsList.setLeftPos(leftWidth);
 		// Apply the stored colorScheme to the new OptionsList
 		this.optionsList.setColorScheme(this.colorScheme);
+		this.optionsList.setChangeSet(this.changeSet, category.getName());
+		this.optionsList.setJournal(this.journal);
+		this.optionsList.setValidation(this.validation);
 		this.addRenderableWidget(this.optionsList);
 
 		// Populate the OptionsList based on the selected category
 		populateRightColumn(category.getName());
+		// Entries are recreated from their sources, so show edits staged earlier
+		this.optionsList.applyStagedValues();
+	}
+
+	private int getListBottom() {
+		// Staging mode needs room for the Apply/Cancel buttons
+		return this.height - (this.isStaging() ? 30 : 20);
+	}
+
+	/**
+	 * Delivers all staged edits as one batch, unless a validator reports an
+	 * error. If validation has not finished yet, for example for text that
+	 * was only just flushed, the apply completes once it has.
+	 */
+	public void applyChanges() {
+		if (this.changeSet == null) {
+			return;
+		}
+		// Text still waiting on its commit policy belongs to this apply
+		if (this.optionsList != null) {
+			this.optionsList.flushPendingEdits();
+		}
+		this.validation.poll();
+		this.applyRequested = this.validation.hasPending() && !this.validation.hasErrors();
+		if (this.applyRequested) {
+			this.updateApplyLabel();
+			return;
+		}
+		this.finishApply();
+	}
+
+	/**
+	 * Completes a requested apply once validation has finished.
+	 */
+	private void finishApply() {
+		this.applyRequested = false;
+		this.updateApplyLabel();
+		if (this.validation.hasErrors()) {
+			return;
+		}
+		List<ChangeSet.Change> changes = this.changeSet.getChanges();
+		if (changes.isEmpty()) {
+			return;
+		}
+		this.changeSet.apply();
+		if (this.optionsList != null) {
+			this.optionsList.refreshEntries();
+		}
+		this.onChangesApplied(changes);
+	}
+
+	/**
+	 * Tells the user why a clicked Apply has not happened yet.
+	 */
+	private Component applyLabel() {
+		return Component.literal(this.applyRequested ? "Validating..." : "Apply");
+	}
+
+	private void updateApplyLabel() {
+		if (this.applyButton != null) {
+			this.applyButton.setMessage(this.applyLabel());
+		}
+	}
+
+	/**
+	 * Discards all staged edits and shows the current values again.
+	 */
+	public void cancelChanges() {
+		if (this.changeSet == null) {
+			return;
+		}
+		if (this.optionsList != null) {
+			this.optionsList.flushPendingEdits();
+		}
+		this.applyRequested = false;
+		this.updateApplyLabel();
+		this.changeSet.cancel();
+		// Entries show the current values again, which the results were not about
+		this.validation.clearAll();
+		// The recorded edits were only staged, so there is nothing left to undo
+		this.journal.clear();
+		if (this.selectedCategory != null) {
+			this.onCategorySelected(this.selectedCategory);
+		}
+	}
+
+	/**
+	 * Reverts the most recent entry edit.
+	 *
+	 * @return false if there was nothing to undo.
+	 */
+	public boolean undo() {
+		// Settle text still being typed so it becomes the step that is undone
+		if (this.optionsList != null) {
+			this.optionsList.flushPendingEdits();
+		}
+		return this.replay(this.journal.undo());
+	}
+
+	/**
+	 * Re-applies the most recently undone entry edit.
+	 *
+	 * @return false if there was nothing to redo.
+	 */
+	public boolean redo() {
+		if (this.optionsList != null) {
+			this.optionsList.flushPendingEdits();
+		}
+		return this.replay(this.journal.redo());
+	}
+
+	/**
+	 * Applies a journal value through its entry, so it reaches the callback
+	 * (or the change set) exactly like the original edit.
+	 */
+	private boolean replay(EditJournal.Edit edit) {
+		if (edit == null) {
+			return false;
+		}
+		if (this.selectedCategory == null || !this.selectedCategory.getName().equals(edit.category())) {
+			for (int i = 0; i < this.categories.size(); i++) {
+				if (this.categories.get(i).getName().equals(edit.category())) {
+					this.categoryList.setSelected(this.categoryList.children().get(i));
+					break;
+				}
+			}
+		}
+		OptionsList.Entry entry = this.optionsList != null ? this.optionsList.findEntry(edit.key()) : null;
+		if (entry == null) {
+			return false;
+		}
+		this.journal.replay(() -> entry.applyOptionValue(edit.value()));
+		return true;
 	}
 
 	/**
@@ -217,8 +421,32 @@ public class SimpleTwoColumnConfigScreen extends Screen {
 		}
 	}
 
+	@Override
+	public void removed() {
+		// Deliver edits still waiting on a debounce or focus loss; in staging mode they stay staged
+		if (this.optionsList != null) {
+			this.optionsList.flushPendingEdits();
+		}
+		super.removed();
+	}
+
 	@Override
 	public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+		// Handled before the entries so a focused text field does not see them
+		if (Screen.hasControlDown() && !Screen.hasAltDown()) {
+			if (keyCode == GLFW.GLFW_KEY_Z) {
+				if (Screen.hasShiftDown()) {
+					this.redo();
+				} else {
+					this.undo();
+				}
+				return true;
+			}
+			if (keyCode == GLFW.GLFW_KEY_Y) {
+				this.redo();
+				return true;
+			}
+		}
 		if (this.optionsList != null && this.optionsList.keyPressed(keyCode, scanCode, modifiers)) {
 			return true;
 		}
@@ -245,11 +473,23 @@ public class SimpleTwoColumnConfigScreen extends Screen {
 		// Draw a custom grey background
 		guiGraphics.fill(0, 0, this.width, this.height, 0xFF2D2D2D); // Dark grey background
 
+		if (this.isStaging() && this.applyButton != null) {
+			boolean dirty = !this.changeSet.isEmpty() || (this.optionsList != null && this.optionsList.hasPendingEdits());
+			this.validation.poll();
+			if (this.applyRequested && !this.validation.hasPending()) {
+				this.finishApply();
+				dirty = !this.changeSet.isEmpty() || (this.optionsList != null && this.optionsList.hasPendingEdits());
+			}
+			boolean valid = !this.validation.hasErrors() && !this.validation.hasPending();
+			this.applyButton.active = dirty && valid;
+			this.cancelButton.active = dirty;
+		}
+
 		// Render child widgets
 		super.render(guiGraphics, mouseX, mouseY, partialTicks);
 
 		// Draw a vertical separator between columns
-		guiGraphics.fill(leftWidth, 20, leftWidth + 1, this.height - 20, 0xFF808080);
+		guiGraphics.fill(leftWidth, 20, leftWidth + 1, this.getListBottom(), 0xFF808080);
 
 		// **Title rendering removed**
 	}
@@ -27,7 +27,7 @@ public class SnowLibNewExampleScreen extends SimpleTwoColumnConfigScreen {
 		List<SimpleCategoryDefinition> list = new ArrayList<>();
 
 		list.add(new SimpleCategoryDefinition("General", options -> {
-			options.addCheckboxOption(
+			options.addPrimitiveCheckboxOption(
 				"Enable Feature",
 				"Toggle the main feature on/off",
 				true,
@@ -39,7 +39,7 @@ public class SnowLibNewExampleScreen extends SimpleTwoColumnConfigScreen {
 				"Steve",
 				val -> {}
 			);
-			options.addNumberFieldOption(
+			options.addPrimitiveNumberFieldOption(
 				"Max Items",
 				"Set the max item count",
 				64L,
@@ -48,7 +48,7 @@ public class SnowLibNewExampleScreen extends SimpleTwoColumnConfigScreen {
 		}));
 
 		list.add(new SimpleCategoryDefinition("Advanced", options -> {
-			options.addCheckboxOption(
+			options.addPrimitiveCheckboxOption(
 				"Extra Logging",
 				"Enables verbose debug logs",
 				false,
@@ -8,12 +8,17 @@ import net.minecraft.network.chat.Component;
 
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * A scrollable list of Categories, typically placed on the left side of a config screen.
  */
 public class CategoryList extends AbstractSelectionList<CategoryList.CategoryEntry> {
+	private static final int DIRTY_COLOR = 0xFFAA00;
+
 	private final Consumer<Category> categorySelectionConsumer;
+	// Decides which categories show the unsaved changes marker; null shows none
+	private Predicate<Category> dirtyIndicator;
 
 	public CategoryList(
 		Minecraft mc,
@@ -33,6 +38,13 @@ public class CategoryList extends AbstractSelectionList<CategoryList.CategoryEnt
 		}
 	}
 
+	/**
+	 * Marks categories with unapplied changes, e.g. {@code category -> changeSet.isDirty(category.getName())}.
+	 */
+	public void setDirtyIndicator(Predicate<Category> dirtyIndicator) {
+		this.dirtyIndicator = dirtyIndicator;
+	}
+
 	@Override
 	protected int getScrollbarPosition() {
 		return this.width - 6;
@@ -90,6 +102,17 @@ public class CategoryList extends AbstractSelectionList<CategoryList.CategoryEnt
 				0xFFFFFF
 			);
 
+			// Unapplied changes marker right after the name
+			if (CategoryList.this.dirtyIndicator != null && CategoryList.this.dirtyIndicator.test(this.category)) {
+				guiGraphics.drawString(
+					CategoryList.this.minecraft.font,
+					"*",
+					left + 10 + CategoryList.this.minecraft.font.width(this.category.getName()) + 2,
+					textY,
+					DIRTY_COLOR
+				);
+			}
+
 			// Highlight hovered category with semi-transparent background
 			if (hovered) {
 				guiGraphics.fill(left, top, left + width, top + height, 0xAA444444); // Semi-transparent highlight
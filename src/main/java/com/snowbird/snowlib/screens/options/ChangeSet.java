@@ -0,0 +1,133 @@
+package com.snowbird.snowlib.screens.options;
+
+import com.snowbird.snowlib.config.ConfigStore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Edits staged by entries of a screen in staging mode, waiting for Apply or Cancel.
+ *
+ * Changes are keyed by category and entry key; staging an entry again replaces
+ * its earlier change. {@link #apply()} runs every staged callback inside one
+ * {@link ConfigStore#batch} so bound config values publish a single snapshot,
+ * then notifies apply listeners once with the full list of changes.
+ */
+public class ChangeSet {
+
+	/**
+	 * One staged edit as reported to apply listeners.
+	 */
+	public record Change(String category, String key, Object value) {
+	}
+
+	private record Staged(Object value, Runnable apply) {
+	}
+
+	private final Map<String, Map<String, Staged>> changesByCategory = new LinkedHashMap<>();
+	private final List<Consumer<List<Change>>> applyListeners = new CopyOnWriteArrayList<>();
+	private int size;
+
+	/**
+	 * Stages an edit.
+	 *
+	 * @param value Value shown by the entry, used to restore it when the entry is recreated.
+	 * @param apply Delivers the edit to the entry's callback.
+	 */
+	public void stage(String category, String key, Object value, Runnable apply) {
+		Map<String, Staged> changes = this.changesByCategory.computeIfAbsent(category, c -> new LinkedHashMap<>());
+		if (changes.put(key, new Staged(value, apply)) == null) {
+			this.size++;
+		}
+	}
+
+	public boolean isStaged(String category, String key) {
+		Map<String, Staged> changes = this.changesByCategory.get(category);
+		return changes != null && changes.containsKey(key);
+	}
+
+	/**
+	 * @return The staged value, or null if the entry has no staged change.
+	 */
+	public Object getStagedValue(String category, String key) {
+		Map<String, Staged> changes = this.changesByCategory.get(category);
+		Staged staged = changes != null ? changes.get(key) : null;
+		return staged != null ? staged.value() : null;
+	}
+
+	public boolean isDirty(String category) {
+		return this.getDirtyCount(category) > 0;
+	}
+
+	public int getDirtyCount(String category) {
+		Map<String, Staged> changes = this.changesByCategory.get(category);
+		return changes != null ? changes.size() : 0;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * @return The staged changes in staging order, grouped by category.
+	 */
+	public List<Change> getChanges() {
+		List<Change> result = new ArrayList<>(this.size);
+		this.changesByCategory.forEach((category, changes) ->
+			changes.forEach((key, staged) -> result.add(new Change(category, key, staged.value()))));
+		return result;
+	}
+
+	/**
+	 * Called once per {@link #apply()} with every change that was applied.
+	 */
+	public void addApplyListener(Consumer<List<Change>> listener) {
+		this.applyListeners.add(listener);
+	}
+
+	public void removeApplyListener(Consumer<List<Change>> listener) {
+		this.applyListeners.remove(listener);
+	}
+
+	/**
+	 * Delivers every staged edit as one batch and clears the set.
+	 */
+	public void apply() {
+		if (this.isEmpty()) {
+			return;
+		}
+		List<Change> changes = this.getChanges();
+		List<Runnable> actions = new ArrayList<>(this.size);
+		this.changesByCategory.values().forEach(group -> group.values().forEach(staged -> actions.add(staged.apply())));
+		this.clear();
+
+		ConfigStore.batch(() -> {
+			for (Runnable action : actions) {
+				action.run();
+			}
+		});
+		for (Consumer<List<Change>> listener : this.applyListeners) {
+			listener.accept(changes);
+		}
+	}
+
+	/**
+	 * Discards every staged edit.
+	 */
+	public void cancel() {
+		this.clear();
+	}
+
+	private void clear() {
+		this.changesByCategory.clear();
+		this.size = 0;
+	}
+}
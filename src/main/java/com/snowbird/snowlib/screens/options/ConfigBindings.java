@@ -0,0 +1,128 @@
+package com.snowbird.snowlib.screens.options;
+
+import com.snowbird.snowlib.config.BooleanValue;
+import com.snowbird.snowlib.config.DoubleValue;
+import com.snowbird.snowlib.config.EnumValue;
+import com.snowbird.snowlib.config.LongValue;
+import com.snowbird.snowlib.config.SetValue;
+import com.snowbird.snowlib.config.StringValue;
+import com.snowbird.snowlib.screens.options.dropdown.MultiSelectModel;
+import com.snowbird.snowlib.screens.options.entries.CheckboxEntry;
+import com.snowbird.snowlib.screens.options.entries.CommitPolicy;
+import com.snowbird.snowlib.screens.options.entries.DoubleFieldEntry;
+import com.snowbird.snowlib.screens.options.entries.LongFieldEntry;
+import com.snowbird.snowlib.screens.options.entries.MultiSelectPicklistEntry;
+import com.snowbird.snowlib.screens.options.entries.ScrollableDropdownEntry;
+import com.snowbird.snowlib.screens.options.entries.TextAreaEntry;
+import com.snowbird.snowlib.screens.options.entries.TextFieldEntry;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Factories for entries bound directly to {@link com.snowbird.snowlib.config.ConfigStore} values.
+ *
+ * The returned entries read their initial value from the config value and
+ * write every change back to it. They are {@link OptionsList.Entry#bindTo bound},
+ * so changes from elsewhere (such as the file being edited on disk) show up
+ * in an open screen without rebuilding it. They can be added to an OptionsList or used
+ * as table cells. Text based entries default to a short debounce so typing
+ * does not publish a new config snapshot on every keystroke.
+ *
+ * Writing a value is cheap; expensive reactions belong in a listener on the
+ * value with a non-immediate {@link com.snowbird.snowlib.delivery.DeliveryTarget},
+ * which keeps them out of the input handler that made the change.
+ */
+public final class ConfigBindings {
+
+	/**
+	 * Idle time before a bound text or number edit is written to its value.
+	 */
+	public static final CommitPolicy DEFAULT_TEXT_COMMIT = CommitPolicy.debounced(500L);
+
+	private ConfigBindings() {
+	}
+
+	public static CheckboxEntry checkbox(String name, String description, BooleanValue value) {
+		CheckboxEntry entry = new CheckboxEntry(name, description, value::get, value::set);
+		entry.bindTo(value);
+		return entry;
+	}
+
+	public static TextFieldEntry textField(String name, String description, StringValue value) {
+		TextFieldEntry entry = new TextFieldEntry(name, description, value::get, value::set);
+		entry.setCommitPolicy(DEFAULT_TEXT_COMMIT);
+		entry.bindTo(value);
+		return entry;
+	}
+
+	/**
+	 * Text areas deliver on focus loss or Ctrl+Enter, so no commit policy applies.
+	 */
+	public static TextAreaEntry textArea(String name, String description, StringValue value) {
+		TextAreaEntry entry = new TextAreaEntry(name, description, value::get, value::set);
+		entry.bindTo(value);
+		return entry;
+	}
+
+	public static LongFieldEntry longField(String name, String description, LongValue value) {
+		return longField(name, description, value, 1L);
+	}
+
+	public static LongFieldEntry longField(String name, String description, LongValue value, long step) {
+		LongFieldEntry entry = new LongFieldEntry(name, description, value::get,
+			value.getMin(), value.getMax(), step, value::set);
+		entry.setCommitPolicy(DEFAULT_TEXT_COMMIT);
+		entry.bindTo(value);
+		return entry;
+	}
+
+	public static DoubleFieldEntry doubleField(String name, String description, DoubleValue value, double step) {
+		DoubleFieldEntry entry = new DoubleFieldEntry(name, description, value::get,
+			value.getMin(), value.getMax(), step, value::set);
+		entry.setCommitPolicy(DEFAULT_TEXT_COMMIT);
+		entry.bindTo(value);
+		return entry;
+	}
+
+	/**
+	 * A dropdown choosing between fixed strings.
+	 */
+	public static ScrollableDropdownEntry dropdown(String name, String description, StringValue value, String[] options) {
+		ScrollableDropdownEntry entry = new ScrollableDropdownEntry(name, description, value::get, options, value::set);
+		entry.bindTo(value);
+		return entry;
+	}
+
+	/**
+	 * A dropdown over all constants of the value's enum, labelled by constant name.
+	 */
+	public static <E extends Enum<E>> ScrollableDropdownEntry enumDropdown(String name, String description, EnumValue<E> value) {
+		E[] constants = value.getEnumClass().getEnumConstants();
+		String[] names = new String[constants.length];
+		for (int i = 0; i < constants.length; i++) {
+			names[i] = constants[i].name();
+		}
+		ScrollableDropdownEntry entry = new ScrollableDropdownEntry(name, description, () -> value.get().name(), names, value::setByName);
+		entry.bindTo(value);
+		return entry;
+	}
+
+	/**
+	 * A picklist over the given options; the selection is written back as a whole set.
+	 */
+	public static <T> MultiSelectPicklistEntry<T> picklist(
+		String name,
+		String description,
+		SetValue<T> value,
+		List<T> options,
+		Function<T, String> labeler
+	) {
+		MultiSelectModel<T> model = MultiSelectModel.of(options, value.get());
+		model.addListener((added, removed) -> value.set(model.getSelectedOptions()));
+		MultiSelectPicklistEntry<T> entry = new MultiSelectPicklistEntry<>(name, description, model, labeler);
+		entry.setSource(value::get);
+		entry.bindTo(value);
+		return entry;
+	}
+}
@@ -0,0 +1,195 @@
+package com.snowbird.snowlib.screens.options;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Undo/redo history of entry edits for one screen.
+ *
+ * Records live in a fixed-size ring buffer of parallel arrays: an int entry
+ * ID and the old and new values, as the entries pass them (boxed for
+ * booleans and numbers). When full, the oldest record is dropped.
+ * Consecutive edits of one text entry are merged into a single record until
+ * the group is {@link #sealMerge() sealed}, e.g. when the entry loses focus.
+ */
+public class EditJournal {
+
+	/**
+	 * A value to restore: the entry is found by category and key.
+	 */
+	public record Edit(String category, String key, Object value) {
+	}
+
+	public static final int DEFAULT_CAPACITY = 256;
+
+	private final int capacity;
+	private final int[] entryIds;
+	private final Object[] oldValues;
+	private final Object[] newValues;
+
+	private int start = 0;   // Slot of the oldest record
+	private int size = 0;    // Records held, including undone ones
+	private int cursor = 0;  // Records currently applied; those after it can be redone
+
+	// Whether the newest record may absorb the next edit of the same entry
+	private boolean mergeOpen = false;
+	// Set while an undo or redo is replayed so it is not recorded again
+	private boolean replaying = false;
+
+	// Entry IDs: "category\nkey" -> id, and back
+	private final Object2IntMap<String> ids = new Object2IntOpenHashMap<>();
+	private final List<String> categories = new ArrayList<>();
+	private final List<String> keys = new ArrayList<>();
+
+	public EditJournal() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public EditJournal(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+		this.capacity = capacity;
+		this.entryIds = new int[capacity];
+		this.oldValues = new Object[capacity];
+		this.newValues = new Object[capacity];
+		this.ids.defaultReturnValue(-1);
+	}
+
+	/**
+	 * Records an edit and discards anything that could be redone.
+	 *
+	 * @param mergeable Whether the edit may merge with the previous one of the same entry.
+	 */
+	public void record(String category, String key, Object oldValue, Object newValue, boolean mergeable) {
+		if (this.replaying || Objects.equals(oldValue, newValue)) {
+			return;
+		}
+		int id = this.idOf(category, key);
+		this.size = this.cursor;
+
+		if (this.mergeOpen && mergeable && this.cursor > 0 && this.entryIds[this.slot(this.cursor - 1)] == id) {
+			int slot = this.slot(this.cursor - 1);
+			this.newValues[slot] = newValue;
+			// Typed back to where it started: nothing left to undo
+			if (Objects.equals(this.oldValues[slot], newValue)) {
+				this.clear(slot);
+				this.cursor--;
+				this.size--;
+				this.mergeOpen = false;
+			}
+			return;
+		}
+
+		if (this.size == this.capacity) {
+			this.clear(this.start);
+			this.start = (this.start + 1) % this.capacity;
+			this.size--;
+			this.cursor--;
+		}
+		int slot = this.slot(this.size);
+		this.entryIds[slot] = id;
+		this.oldValues[slot] = oldValue;
+		this.newValues[slot] = newValue;
+		this.size++;
+		this.cursor++;
+		this.mergeOpen = mergeable;
+	}
+
+	/**
+	 * Stops the newest record from absorbing further edits.
+	 */
+	public void sealMerge() {
+		this.mergeOpen = false;
+	}
+
+	public boolean canUndo() {
+		return this.cursor > 0;
+	}
+
+	public boolean canRedo() {
+		return this.cursor < this.size;
+	}
+
+	/**
+	 * @return The entry and the value to restore, or null if there is nothing to undo.
+	 */
+	public Edit undo() {
+		if (!this.canUndo()) {
+			return null;
+		}
+		this.mergeOpen = false;
+		this.cursor--;
+		int slot = this.slot(this.cursor);
+		return this.edit(slot, this.oldValues[slot]);
+	}
+
+	/**
+	 * @return The entry and the value to restore, or null if there is nothing to redo.
+	 */
+	public Edit redo() {
+		if (!this.canRedo()) {
+			return null;
+		}
+		this.mergeOpen = false;
+		int slot = this.slot(this.cursor);
+		this.cursor++;
+		return this.edit(slot, this.newValues[slot]);
+	}
+
+	/**
+	 * Forgets all records, e.g. after staged edits were discarded.
+	 */
+	public void clear() {
+		for (int i = 0; i < this.size; i++) {
+			this.clear(this.slot(i));
+		}
+		this.start = 0;
+		this.size = 0;
+		this.cursor = 0;
+		this.mergeOpen = false;
+	}
+
+	/**
+	 * Runs an undo or redo without recording the edits it makes.
+	 */
+	public void replay(Runnable action) {
+		this.replaying = true;
+		try {
+			action.run();
+		} finally {
+			this.replaying = false;
+		}
+	}
+
+	private Edit edit(int slot, Object value) {
+		int id = this.entryIds[slot];
+		return new Edit(this.categories.get(id), this.keys.get(id), value);
+	}
+
+	private int idOf(String category, String key) {
+		String compositeKey = category + '\n' + key;
+		int id = this.ids.getInt(compositeKey);
+		if (id < 0) {
+			id = this.categories.size();
+			this.ids.put(compositeKey, id);
+			this.categories.add(category);
+			this.keys.add(key);
+		}
+		return id;
+	}
+
+	private int slot(int offset) {
+		return (this.start + offset) % this.capacity;
+	}
+
+	private void clear(int slot) {
+		// Drop references so undone or evicted values can be collected
+		this.oldValues[slot] = null;
+		this.newValues[slot] = null;
+	}
+}
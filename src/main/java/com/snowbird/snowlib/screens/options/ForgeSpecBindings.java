@@ -0,0 +1,241 @@
+package com.snowbird.snowlib.screens.options;
+
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.mojang.logging.LogUtils;
+import com.snowbird.snowlib.screens.SimpleTwoColumnConfigScreen;
+import com.snowbird.snowlib.screens.options.entries.CheckboxEntry;
+import com.snowbird.snowlib.screens.options.entries.DoubleFieldEntry;
+import com.snowbird.snowlib.screens.options.entries.IntFieldEntry;
+import com.snowbird.snowlib.screens.options.entries.LongFieldEntry;
+import com.snowbird.snowlib.screens.options.entries.ScrollableDropdownEntry;
+import com.snowbird.snowlib.screens.options.entries.TextFieldEntry;
+import net.minecraft.client.resources.language.I18n;
+import net.minecraftforge.common.ForgeConfigSpec;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds SnowLib screens from an existing {@link ForgeConfigSpec}, so options
+ * declared there need not be repeated in population lambdas.
+ *
+ * Values at the top of the spec go into a "General" category and each
+ * top-level section becomes a category, with nested sections flattened into
+ * it. Booleans, ints, longs, doubles (with their ranges), enums and strings
+ * are shown; other values, such as lists, are skipped. Edits are checked
+ * against the spec's validator and saved to the config file.
+ *
+ * Nothing is walked until a screen is created, and a section is only walked
+ * the first time its category is shown; the resulting path-to-entry mapping
+ * is kept for later screens. Server configs only have values while a world
+ * is loaded, so their categories stay empty until then.
+ *
+ * Register with {@link com.snowbird.snowlib.client.ScreenRegistry#registerForgeConfigScreen}.
+ */
+public final class ForgeSpecBindings {
+	private static final Logger LOGGER = LogUtils.getLogger();
+
+	private static final String ROOT_CATEGORY = "General";
+
+	// Screens are only created on the render thread, so plain maps suffice
+	private static final Map<ForgeConfigSpec, ForgeSpecBindings> BY_SPEC = new IdentityHashMap<>();
+
+	/**
+	 * One supported value, ready to be turned into an entry.
+	 */
+	private record Binding(
+		String key,
+		String label,
+		String description,
+		ForgeConfigSpec.ConfigValue<?> value,
+		ForgeConfigSpec.ValueSpec valueSpec
+	) {
+	}
+
+	private final ForgeConfigSpec spec;
+	// Top-level section name (or null for the root values) -> bindings, filled on first view
+	private final Map<String, List<Binding>> bindings = new HashMap<>();
+
+	private ForgeSpecBindings(ForgeConfigSpec spec) {
+		this.spec = spec;
+	}
+
+	/**
+	 * The bindings for a spec, shared by every screen created for it.
+	 */
+	public static ForgeSpecBindings of(ForgeConfigSpec spec) {
+		return BY_SPEC.computeIfAbsent(spec, ForgeSpecBindings::new);
+	}
+
+	/**
+	 * Categories for the spec. Only the top level is read here; sections are
+	 * walked when their category is first shown.
+	 */
+	public List<SimpleTwoColumnConfigScreen.SimpleCategoryDefinition> categories() {
+		List<SimpleTwoColumnConfigScreen.SimpleCategoryDefinition> categories = new ArrayList<>();
+		boolean hasRootValues = false;
+		for (Map.Entry<String, Object> entry : this.spec.getValues().valueMap().entrySet()) {
+			if (entry.getValue() instanceof UnmodifiableConfig) {
+				String section = entry.getKey();
+				categories.add(new SimpleTwoColumnConfigScreen.SimpleCategoryDefinition(
+					section, list -> this.populate(list, section)));
+			} else {
+				hasRootValues = true;
+			}
+		}
+		if (hasRootValues) {
+			categories.add(0, new SimpleTwoColumnConfigScreen.SimpleCategoryDefinition(
+				ROOT_CATEGORY, list -> this.populate(list, null)));
+		}
+		return categories;
+	}
+
+	public SimpleTwoColumnConfigScreen createScreen() {
+		return new SimpleTwoColumnConfigScreen(this.categories());
+	}
+
+	private void populate(OptionsList list, String section) {
+		if (!this.spec.isLoaded()) {
+			return;
+		}
+		for (Binding binding : this.bindings.computeIfAbsent(section, this::walk)) {
+			OptionsList.Entry entry = this.createEntry(binding);
+			entry.setKey(binding.key());
+			list.addEntry(entry);
+		}
+	}
+
+	private List<Binding> walk(String section) {
+		List<Binding> result = new ArrayList<>();
+		if (section == null) {
+			this.walk(this.spec.getValues(), new ArrayList<>(), "", false, result);
+		} else {
+			List<String> path = new ArrayList<>();
+			path.add(section);
+			// A list path, so section names containing dots are not split
+			UnmodifiableConfig config = this.spec.getValues().get(path);
+			this.walk(config, path, "", true, result);
+		}
+		return List.copyOf(result);
+	}
+
+	/**
+	 * @param labelPrefix Names of the nested sections below the category, for labels.
+	 * @param recurse     Whether to descend into subsections; false for the root,
+	 *                    whose sections are categories of their own.
+	 */
+	private void walk(UnmodifiableConfig config, List<String> path, String labelPrefix, boolean recurse, List<Binding> out) {
+		for (Map.Entry<String, Object> entry : config.valueMap().entrySet()) {
+			path.add(entry.getKey());
+			if (entry.getValue() instanceof UnmodifiableConfig subsection) {
+				if (recurse) {
+					this.walk(subsection, path, labelPrefix + entry.getKey() + " / ", true, out);
+				}
+			} else if (entry.getValue() instanceof ForgeConfigSpec.ConfigValue<?> value) {
+				ForgeConfigSpec.ValueSpec valueSpec = this.spec.getRaw(path);
+				if (isSupported(value, valueSpec)) {
+					out.add(new Binding(
+						String.join(".", path),
+						labelPrefix + label(entry.getKey(), valueSpec),
+						valueSpec.getComment() != null ? valueSpec.getComment() : "",
+						value,
+						valueSpec
+					));
+				} else {
+					LOGGER.debug("Skipping unsupported config value {}", path);
+				}
+			}
+			path.remove(path.size() - 1);
+		}
+	}
+
+	private static boolean isSupported(ForgeConfigSpec.ConfigValue<?> value, ForgeConfigSpec.ValueSpec valueSpec) {
+		return value instanceof ForgeConfigSpec.BooleanValue
+			|| value instanceof ForgeConfigSpec.IntValue
+			|| value instanceof ForgeConfigSpec.LongValue
+			|| value instanceof ForgeConfigSpec.DoubleValue
+			|| value instanceof ForgeConfigSpec.EnumValue<?>
+			|| valueSpec.getDefault() instanceof String;
+	}
+
+	private static String label(String key, ForgeConfigSpec.ValueSpec valueSpec) {
+		String translationKey = valueSpec.getTranslationKey();
+		if (translationKey != null && I18n.exists(translationKey)) {
+			return I18n.get(translationKey);
+		}
+		return key;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private OptionsList.Entry createEntry(Binding binding) {
+		String name = binding.label();
+		String description = binding.description();
+		ForgeConfigSpec.ValueSpec valueSpec = binding.valueSpec();
+		ForgeConfigSpec.Range<?> range = valueSpec.getRange();
+
+		if (binding.value() instanceof ForgeConfigSpec.BooleanValue value) {
+			return new CheckboxEntry(name, description, value::get, checked -> this.write(binding, checked));
+		}
+		if (binding.value() instanceof ForgeConfigSpec.IntValue value) {
+			int min = range != null ? (Integer) range.getMin() : Integer.MIN_VALUE;
+			int max = range != null ? (Integer) range.getMax() : Integer.MAX_VALUE;
+			IntFieldEntry entry = new IntFieldEntry(name, description, value::get, min, max, 1,
+				v -> this.write(binding, v));
+			entry.setCommitPolicy(ConfigBindings.DEFAULT_TEXT_COMMIT);
+			return entry;
+		}
+		if (binding.value() instanceof ForgeConfigSpec.LongValue value) {
+			long min = range != null ? (Long) range.getMin() : Long.MIN_VALUE;
+			long max = range != null ? (Long) range.getMax() : Long.MAX_VALUE;
+			LongFieldEntry entry = new LongFieldEntry(name, description, value::get, min, max, 1L,
+				v -> this.write(binding, v));
+			entry.setCommitPolicy(ConfigBindings.DEFAULT_TEXT_COMMIT);
+			return entry;
+		}
+		if (binding.value() instanceof ForgeConfigSpec.DoubleValue value) {
+			double min = range != null ? (Double) range.getMin() : -Double.MAX_VALUE;
+			double max = range != null ? (Double) range.getMax() : Double.MAX_VALUE;
+			DoubleFieldEntry entry = new DoubleFieldEntry(name, description, value::get, min, max, 1.0,
+				v -> this.write(binding, v));
+			entry.setCommitPolicy(ConfigBindings.DEFAULT_TEXT_COMMIT);
+			return entry;
+		}
+		if (binding.value() instanceof ForgeConfigSpec.EnumValue<?> value) {
+			Class<? extends Enum> enumClass = ((Enum<?>) valueSpec.getDefault()).getDeclaringClass();
+			// Only offer constants the spec accepts
+			List<String> names = new ArrayList<>();
+			for (Enum<?> constant : enumClass.getEnumConstants()) {
+				if (valueSpec.test(constant)) {
+					names.add(constant.name());
+				}
+			}
+			return new ScrollableDropdownEntry(name, description, () -> value.get().name(),
+				names.toArray(new String[0]), selected -> this.write(binding, Enum.valueOf(enumClass, selected)));
+		}
+		ForgeConfigSpec.ConfigValue<String> value = (ForgeConfigSpec.ConfigValue<String>) binding.value();
+		TextFieldEntry entry = new TextFieldEntry(name, description, value::get, text -> this.write(binding, text));
+		entry.setCommitPolicy(ConfigBindings.DEFAULT_TEXT_COMMIT);
+		return entry;
+	}
+
+	/**
+	 * Sets and saves a value the spec accepts; other values are dropped.
+	 */
+	@SuppressWarnings("unchecked")
+	private void write(Binding binding, Object newValue) {
+		if (!binding.valueSpec().test(newValue)) {
+			LOGGER.debug("Rejected value {} for {}", newValue, binding.key());
+			return;
+		}
+		ForgeConfigSpec.ConfigValue<Object> value = (ForgeConfigSpec.ConfigValue<Object>) binding.value();
+		if (newValue.equals(value.get())) {
+			return;
+		}
+		value.set(newValue);
+		value.save();
+	}
+}
@@ -0,0 +1,196 @@
+package com.snowbird.snowlib.screens.options;
+
+/**
+ * Editable text for {@link com.snowbird.snowlib.screens.options.entries.TextAreaEntry},
+ * stored in a gap buffer together with an index of line starts.
+ *
+ * The gap sits at the last edit, so typing or deleting near it costs time
+ * proportional to the edit; moving it costs the distance moved. The line
+ * starts use the same layout: starts before the gap are absolute offsets,
+ * starts after it are stored as their distance from the end of the text, so
+ * an edit does not have to shift the starts of every following line.
+ * Finding a line's start is O(1) and the line of an offset O(log lines).
+ */
+public final class GapBuffer {
+	private char[] chars;
+	private int gapStart;
+	private int gapEnd;
+
+	// Starts of lines 1..n (line 0 always starts at 0)
+	private int[] lines;
+	private int lineGapStart;
+	private int lineGapEnd;
+
+	public GapBuffer(CharSequence text) {
+		this.chars = new char[Math.max(16, text.length() * 2)];
+		this.gapStart = 0;
+		this.gapEnd = this.chars.length;
+		this.lines = new int[16];
+		this.lineGapStart = 0;
+		this.lineGapEnd = this.lines.length;
+		this.insert(0, text);
+	}
+
+	public int length() {
+		return this.chars.length - (this.gapEnd - this.gapStart);
+	}
+
+	public char charAt(int offset) {
+		return offset < this.gapStart ? this.chars[offset] : this.chars[offset + this.gapEnd - this.gapStart];
+	}
+
+	public int lineCount() {
+		return 1 + this.lineGapStart + (this.lines.length - this.lineGapEnd);
+	}
+
+	/**
+	 * @return The offset of the first character of the line.
+	 */
+	public int lineStart(int line) {
+		if (line == 0) {
+			return 0;
+		}
+		int k = line - 1;
+		if (k < this.lineGapStart) {
+			return this.lines[k];
+		}
+		return this.length() - this.lines[k - this.lineGapStart + this.lineGapEnd];
+	}
+
+	/**
+	 * @return The offset just past the last character of the line, excluding its line break.
+	 */
+	public int lineEnd(int line) {
+		return line + 1 < this.lineCount() ? this.lineStart(line + 1) - 1 : this.length();
+	}
+
+	/**
+	 * @return The line containing the offset.
+	 */
+	public int lineOf(int offset) {
+		int low = 0;
+		int high = this.lineCount() - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (this.lineStart(mid) <= offset) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Copies part of the text, in time proportional to the part.
+	 */
+	public String substring(int start, int end) {
+		StringBuilder builder = new StringBuilder(end - start);
+		this.appendTo(builder, start, end);
+		return builder.toString();
+	}
+
+	public void appendTo(StringBuilder builder, int start, int end) {
+		if (start < this.gapStart) {
+			builder.append(this.chars, start, Math.min(end, this.gapStart) - start);
+		}
+		if (end > this.gapStart) {
+			int from = Math.max(start, this.gapStart);
+			int gapSize = this.gapEnd - this.gapStart;
+			builder.append(this.chars, from + gapSize, end - from);
+		}
+	}
+
+	public void insert(int offset, CharSequence text) {
+		int length = text.length();
+		if (length == 0) {
+			return;
+		}
+		this.moveLineGap(offset);
+		this.moveGap(offset);
+		this.ensureGap(length);
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			this.chars[this.gapStart++] = c;
+			if (c == '\n') {
+				this.ensureLineGap();
+				this.lines[this.lineGapStart++] = offset + i + 1;
+			}
+		}
+	}
+
+	public void delete(int start, int end) {
+		if (end <= start) {
+			return;
+		}
+		this.moveLineGap(start);
+		this.moveGap(start);
+		// Lines starting inside the deleted range lose their start; all are right after the gap
+		int length = this.length();
+		while (this.lineGapEnd < this.lines.length && length - this.lines[this.lineGapEnd] <= end) {
+			this.lineGapEnd++;
+		}
+		this.gapEnd += end - start;
+	}
+
+	@Override
+	public String toString() {
+		return this.substring(0, this.length());
+	}
+
+	private void moveGap(int offset) {
+		if (offset < this.gapStart) {
+			int count = this.gapStart - offset;
+			System.arraycopy(this.chars, offset, this.chars, this.gapEnd - count, count);
+			this.gapStart -= count;
+			this.gapEnd -= count;
+		} else if (offset > this.gapStart) {
+			int count = offset - this.gapStart;
+			System.arraycopy(this.chars, this.gapEnd, this.chars, this.gapStart, count);
+			this.gapStart += count;
+			this.gapEnd += count;
+		}
+	}
+
+	private void ensureGap(int needed) {
+		if (this.gapEnd - this.gapStart >= needed) {
+			return;
+		}
+		int length = this.length();
+		int capacity = Math.max(this.chars.length * 2, length + needed + 16);
+		char[] grown = new char[capacity];
+		int tail = this.chars.length - this.gapEnd;
+		System.arraycopy(this.chars, 0, grown, 0, this.gapStart);
+		System.arraycopy(this.chars, this.gapEnd, grown, capacity - tail, tail);
+		this.chars = grown;
+		this.gapEnd = capacity - tail;
+	}
+
+	/**
+	 * Moves the line gap so that starts at or before the offset precede it.
+	 * Uses the text length from before the edit.
+	 */
+	private void moveLineGap(int offset) {
+		int length = this.length();
+		while (this.lineGapStart > 0 && this.lines[this.lineGapStart - 1] > offset) {
+			int start = this.lines[--this.lineGapStart];
+			this.lines[--this.lineGapEnd] = length - start;
+		}
+		while (this.lineGapEnd < this.lines.length && length - this.lines[this.lineGapEnd] <= offset) {
+			this.lines[this.lineGapStart++] = length - this.lines[this.lineGapEnd++];
+		}
+	}
+
+	private void ensureLineGap() {
+		if (this.lineGapStart < this.lineGapEnd) {
+			return;
+		}
+		int capacity = this.lines.length * 2;
+		int[] grown = new int[capacity];
+		int tail = this.lines.length - this.lineGapEnd;
+		System.arraycopy(this.lines, 0, grown, 0, this.lineGapStart);
+		System.arraycopy(this.lines, this.lineGapEnd, grown, capacity - tail, tail);
+		this.lines = grown;
+		this.lineGapEnd = capacity - tail;
+	}
+}
@@ -0,0 +1,213 @@
+package com.snowbird.snowlib.screens.options;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Visibility and enablement rules between the entries of one {@link OptionsList},
+ * kept as a dependency graph from source keys to the rules reading them.
+ *
+ * When an entry's value changes only the rules downstream of it are
+ * evaluated again, following targets whose state changed in turn. A target
+ * is shown (or enabled) when all of its rules of that kind hold. A rule holds
+ * when its source is itself shown and enabled and the condition accepts the
+ * source's value, so hiding an option also hides the options that depend on it.
+ * Rules whose source is not in the list are ignored. Cycles are rejected.
+ */
+final class OptionRules {
+	enum Effect {
+		VISIBLE,
+		ENABLED
+	}
+
+	private record Rule(String target, Effect effect, String source, Predicate<Object> condition) {
+	}
+
+	private final OptionsList list;
+	private final Map<String, List<Rule>> bySource = new HashMap<>();
+	private final Map<String, List<Rule>> byTarget = new HashMap<>();
+
+	// Key -> entry for the list's current entries, or null until needed
+	private Map<String, OptionsList.Entry> entries;
+	// Set when every target must be evaluated, e.g. after rules were added
+	private boolean dirty;
+
+	// Keys whose value or state changed and whose dependents are not evaluated yet
+	private final ArrayDeque<String> pending = new ArrayDeque<>();
+	private boolean propagating;
+
+	OptionRules(OptionsList list) {
+		this.list = list;
+	}
+
+	boolean isEmpty() {
+		return this.byTarget.isEmpty();
+	}
+
+	/**
+	 * @throws IllegalArgumentException If the rule would make the target depend on itself.
+	 */
+	void add(String target, Effect effect, String source, Predicate<Object> condition) {
+		if (target.equals(source) || this.reaches(target, source)) {
+			throw new IllegalArgumentException("Rule on " + target + " from " + source + " would form a cycle");
+		}
+		Rule rule = new Rule(target, effect, source, condition);
+		this.bySource.computeIfAbsent(source, key -> new ArrayList<>()).add(rule);
+		this.byTarget.computeIfAbsent(target, key -> new ArrayList<>()).add(rule);
+		this.dirty = true;
+	}
+
+	/**
+	 * Called when the list's entries were added, removed or replaced.
+	 */
+	void entriesChanged() {
+		this.entries = null;
+		this.dirty = true;
+	}
+
+	/**
+	 * Called when many values may have changed at once, e.g. after a refresh.
+	 */
+	void invalidate() {
+		this.dirty = true;
+	}
+
+	/**
+	 * Evaluates every rule if the whole graph is out of date.
+	 */
+	void evaluateIfDirty() {
+		if (this.dirty && !this.byTarget.isEmpty()) {
+			this.dirty = false;
+			for (String target : this.topologicalTargets()) {
+				this.evaluate(target);
+			}
+		}
+	}
+
+	/**
+	 * Re-evaluates the rules downstream of a changed value.
+	 */
+	void valueChanged(String key) {
+		if (this.byTarget.isEmpty()) {
+			return;
+		}
+		if (this.dirty) {
+			this.evaluateIfDirty();
+			return;
+		}
+		this.pending.add(key);
+		// Hiding an entry can flush its edit, which lands here again; the outer loop handles it
+		if (this.propagating) {
+			return;
+		}
+		this.propagating = true;
+		try {
+			while (!this.pending.isEmpty()) {
+				String source = this.pending.poll();
+				for (Rule rule : this.bySource.getOrDefault(source, List.of())) {
+					if (this.evaluate(rule.target())) {
+						this.pending.add(rule.target());
+					}
+				}
+			}
+		} finally {
+			this.propagating = false;
+		}
+	}
+
+	/**
+	 * Applies the target's rules to its entry.
+	 *
+	 * @return Whether the entry's visibility or enablement changed.
+	 */
+	private boolean evaluate(String target) {
+		OptionsList.Entry entry = this.entries().get(target);
+		if (entry == null) {
+			return false;
+		}
+		boolean shown = true;
+		boolean enabled = true;
+		for (Rule rule : this.byTarget.get(target)) {
+			if (rule.effect() == Effect.VISIBLE ? shown : enabled) {
+				boolean holds = this.holds(rule);
+				if (rule.effect() == Effect.VISIBLE) {
+					shown = holds;
+				} else {
+					enabled = holds;
+				}
+			}
+		}
+		return this.list.setEntryState(entry, shown, enabled);
+	}
+
+	private boolean holds(Rule rule) {
+		OptionsList.Entry source = this.entries().get(rule.source());
+		if (source == null) {
+			return true;
+		}
+		return source.isShown() && source.isEnabled() && rule.condition().test(source.getOptionValue());
+	}
+
+	/**
+	 * Targets ordered so each comes after the targets it depends on.
+	 */
+	private List<String> topologicalTargets() {
+		List<String> order = new ArrayList<>(this.byTarget.size());
+		Set<String> visited = new HashSet<>();
+		for (String target : this.byTarget.keySet()) {
+			this.visit(target, visited, order);
+		}
+		return order;
+	}
+
+	private void visit(String key, Set<String> visited, List<String> order) {
+		if (!visited.add(key)) {
+			return;
+		}
+		List<Rule> rules = this.byTarget.get(key);
+		if (rules == null) {
+			return;
+		}
+		for (Rule rule : rules) {
+			this.visit(rule.source(), visited, order);
+		}
+		order.add(key);
+	}
+
+	/**
+	 * @return Whether the rules lead from one key to the other.
+	 */
+	private boolean reaches(String from, String to) {
+		ArrayDeque<String> queue = new ArrayDeque<>();
+		Set<String> seen = new HashSet<>();
+		queue.add(from);
+		while (!queue.isEmpty()) {
+			String key = queue.poll();
+			for (Rule rule : this.bySource.getOrDefault(key, List.of())) {
+				if (rule.target().equals(to)) {
+					return true;
+				}
+				if (seen.add(rule.target())) {
+					queue.add(rule.target());
+				}
+			}
+		}
+		return false;
+	}
+
+	private Map<String, OptionsList.Entry> entries() {
+		if (this.entries == null) {
+			this.entries = new HashMap<>();
+			for (OptionsList.Entry entry : this.list.getAllEntries()) {
+				this.entries.putIfAbsent(entry.getKey(), entry);
+			}
+		}
+		return this.entries;
+	}
+}
@@ -1,7 +1,22 @@
 package com.snowbird.snowlib.screens.options;
 
 import com.snowbird.snowlib.GuiColorScheme;
+import com.snowbird.snowlib.config.BooleanValue;
+import com.snowbird.snowlib.config.ConfigSnapshot;
+import com.snowbird.snowlib.config.ConfigValue;
+import com.snowbird.snowlib.config.ConfigStore;
+import com.snowbird.snowlib.config.ConfigSync;
+import com.snowbird.snowlib.config.DoubleValue;
+import com.snowbird.snowlib.config.EnumValue;
+import com.snowbird.snowlib.config.LongValue;
+import com.snowbird.snowlib.config.SetValue;
+import com.snowbird.snowlib.config.StringValue;
+import com.snowbird.snowlib.function.BooleanConsumer;
+import com.snowbird.snowlib.function.PrimitiveAdapters;
+import com.snowbird.snowlib.screens.options.dropdown.MultiSelectModel;
 import com.snowbird.snowlib.screens.options.entries.*;
+import com.snowbird.snowlib.screens.options.validation.ValidationEngine;
+import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.AbstractSelectionList;
@@ -9,20 +24,39 @@ import net.minecraft.client.gui.narration.NarrationElementOutput;
 import net.minecraft.network.chat.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * A scrollable list that can contain various "Entry" objects:
  * text fields, checkboxes, dropdowns, tables, etc.
  *
  * Each Entry is drawn in a row, but individual entries can have custom heights.
+ * Rows can be shown, hidden or disabled by rules on other entries' values
+ * (see {@link #visibleWhen}); row offsets are kept in a {@link RowHeightIndex}
+ * so hiding a row does not rebuild the list.
  */
 public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 
 	private static final int SCROLLBAR_WIDTH = 6;
 	private static final int MARGIN = 10; // Increased from 6 to 10 for better padding
+	private static final int LOCKED_OVERLAY_COLOR = 0x80101010;
+	private static final int LOCKED_LABEL_COLOR = 0xAAAAAA;
+	private static final String LOCKED_LABEL = "Set by server";
+	private static final int DISABLED_OVERLAY_COLOR = 0x80101010;
 
 	/**
 	 * Color scheme used by this OptionsList (and all its entries).
@@ -31,6 +65,33 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 	 */
 	private GuiColorScheme colorScheme = new GuiColorScheme();
 
+	/**
+	 * Commit policy for text based entries that do not set their own.
+	 */
+	private CommitPolicy defaultCommitPolicy = CommitPolicy.IMMEDIATE;
+
+	/**
+	 * Where entry edits are staged, or null to deliver them immediately.
+	 */
+	private ChangeSet changeSet;
+	private String category = "";
+
+	/**
+	 * Records entry edits for undo and redo, or null to not record them.
+	 */
+	private EditJournal journal;
+
+	/**
+	 * Runs the entries' validators and holds their results.
+	 */
+	private ValidationEngine validation = new ValidationEngine();
+
+	private final OptionRules rules = new OptionRules(this);
+
+	// Heights of the rows, rebuilt lazily when entries are added or removed
+	private final RowHeightIndex rowIndex = new RowHeightIndex();
+	private boolean rowIndexValid = false;
+
 	public OptionsList(Minecraft mc, int width, int height, int top, int bottom, int itemHeight) {
 		super(mc, width, height, top, bottom, itemHeight);
 	}
@@ -46,9 +107,191 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 		return this.colorScheme;
 	}
 
+	public void setDefaultCommitPolicy(CommitPolicy defaultCommitPolicy) {
+		this.defaultCommitPolicy = defaultCommitPolicy;
+	}
+
+	public CommitPolicy getDefaultCommitPolicy() {
+		return this.defaultCommitPolicy;
+	}
+
+	/**
+	 * Puts the list in staging mode: entry edits are recorded in the change set
+	 * under the given category instead of reaching their callbacks.
+	 * Pass null to deliver edits immediately again.
+	 */
+	public void setChangeSet(ChangeSet changeSet, String category) {
+		this.changeSet = changeSet;
+		this.category = category;
+	}
+
+	public ChangeSet getChangeSet() {
+		return this.changeSet;
+	}
+
+	public String getCategory() {
+		return this.category;
+	}
+
+	/**
+	 * Sets the journal entry edits are recorded in, under the list's category.
+	 * Screens keep one journal across their lists so undo spans categories.
+	 */
+	public void setJournal(EditJournal journal) {
+		this.journal = journal;
+	}
+
+	public EditJournal getJournal() {
+		return this.journal;
+	}
+
+	/**
+	 * Sets the engine validators of the entries run on. Screens keep one
+	 * engine across their lists so errors in any category block Apply.
+	 */
+	public void setValidation(ValidationEngine validation) {
+		this.validation = validation;
+	}
+
+	public ValidationEngine getValidation() {
+		return this.validation;
+	}
+
+	/**
+	 * Validates the entries whose validators read the given entry's value again.
+	 */
+	private void revalidateDependents(String key) {
+		for (Entry entry : getAllEntries()) {
+			if (entry instanceof AbstractTextFieldEntry<?> textEntry && textEntry.dependsOn(key)) {
+				textEntry.requestValidation();
+			}
+		}
+	}
+
+	/**
+	 * @return The entry (or table cell) with the given key, or null.
+	 */
+	public Entry findEntry(String key) {
+		for (Entry entry : getAllEntries()) {
+			if (entry.getKey().equals(key)) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Shows the target entry only while the condition accepts the source
+	 * entry's value (as returned by {@link Entry#getOptionValue()}).
+	 * Declare rules after adding the entries, typically at the end of a
+	 * category's population function. Several rules on one target must all hold.
+	 *
+	 * Only rows can be hidden; visibility rules on table cells are ignored.
+	 *
+	 * @throws IllegalArgumentException If the rule would form a cycle.
+	 */
+	public void visibleWhen(String targetKey, String sourceKey, Predicate<Object> condition) {
+		this.rules.add(targetKey, OptionRules.Effect.VISIBLE, sourceKey, condition);
+	}
+
+	/**
+	 * Like {@link #visibleWhen}, but greys the target out and makes it
+	 * read-only instead of hiding it. Works for table cells too.
+	 *
+	 * @throws IllegalArgumentException If the rule would form a cycle.
+	 */
+	public void enabledWhen(String targetKey, String sourceKey, Predicate<Object> condition) {
+		this.rules.add(targetKey, OptionRules.Effect.ENABLED, sourceKey, condition);
+	}
+
+	/**
+	 * Applies the outcome of an entry's rules.
+	 *
+	 * @return Whether anything changed.
+	 */
+	boolean setEntryState(Entry entry, boolean shown, boolean enabled) {
+		// Only rows can be hidden
+		if (entry.inTable) {
+			shown = true;
+		}
+		if (entry.shown == shown && entry.enabled == enabled) {
+			return false;
+		}
+		if ((!shown || !enabled) && entry.isFocused()) {
+			// Deliver a pending edit while the entry still accepts it
+			entry.setFocused(false);
+		}
+		if (!shown) {
+			this.closeDropdownsOf(entry);
+		}
+		entry.enabled = enabled;
+		if (entry.shown != shown) {
+			entry.shown = shown;
+			if (this.rowIndexValid && entry.row >= 0 && entry.row < this.rowIndex.size()
+				&& this.children().get(entry.row) == entry) {
+				this.rowIndex.set(entry.row, shown ? entry.getHeight() : 0);
+			}
+			// The list may now be shorter than the scroll position
+			this.setScrollAmount(this.getScrollAmount());
+		}
+		return true;
+	}
+
+	/**
+	 * Shows the staged values on recreated entries, e.g. when returning to a category.
+	 */
+	public void applyStagedValues() {
+		if (this.changeSet == null) {
+			return;
+		}
+		for (Entry entry : getAllEntries()) {
+			if (this.changeSet.isStaged(this.category, entry.getKey())) {
+				entry.setOptionValue(this.changeSet.getStagedValue(this.category, entry.getKey()));
+				entry.resetJournalBase();
+			}
+		}
+		this.rules.invalidate();
+	}
+
+	/**
+	 * Delivers every edit that is still waiting on its commit policy.
+	 * Owning screens call this before the list is discarded.
+	 */
+	public void flushPendingEdits() {
+		// Bound entries publish one config snapshot for the whole flush
+		ConfigStore.batch(() -> {
+			for (Entry entry : getAllEntries()) {
+				entry.flushPendingEdit();
+			}
+		});
+	}
+
+	public boolean hasPendingEdits() {
+		for (Entry entry : getAllEntries()) {
+			if (entry.hasPendingEdit()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Called by entries whose height depends on their content, such as
+	 * {@link TextAreaEntry}, after {@link Entry#getHeight()} changed.
+	 * Updates the one row's height instead of rebuilding the row index.
+	 */
+	public void rowHeightChanged(Entry entry) {
+		if (this.rowIndexValid && entry.shown && entry.row >= 0 && entry.row < this.rowIndex.size()
+			&& this.children().get(entry.row) == entry) {
+			this.rowIndex.set(entry.row, entry.getHeight());
+			this.setScrollAmount(this.getScrollAmount());
+		}
+	}
+
 	@Override
 	public int addEntry(Entry entry) {
 		int index = super.addEntry(entry);
+		this.entriesChanged();
 
 		// If this entry is a TableEntry, set its children's parent list
 		if (entry instanceof TableEntry tableEntry) {
@@ -63,6 +306,48 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 		return index;
 	}
 
+	@Override
+	protected void clearEntries() {
+		super.clearEntries();
+		this.entriesChanged();
+	}
+
+	@Override
+	protected void replaceEntries(Collection<Entry> entries) {
+		super.replaceEntries(entries);
+		this.entriesChanged();
+	}
+
+	@Override
+	protected boolean removeEntry(Entry entry) {
+		boolean removed = super.removeEntry(entry);
+		this.entriesChanged();
+		return removed;
+	}
+
+	private void entriesChanged() {
+		this.rowIndexValid = false;
+		this.rules.entriesChanged();
+	}
+
+	/**
+	 * The row heights, rebuilt if the entries changed since they were last read.
+	 */
+	private RowHeightIndex rows() {
+		List<Entry> children = this.children();
+		if (!this.rowIndexValid || this.rowIndex.size() != children.size()) {
+			int[] heights = new int[children.size()];
+			for (int i = 0; i < heights.length; i++) {
+				Entry entry = children.get(i);
+				entry.row = i;
+				heights[i] = entry.shown ? entry.getHeight() : 0;
+			}
+			this.rowIndex.rebuild(heights);
+			this.rowIndexValid = true;
+		}
+		return this.rowIndex;
+	}
+
 	@Override
 	public int getRowWidth() {
 		return this.width - SCROLLBAR_WIDTH - (2 * MARGIN);
@@ -80,45 +365,46 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 
 	@Override
 	public void render(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTicks) {
+		// Rules declared while populating are first applied here
+		this.rules.evaluateIfDirty();
+		this.validation.poll();
 		super.render(guiGraphics, mouseX, mouseY, partialTicks);
 
+		long now = Util.getMillis();
+
 		// Render any open dropdown sub-lists above everything else
 		for (Entry entry : getAllEntries()) {
-			if (entry instanceof ScrollableDropdownEntry dropdownEntry && dropdownEntry.isDropdownOpen()) {
+			// Debounced edits also settle for entries scrolled out of view
+			if (entry instanceof AbstractTextFieldEntry<?> textEntry) {
+				textEntry.flushPendingEditIfIdle(now);
+			}
+			// Show values changed elsewhere, e.g. by a reload of the config file
+			entry.syncBoundValue();
+
+			if (entry instanceof DropdownHost dropdownHost && dropdownHost.isDropdownOpen()) {
 				guiGraphics.pose().pushPose();
 				guiGraphics.pose().translate(0, 0, 200);  // render above other components
-				dropdownEntry.renderDropdown(guiGraphics, mouseX, mouseY, partialTicks);
-				guiGraphics.pose().popPose();
-			} else if (entry instanceof MultiSelectPicklistEntry<?> picklistEntry && picklistEntry.isDropdownOpen()) {
-				guiGraphics.pose().pushPose();
-				guiGraphics.pose().translate(0, 0, 200);
-				picklistEntry.renderDropdown(guiGraphics, mouseX, mouseY, partialTicks);
+				dropdownHost.renderDropdown(guiGraphics, mouseX, mouseY, partialTicks);
 				guiGraphics.pose().popPose();
 			}
 		}
 	}
 
+	/**
+	 * @return The row's height, or 0 if it is hidden.
+	 */
 	protected int getRowHeight(int index) {
-		Entry entry = this.children().get(index);
-		return entry.getHeight();
+		return this.rows().height(index);
 	}
 
 	@Override
 	protected int getMaxPosition() {
-		int totalHeight = this.headerHeight;
-		for (int i = 0; i < this.getItemCount(); i++) {
-			totalHeight += this.getRowHeight(i);
-		}
-		return totalHeight;
+		return this.headerHeight + this.rows().total();
 	}
 
 	@Override
 	public int getRowTop(int index) {
-		int y = this.y0 + this.headerHeight - (int) this.getScrollAmount();
-		for (int i = 0; i < index; i++) {
-			y += this.getRowHeight(i);
-		}
-		return y;
+		return this.y0 + this.headerHeight - (int) this.getScrollAmount() + this.rows().offset(index);
 	}
 
 	@Override
@@ -130,13 +416,17 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 	protected void renderList(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTicks) {
 		int rowLeft = this.getRowLeft();
 		int rowWidth = this.getRowWidth();
-
-		for (int i = 0; i < this.getItemCount(); ++i) {
-			int entryTop = this.getRowTop(i);
-			int entryHeight = this.getRowHeight(i);
+		RowHeightIndex rows = this.rows();
+
+		// Start at the first row in view rather than walking every row above it
+		int contentTop = this.y0 + this.headerHeight - (int) this.getScrollAmount();
+		int first = Math.min(rows.rowAt(this.y0 - contentTop), rows.size());
+		int entryTop = contentTop + rows.offset(first);
+		for (int i = first; i < rows.size() && entryTop <= this.y1; ++i) {
+			int entryHeight = rows.height(i);
 			int entryBottom = entryTop + entryHeight;
 
-			if (entryBottom >= this.y0 && entryTop <= this.y1) {
+			if (entryHeight > 0 && entryBottom >= this.y0) {
 				Entry entry = this.getEntry(i);
 				int relMouseY = mouseY - entryTop;
 				boolean hovered = mouseX >= rowLeft && mouseX <= rowLeft + rowWidth && relMouseY >= 0 && relMouseY < entryHeight;
@@ -144,8 +434,38 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 				guiGraphics.pose().pushPose();
 				guiGraphics.pose().translate(0.0F, 0.0F, 0.0F);
 				entry.render(guiGraphics, i, entryTop, rowLeft, rowWidth, entryHeight, mouseX, mouseY, hovered, partialTicks);
+				this.renderLockedOverlays(guiGraphics, entry);
 				guiGraphics.pose().popPose();
 			}
+			entryTop = entryBottom;
+		}
+	}
+
+	/**
+	 * Dims entries (or table cells) whose value is locked by the server or
+	 * that are disabled by a rule. Positions are read right after rendering,
+	 * so they are current.
+	 */
+	private void renderLockedOverlays(GuiGraphics guiGraphics, Entry entry) {
+		if (entry instanceof TableEntry tableEntry) {
+			for (List<Entry> row : tableEntry.tableEntries) {
+				for (Entry cellEntry : row) {
+					if (cellEntry.isReadOnly()) {
+						guiGraphics.fill(cellEntry.left, cellEntry.top, cellEntry.left + cellEntry.width,
+							cellEntry.top + cellEntry.height, LOCKED_OVERLAY_COLOR);
+					}
+				}
+			}
+			if (!entry.isEnabled()) {
+				guiGraphics.fill(entry.left, entry.top, entry.left + entry.width, entry.top + entry.height, DISABLED_OVERLAY_COLOR);
+			}
+		} else if (entry.isLocked()) {
+			guiGraphics.fill(entry.left, entry.top, entry.left + entry.width, entry.top + entry.height, LOCKED_OVERLAY_COLOR);
+			int labelWidth = this.minecraft.font.width(LOCKED_LABEL);
+			guiGraphics.drawString(this.minecraft.font, LOCKED_LABEL,
+				entry.left + entry.width - 5 - labelWidth, entry.top + 5, LOCKED_LABEL_COLOR);
+		} else if (!entry.isEnabled()) {
+			guiGraphics.fill(entry.left, entry.top, entry.left + entry.width, entry.top + entry.height, DISABLED_OVERLAY_COLOR);
 		}
 	}
 
@@ -154,6 +474,17 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 		return this.getRowTop(index) + this.getRowHeight(index);
 	}
 
+	/**
+	 * Re-reads the displayed value of every entry that was created from a supplier.
+	 */
+	public void refreshEntries() {
+		for (Entry entry : getAllEntries()) {
+			entry.refresh();
+			entry.resetJournalBase();
+		}
+		this.rules.invalidate();
+	}
+
 	/**
 	 * Convenient method to retrieve all entries including table sub-entries.
 	 */
@@ -174,12 +505,8 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 	public boolean mouseClicked(double mouseX, double mouseY, int button) {
 		// First, check if the click is on any open dropdown
 		for (Entry entry : getAllEntries()) {
-			if (entry instanceof ScrollableDropdownEntry dropdownEntry && dropdownEntry.isDropdownOpen()) {
-				if (dropdownEntry.handleDropdownClick(mouseX, mouseY, button)) {
-					return true;
-				}
-			} else if (entry instanceof MultiSelectPicklistEntry<?> picklistEntry && picklistEntry.isDropdownOpen()) {
-				if (picklistEntry.handleDropdownClick(mouseX, mouseY, button)) {
+			if (entry instanceof DropdownHost dropdownHost && dropdownHost.isDropdownOpen()) {
+				if (dropdownHost.handleDropdownClick(mouseX, mouseY, button)) {
 					return true;
 				}
 			}
@@ -187,8 +514,13 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 
 		// Then check if the click is on any entry (including a dropdown button)
 		for (Entry entry : getAllEntries()) {
-			if (entry.isMouseOver(mouseX, mouseY)) {
+			// Hidden entries keep the position they were last drawn at
+			if (entry.isShown() && entry.isMouseOver(mouseX, mouseY)) {
 				getAllEntries().forEach(e -> e.setFocused(false));
+				if (entry.isReadOnly()) {
+					// Read-only; swallow the click so it does not reach the widgets underneath
+					return true;
+				}
 				entry.setFocused(true);
 				if (entry.mouseClicked(mouseX, mouseY, button)) {
 					return true;
@@ -225,47 +557,52 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 	public boolean mouseScrolled(double mouseX, double mouseY, double scrollDelta, double scrollFactor) {
 		// If there's an open dropdown and the mouse is over it, pass the scroll to the dropdown
 		for (Entry entry : getAllEntries()) {
-			if (entry instanceof ScrollableDropdownEntry dropdownEntry && dropdownEntry.isDropdownOpen()) {
-				if (dropdownEntry.handleDropdownScroll(mouseX, mouseY, scrollDelta, scrollFactor)) {
-					return true;
-				}
-			} else if (entry instanceof MultiSelectPicklistEntry<?> picklistEntry && picklistEntry.isDropdownOpen()) {
-				if (picklistEntry.handleDropdownScroll(mouseX, mouseY, scrollDelta, scrollFactor)) {
+			if (entry instanceof DropdownHost dropdownHost && dropdownHost.isDropdownOpen()) {
+				if (dropdownHost.handleDropdownScroll(mouseX, mouseY, scrollDelta, scrollFactor)) {
 					return true;
 				}
 			}
 		}
+		// Entries that scroll their own content, such as text areas, come next
+		Entry hoveredEntry = getEntryUnderMouse(mouseX, mouseY);
+		if (hoveredEntry != null && hoveredEntry.mouseScrolled(mouseX, mouseY, scrollDelta, scrollFactor)) {
+			return true;
+		}
 		// Otherwise, scroll the main list
 		return super.mouseScrolled(mouseX, mouseY, scrollDelta, scrollFactor);
 	}
 
 	private Entry getEntryUnderMouse(double mouseX, double mouseY) {
 		for (Entry entry : this.children()) {
-			if (entry.isMouseOver(mouseX, mouseY)) {
+			if (entry.isShown() && entry.isMouseOver(mouseX, mouseY)) {
 				return entry;
 			}
 		}
 		return null;
 	}
 
+	private void closeDropdownsOf(Entry entry) {
+		if (entry instanceof DropdownHost dropdownHost) {
+			dropdownHost.setDropdownVisibility(false);
+		} else if (entry instanceof TableEntry tableEntry) {
+			for (List<Entry> row : tableEntry.tableEntries) {
+				row.forEach(this::closeDropdownsOf);
+			}
+		}
+	}
+
 	private void closeAllDropdowns() {
 		for (Entry entry : getAllEntries()) {
-			if (entry instanceof ScrollableDropdownEntry scrollableDropdownEntry) {
-				scrollableDropdownEntry.setDropdownVisibility(false);
-			} else if (entry instanceof MultiSelectPicklistEntry picklistEntry) {
-				picklistEntry.setDropdownVisibility(false);
+			if (entry instanceof DropdownHost dropdownHost) {
+				dropdownHost.setDropdownVisibility(false);
 			}
 		}
 	}
 
 	public void closeAllDropdownsExcept(Entry exceptEntry) {
 		for (Entry entry : getAllEntries()) {
-			if (entry != exceptEntry) {
-				if (entry instanceof ScrollableDropdownEntry scrollableDropdownEntry) {
-					scrollableDropdownEntry.setDropdownVisibility(false);
-				} else if (entry instanceof MultiSelectPicklistEntry picklistEntry) {
-					picklistEntry.setDropdownVisibility(false);
-				}
+			if (entry != exceptEntry && entry instanceof DropdownHost dropdownHost) {
+				dropdownHost.setDropdownVisibility(false);
 			}
 		}
 	}
@@ -295,22 +632,77 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 	}
 
 	// ---------------------- Add Entry Helpers ----------------------
+	/**
+	 * @deprecated Boxes on every toggle; use {@link #addPrimitiveCheckboxOption}.
+	 */
+	@Deprecated
 	public void addCheckboxOption(String name, String description, boolean initialValue, Consumer<Boolean> onChange) {
-		this.addEntry(new CheckboxEntry(name, description, initialValue, onChange));
+		this.addPrimitiveCheckboxOption(name, description, initialValue, PrimitiveAdapters.booleanConsumer(onChange));
+	}
+
+	public void addPrimitiveCheckboxOption(String name, String description, boolean initialValue, BooleanConsumer onChange) {
+		this.addEntry(CheckboxEntry.primitive(name, description, initialValue, onChange));
+	}
+
+	public void addCheckboxOption(String name, String description, BooleanSupplier source, BooleanConsumer onChange) {
+		this.addEntry(new CheckboxEntry(name, description, source, onChange));
 	}
 
 	public void addTextFieldOption(String name, String description, String initialValue, Consumer<String> onChange) {
 		this.addEntry(new TextFieldEntry(name, description, initialValue, onChange));
 	}
 
+	/**
+	 * @deprecated Boxes on every edit; use {@link #addPrimitiveNumberFieldOption}.
+	 */
+	@Deprecated
 	public void addNumberFieldOption(String name, String description, long initialValue, Consumer<Long> onChange) {
-		this.addEntry(new NumberFieldEntry(name, description, initialValue, onChange));
+		this.addPrimitiveNumberFieldOption(name, description, initialValue, PrimitiveAdapters.longConsumer(onChange));
+	}
+
+	public void addPrimitiveNumberFieldOption(String name, String description, long initialValue, LongConsumer onChange) {
+		this.addEntry(NumberFieldEntry.primitive(name, description, initialValue, onChange));
+	}
+
+	public void addIntFieldOption(String name, String description, int initialValue, int min, int max, int step, IntConsumer onChange) {
+		this.addEntry(new IntFieldEntry(name, description, initialValue, min, max, step, onChange));
+	}
+
+	public void addIntFieldOption(String name, String description, IntSupplier source, int min, int max, int step, IntConsumer onChange) {
+		this.addEntry(new IntFieldEntry(name, description, source, min, max, step, onChange));
+	}
+
+	public void addLongFieldOption(String name, String description, long initialValue, long min, long max, long step, LongConsumer onChange) {
+		this.addEntry(new LongFieldEntry(name, description, initialValue, min, max, step, onChange));
+	}
+
+	public void addLongFieldOption(String name, String description, LongSupplier source, long min, long max, long step, LongConsumer onChange) {
+		this.addEntry(new LongFieldEntry(name, description, source, min, max, step, onChange));
+	}
+
+	public void addDoubleFieldOption(String name, String description, double initialValue, double min, double max, double step, DoubleConsumer onChange) {
+		this.addEntry(new DoubleFieldEntry(name, description, initialValue, min, max, step, onChange));
+	}
+
+	public void addDoubleFieldOption(String name, String description, DoubleSupplier source, double min, double max, double step, DoubleConsumer onChange) {
+		this.addEntry(new DoubleFieldEntry(name, description, source, min, max, step, onChange));
 	}
 
 	public void addScrollableDropdownOption(String name, String description, String initialValue, String[] options, Consumer<String> onChange) {
 		this.addEntry(new ScrollableDropdownEntry(name, description, initialValue, options, onChange));
 	}
 
+	public void addTextAreaOption(String name, String description, String initialValue, Consumer<String> onChange) {
+		this.addEntry(new TextAreaEntry(name, description, initialValue, onChange));
+	}
+
+	/**
+	 * @param index Builds the suggestion index on the lookup thread, see {@link ReferenceFieldEntry}.
+	 */
+	public void addReferenceFieldOption(String name, String description, String initialValue, Supplier<ReferenceIndex> index, Consumer<String> onChange) {
+		this.addEntry(new ReferenceFieldEntry(name, description, initialValue, index, onChange));
+	}
+
 	public void addTableOption(String name, String description,
 							   List<List<Entry>> tableEntries,
 							   List<String> columnHeaders,
@@ -323,15 +715,58 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 			cellHeight, columnWidths, headerWidth));
 	}
 
-	public <T extends Enum<T>> void addMultiSelectPicklistOption(String title, String description, Set<T> selected, T[] options, Consumer<Set<T>> onChanged) {
+	public <T> void addMultiSelectPicklistOption(String title, String description, Set<T> selected, T[] options, Consumer<Set<T>> onChanged) {
 		this.addEntry(new MultiSelectPicklistEntry<>(title, description, selected, options, onChanged));
 	}
 
+	public <T> void addMultiSelectPicklistOption(String title, String description, MultiSelectModel<T> model, Function<T, String> labeler) {
+		this.addEntry(new MultiSelectPicklistEntry<>(title, description, model, labeler));
+	}
+
+	// ---------------------- Config Store Bindings ----------------------
+	public void addCheckboxOption(String name, String description, BooleanValue value) {
+		this.addEntry(ConfigBindings.checkbox(name, description, value));
+	}
+
+	public void addTextFieldOption(String name, String description, StringValue value) {
+		this.addEntry(ConfigBindings.textField(name, description, value));
+	}
+
+	public void addTextAreaOption(String name, String description, StringValue value) {
+		this.addEntry(ConfigBindings.textArea(name, description, value));
+	}
+
+	public void addNumberFieldOption(String name, String description, LongValue value) {
+		this.addEntry(ConfigBindings.longField(name, description, value));
+	}
+
+	public void addDoubleFieldOption(String name, String description, DoubleValue value, double step) {
+		this.addEntry(ConfigBindings.doubleField(name, description, value, step));
+	}
+
+	public void addScrollableDropdownOption(String name, String description, StringValue value, String[] options) {
+		this.addEntry(ConfigBindings.dropdown(name, description, value, options));
+	}
+
+	public <E extends Enum<E>> void addEnumDropdownOption(String name, String description, EnumValue<E> value) {
+		this.addEntry(ConfigBindings.enumDropdown(name, description, value));
+	}
+
+	public <T> void addMultiSelectPicklistOption(String title, String description, SetValue<T> value, List<T> options, Function<T, String> labeler) {
+		this.addEntry(ConfigBindings.picklist(title, description, value, options, labeler));
+	}
 
 	// ---------------------- Nested Abstract Entry ----------------------
 	public abstract static class Entry extends AbstractSelectionList.Entry<Entry> {
 		private final String name;
 		private final String description;
+		// Identifies the entry in change sets; defaults to the name
+		private String key;
+		// Config value shown by the entry and the snapshot it was last synced with
+		private ConfigValue<?> boundValue;
+		private ConfigSnapshot boundSnapshot;
+		// Value shown before the next edit, recorded as its old value in the journal
+		private Object journalBase;
 		protected boolean inTable = false;
 		protected OptionsList parentList;
 
@@ -341,6 +776,11 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 		protected int height = 45; // default for non-table rows
 
 		private boolean focused = false;
+		// Set by the parent list's visibility and enablement rules
+		private boolean shown = true;
+		private boolean enabled = true;
+		// Index among the parent list's rows when its row index was last built
+		private int row = -1;
 
 		public Entry(String name, String description) {
 			this.name = name;
@@ -360,6 +800,7 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 
 		public void setParentList(OptionsList parentList) {
 			this.parentList = parentList;
+			this.resetJournalBase();
 		}
 
 		@Override
@@ -386,10 +827,177 @@ public class OptionsList extends AbstractSelectionList<OptionsList.Entry> {
 			return description;
 		}
 
+		public String getKey() {
+			return this.key != null ? this.key : this.name;
+		}
+
+		/**
+		 * Overrides the key used for staged changes, for entries whose names are not unique.
+		 */
+		public void setKey(String key) {
+			this.key = key;
+		}
+
+		/**
+		 * Marks the entry as showing a config value. When the value changes other
+		 * than through this entry, the parent list calls {@link #refresh()} on the
+		 * next frame, unless the entry has an edit of its own pending.
+		 * The entry's refresh must re-read the value.
+		 */
+		public void bindTo(ConfigValue<?> value) {
+			this.boundValue = value;
+			this.boundSnapshot = value.getStore().snapshot();
+		}
+
+		public ConfigValue<?> getBoundValue() {
+			return this.boundValue;
+		}
+
+		/**
+		 * @return Whether the bound value is currently dictated by the server,
+		 *         making the entry read-only. See {@link ConfigSync#isLocked}.
+		 */
+		public boolean isLocked() {
+			return this.boundValue != null && ConfigSync.isLocked(this.boundValue.getStore());
+		}
+
+		/**
+		 * @return False while a visibility rule of the parent list hides the entry.
+		 */
+		public boolean isShown() {
+			return this.shown;
+		}
+
+		/**
+		 * @return False while an enablement rule of the parent list disables the entry.
+		 */
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		/**
+		 * @return Whether the entry currently ignores input, because its value
+		 *         is locked by the server or a rule disables it.
+		 */
+		public boolean isReadOnly() {
+			return !this.enabled || this.isLocked();
+		}
+
+		/**
+		 * @return Whether the entry holds an edit not yet passed to its callback.
+		 */
+		public boolean hasPendingEdit() {
+			return false;
+		}
+
+		/**
+		 * Delivers the pending edit, if any, regardless of the commit policy.
+		 * Entries that hold edits back override this along with {@link #hasPendingEdit()}.
+		 */
+		public void flushPendingEdit() {
+		}
+
+		private void syncBoundValue() {
+			if (this.boundValue == null) {
+				return;
+			}
+			ConfigSnapshot current = this.boundValue.getStore().snapshot();
+			if (current == this.boundSnapshot) {
+				return;
+			}
+			ConfigSnapshot seen = this.boundSnapshot;
+			this.boundSnapshot = current;
+			if (Objects.equals(seen.get(this.boundValue), current.get(this.boundValue))) {
+				return;
+			}
+			// Unapplied input wins; it is written over the new value when committed
+			ChangeSet changeSet = this.parentList != null ? this.parentList.getChangeSet() : null;
+			boolean staged = changeSet != null && changeSet.isStaged(this.parentList.getCategory(), this.getKey());
+			if (!staged && !this.hasPendingEdit()) {
+				this.refresh();
+				this.resetJournalBase();
+				this.parentList.rules.valueChanged(this.getKey());
+			}
+		}
+
+		private void resetJournalBase() {
+			this.journalBase = this.getOptionValue();
+		}
+
+		/**
+		 * @return The value currently shown, boxed, or null for entries without one.
+		 */
+		public Object getOptionValue() {
+			return null;
+		}
+
+		/**
+		 * Shows the given value (as returned by {@link #getOptionValue()})
+		 * without notifying the change callback.
+		 */
+		public void setOptionValue(Object value) {
+		}
+
+		/**
+		 * Shows the given value and passes it on like an edit made by the user,
+		 * through {@link #commitChange}. Used to replay undo and redo.
+		 */
+		public void applyOptionValue(Object value) {
+		}
+
+		/**
+		 * Passes an edit on: straight to the callback, or into the parent list's
+		 * change set when it is staging.
+		 *
+		 * @param value  The edited value, as returned by {@link #getOptionValue()}.
+		 * @param apply  Calls the entry's change callback with the edit.
+		 */
+		protected final void commitChange(Object value, Runnable apply) {
+			if (this.isReadOnly()) {
+				// Reached through a path that bypassed the list's input checks; show the actual value again
+				this.refresh();
+				return;
+			}
+			EditJournal journal = this.parentList != null ? this.parentList.getJournal() : null;
+			if (journal != null) {
+				journal.record(this.parentList.getCategory(), this.getKey(), this.journalBase, value,
+					this instanceof AbstractTextFieldEntry<?>);
+			}
+			this.journalBase = value;
+
+			ChangeSet changeSet = this.parentList != null ? this.parentList.getChangeSet() : null;
+			if (changeSet == null) {
+				apply.run();
+			} else {
+				changeSet.stage(this.parentList.getCategory(), this.getKey(), value, apply);
+			}
+			if (this.parentList != null) {
+				this.parentList.rules.valueChanged(this.getKey());
+				this.parentList.revalidateDependents(this.getKey());
+			}
+		}
+
+		/**
+		 * Ends the current group of merged text edits in the journal.
+		 */
+		protected final void endEditGroup() {
+			EditJournal journal = this.parentList != null ? this.parentList.getJournal() : null;
+			if (journal != null) {
+				journal.sealMerge();
+			}
+		}
+
 		public int getHeight() {
 			return this.height;
 		}
 
+		/**
+		 * Re-reads the displayed value from the entry's source, if it has one.
+		 * Must not notify the entry's change callback.
+		 */
+		public void refresh() {
+		}
+
 		@Override
 		public void render(
 			GuiGraphics guiGraphics,
@@ -0,0 +1,148 @@
+package com.snowbird.snowlib.screens.options;
+
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Immutable, case-insensitive prefix index over a set of reference strings
+ * (resource locations, player names, block states), used for the suggestions
+ * of {@link com.snowbird.snowlib.screens.options.entries.ReferenceFieldEntry}.
+ *
+ * Values are kept in one sorted array, so the values with a given prefix are a
+ * contiguous range found by two binary searches, without per-node objects as in
+ * a trie. For namespaced values a second order over the part after the colon
+ * lets "stone" find "minecraft:stone" as well.
+ *
+ * Instances are safe to query from any thread.
+ */
+public final class ReferenceIndex {
+	// Cancellation is checked this often while collecting matches
+	private static final int CANCEL_CHECK_INTERVAL = 256;
+
+	// Lowercased values in sorted order, and the original values in the same order
+	private final String[] keys;
+	private final String[] values;
+	// Indices into keys, ordered by the part after the namespace
+	private final int[] pathOrder;
+	private final String[] pathKeys;
+
+	private ReferenceIndex(Collection<String> values) {
+		String[] distinct = values.stream().distinct().toArray(String[]::new);
+		String[] lowered = new String[distinct.length];
+		Integer[] order = new Integer[distinct.length];
+		for (int i = 0; i < distinct.length; i++) {
+			lowered[i] = distinct[i].toLowerCase(Locale.ROOT);
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> lowered[a].compareTo(lowered[b]));
+
+		this.keys = new String[distinct.length];
+		this.values = new String[distinct.length];
+		for (int i = 0; i < order.length; i++) {
+			this.keys[i] = lowered[order[i]];
+			this.values[i] = distinct[order[i]];
+		}
+
+		Integer[] byPath = new Integer[distinct.length];
+		for (int i = 0; i < byPath.length; i++) {
+			byPath[i] = i;
+		}
+		Arrays.sort(byPath, (a, b) -> path(this.keys[a]).compareTo(path(this.keys[b])));
+		this.pathOrder = new int[byPath.length];
+		this.pathKeys = new String[byPath.length];
+		for (int i = 0; i < byPath.length; i++) {
+			this.pathOrder[i] = byPath[i];
+			this.pathKeys[i] = path(this.keys[byPath[i]]);
+		}
+	}
+
+	public static ReferenceIndex of(Collection<String> values) {
+		return new ReferenceIndex(values);
+	}
+
+	/**
+	 * Indexes the IDs of a registry. Built-in registries are frozen after
+	 * loading, so this may run off the render thread.
+	 */
+	public static ReferenceIndex ofRegistry(Registry<?> registry) {
+		List<String> ids = new ArrayList<>(registry.size());
+		for (ResourceLocation id : registry.keySet()) {
+			ids.add(id.toString());
+		}
+		return new ReferenceIndex(ids);
+	}
+
+	public int size() {
+		return this.keys.length;
+	}
+
+	/**
+	 * @return Whether the value is indexed, ignoring case.
+	 */
+	public boolean contains(String value) {
+		return Arrays.binarySearch(this.keys, value.toLowerCase(Locale.ROOT)) >= 0;
+	}
+
+	/**
+	 * Finds values starting with the prefix, in sorted order, followed by
+	 * values whose part after the namespace starts with it.
+	 *
+	 * @param cancelled Checked periodically; once it returns true the partial
+	 *                  result is returned.
+	 */
+	public List<String> query(String prefix, int limit, BooleanSupplier cancelled) {
+		String key = prefix.toLowerCase(Locale.ROOT);
+		List<String> matches = new ArrayList<>(Math.min(limit, 16));
+
+		for (int i = lowerBound(this.keys, key); i < this.keys.length && matches.size() < limit; i++) {
+			if (!this.keys[i].startsWith(key) || (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean())) {
+				break;
+			}
+			matches.add(this.values[i]);
+		}
+
+		// A namespaced prefix already matched everything it can above
+		if (key.indexOf(':') < 0) {
+			for (int i = lowerBound(this.pathKeys, key); i < this.pathKeys.length && matches.size() < limit; i++) {
+				if (!this.pathKeys[i].startsWith(key) || (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean())) {
+					break;
+				}
+				int index = this.pathOrder[i];
+				// Values without a namespace were matched by the first pass
+				if (!this.keys[index].startsWith(key)) {
+					matches.add(this.values[index]);
+				}
+			}
+		}
+		return matches;
+	}
+
+	private static String path(String key) {
+		int colon = key.indexOf(':');
+		return colon < 0 ? key : key.substring(colon + 1);
+	}
+
+	/**
+	 * @return The first index whose key is not less than the given one.
+	 */
+	private static int lowerBound(String[] sorted, String key) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sorted[mid].compareTo(key) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
@@ -0,0 +1,86 @@
+package com.snowbird.snowlib.screens.options;
+
+/**
+ * Row heights of an {@link OptionsList} with prefix sums, kept in a Fenwick
+ * tree so a row's offset, the total height and the row at a given offset are
+ * all found in O(log n), and one row's height changes in O(log n).
+ *
+ * Hidden rows have height 0.
+ */
+final class RowHeightIndex {
+	private int[] heights = new int[0];
+	// 1-based Fenwick tree over heights
+	private int[] tree = new int[1];
+	private int size;
+
+	/**
+	 * Replaces all heights in O(n).
+	 */
+	void rebuild(int[] heights) {
+		this.size = heights.length;
+		this.heights = heights;
+		this.tree = new int[this.size + 1];
+		for (int i = 1; i <= this.size; i++) {
+			this.tree[i] += heights[i - 1];
+			int parent = i + (i & -i);
+			if (parent <= this.size) {
+				this.tree[parent] += this.tree[i];
+			}
+		}
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	int height(int row) {
+		return this.heights[row];
+	}
+
+	void set(int row, int height) {
+		int delta = height - this.heights[row];
+		if (delta == 0) {
+			return;
+		}
+		this.heights[row] = height;
+		for (int i = row + 1; i <= this.size; i += i & -i) {
+			this.tree[i] += delta;
+		}
+	}
+
+	/**
+	 * @return The summed height of the rows before the given one.
+	 */
+	int offset(int row) {
+		int sum = 0;
+		for (int i = row; i > 0; i -= i & -i) {
+			sum += this.tree[i];
+		}
+		return sum;
+	}
+
+	int total() {
+		return this.offset(this.size);
+	}
+
+	/**
+	 * @return The row covering the given offset, never a hidden one, or
+	 * {@link #size()} if the offset is past the last row.
+	 */
+	int rowAt(int offset) {
+		if (offset < 0) {
+			return 0;
+		}
+		// Walk down to the last position whose prefix sum does not exceed the offset
+		int position = 0;
+		int remaining = offset;
+		for (int step = Integer.highestOneBit(Math.max(this.size, 1)); step > 0; step >>= 1) {
+			int next = position + step;
+			if (next <= this.size && this.tree[next] <= remaining) {
+				position = next;
+				remaining -= this.tree[next];
+			}
+		}
+		return position;
+	}
+}
@@ -0,0 +1,115 @@
+package com.snowbird.snowlib.screens.options;
+
+import com.snowbird.snowlib.config.schema.ConfigSchema;
+import com.snowbird.snowlib.config.schema.OptionAccessor;
+import com.snowbird.snowlib.config.schema.Range;
+import com.snowbird.snowlib.config.schema.SchemaAccessors;
+import com.snowbird.snowlib.screens.SimpleTwoColumnConfigScreen;
+import com.snowbird.snowlib.screens.options.entries.CheckboxEntry;
+import com.snowbird.snowlib.screens.options.entries.DoubleFieldEntry;
+import com.snowbird.snowlib.screens.options.entries.IntFieldEntry;
+import com.snowbird.snowlib.screens.options.entries.LongFieldEntry;
+import com.snowbird.snowlib.screens.options.entries.ScrollableDropdownEntry;
+import com.snowbird.snowlib.screens.options.entries.TextFieldEntry;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds screens for {@link ConfigSchema} classes at runtime, producing the
+ * same entries as the schema processor's generated code.
+ *
+ * Field access is resolved once per class by {@link SchemaAccessors}, so the
+ * entries read and write the config object at close to direct-access speed.
+ * Prefer the processor where it can be used; this is for classes that cannot
+ * go through it, such as ones loaded from other mods.
+ */
+public final class SchemaBindings {
+
+	private SchemaBindings() {
+	}
+
+	/**
+	 * Categories showing the options of the given config object.
+	 *
+	 * @param lookup A lookup that can access the config class's fields,
+	 *               usually {@code MethodHandles.lookup()} called from it.
+	 * @throws IllegalArgumentException If the class is not a valid schema.
+	 */
+	public static List<SimpleTwoColumnConfigScreen.SimpleCategoryDefinition> categories(
+		Object config,
+		MethodHandles.Lookup lookup
+	) {
+		// Category name -> options, in order of first appearance
+		Map<String, List<OptionAccessor>> byCategory = new LinkedHashMap<>();
+		for (OptionAccessor accessor : SchemaAccessors.of(config.getClass(), lookup)) {
+			byCategory.computeIfAbsent(accessor.getCategory(), key -> new ArrayList<>()).add(accessor);
+		}
+
+		List<SimpleTwoColumnConfigScreen.SimpleCategoryDefinition> categories = new ArrayList<>(byCategory.size());
+		for (Map.Entry<String, List<OptionAccessor>> category : byCategory.entrySet()) {
+			List<OptionAccessor> accessors = category.getValue();
+			categories.add(new SimpleTwoColumnConfigScreen.SimpleCategoryDefinition(category.getKey(), list -> {
+				for (OptionAccessor accessor : accessors) {
+					OptionsList.Entry entry = createEntry(config, accessor);
+					// Field names are unique, display names need not be
+					entry.setKey(accessor.getField());
+					list.addEntry(entry);
+				}
+			}));
+		}
+		return categories;
+	}
+
+	public static SimpleTwoColumnConfigScreen createScreen(Object config, MethodHandles.Lookup lookup) {
+		return new SimpleTwoColumnConfigScreen(categories(config, lookup));
+	}
+
+	private static OptionsList.Entry createEntry(Object config, OptionAccessor accessor) {
+		String name = accessor.getName();
+		String description = accessor.getDescription();
+		Range range = accessor.getRange();
+		double min = range != null ? range.min() : -Double.MAX_VALUE;
+		double max = range != null ? range.max() : Double.MAX_VALUE;
+		double step = range != null ? range.step() : 1.0;
+
+		return switch (accessor.getWidget()) {
+			case CHECKBOX -> new CheckboxEntry(name, description,
+				() -> accessor.getBoolean(config), value -> accessor.setBoolean(config, value));
+			case TEXT_FIELD -> new TextFieldEntry(name, description,
+				() -> (String) accessor.get(config), value -> accessor.set(config, value));
+			// Casting to int or long saturates, which clamps the bounds to the field's range
+			case NUMBER_FIELD -> switch (accessor.getKind()) {
+				case INT -> new IntFieldEntry(name, description, () -> accessor.getInt(config),
+					(int) min, (int) max, Math.max(1, (int) step), value -> accessor.setInt(config, value));
+				case LONG -> new LongFieldEntry(name, description, () -> accessor.getLong(config),
+					(long) min, (long) max, Math.max(1L, (long) step), value -> accessor.setLong(config, value));
+				default -> new DoubleFieldEntry(name, description, () -> accessor.getDouble(config),
+					min, max, step, value -> accessor.setDouble(config, value));
+			};
+			default -> {
+				if (accessor.getKind() == OptionAccessor.Kind.ENUM) {
+					yield enumDropdown(config, accessor);
+				}
+				yield new ScrollableDropdownEntry(name, description, () -> (String) accessor.get(config),
+					accessor.getChoices().toArray(new String[0]), value -> accessor.set(config, value));
+			}
+		};
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static ScrollableDropdownEntry enumDropdown(Object config, OptionAccessor accessor) {
+		Class<? extends Enum> enumClass = (Class<? extends Enum>) accessor.getType();
+		Enum<?>[] constants = enumClass.getEnumConstants();
+		String[] names = new String[constants.length];
+		for (int i = 0; i < constants.length; i++) {
+			names[i] = constants[i].name();
+		}
+		return new ScrollableDropdownEntry(accessor.getName(), accessor.getDescription(),
+			() -> ((Enum<?>) accessor.get(config)).name(), names,
+			value -> accessor.set(config, Enum.valueOf(enumClass, value)));
+	}
+}
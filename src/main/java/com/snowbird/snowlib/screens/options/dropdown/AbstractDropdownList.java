@@ -15,10 +15,15 @@ public abstract class AbstractDropdownList<T, E extends AbstractDropdownList<T,
 	extends AbstractSelectionList<E> {
 
 	public static int globalRenderOffsetY = 0;
+	protected static final String CHECKMARK = "\u2713";
 	protected final int maxVisibleOptions = 5;
 
+	// Measured once; the glyph never changes while the list is alive
+	protected final int checkmarkWidth;
+
 	public AbstractDropdownList(int width, int itemHeight) {
 		super(Minecraft.getInstance(), width, 0, 0, 0, itemHeight);
+		this.checkmarkWidth = this.minecraft.font.width(CHECKMARK);
 	}
 
 	public void setPosition(int left, int top, int width, int height) {
@@ -1,18 +1,40 @@
 package com.snowbird.snowlib.screens.options.dropdown;
 
 import com.snowbird.snowlib.GuiColorScheme;
+import com.snowbird.snowlib.client.IconAtlas;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.world.level.ItemLike;
 
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * A simple dropdown list that manages String options with scrolling capability.
+ *
+ * The selection is tracked as an index into the option array, so rendering
+ * only compares integers and programmatic updates resolve through a
+ * value-to-index map instead of scanning the options.
+ *
+ * Options can show item or block icons, see {@link #setIcons}.
  */
 public class DropdownList extends AbstractDropdownList<String, DropdownList.Entry> {
 
+	public static final int NO_SELECTION = -1;
+
 	private final Consumer<String> onOptionSelected;
-	private String selectedOption;
+	private final String[] options;
+	private final Object2IntMap<String> optionIndices;
+	private int selectedIndex;
+	// The current value, kept as is even when it is not one of the options
+	// (e.g. a stored value that was since renamed or removed)
+	private String value;
+
+	// Option -> icon, or null for text only; resolved once per option when first drawn
+	private Function<String, ? extends ItemLike> iconLookup;
+	private ItemLike[] icons;
 
 	/**
 	 * We’ll allow the user to optionally pass in a color scheme if needed,
@@ -25,13 +47,18 @@ public class DropdownList extends AbstractDropdownList<String, DropdownList.Entr
 	public DropdownList(int width, String initialValue, String[] options, Consumer<String> onOptionSelected) {
 		super(width, 20);
 		this.onOptionSelected = onOptionSelected;
-		this.selectedOption = initialValue;
-
-		for (String option : options) {
-			this.addEntry(new Entry(option));
+		this.options = options.clone();
+		this.optionIndices = new Object2IntOpenHashMap<>(this.options.length);
+		this.optionIndices.defaultReturnValue(NO_SELECTION);
+
+		for (int i = 0; i < this.options.length; i++) {
+			// First occurrence wins if the caller passes duplicates
+			this.optionIndices.putIfAbsent(this.options[i], i);
+			this.addEntry(new Entry(this.options[i], i));
 		}
+		this.setValue(initialValue);
 
-		int visibleOptionCount = Math.min(options.length, maxVisibleOptions);
+		int visibleOptionCount = Math.min(this.options.length, maxVisibleOptions);
 		this.height = visibleOptionCount * this.itemHeight;
 	}
 
@@ -43,9 +70,84 @@ public class DropdownList extends AbstractDropdownList<String, DropdownList.Entr
 		return this.colorScheme;
 	}
 
+	/**
+	 * Shows an icon before each option, drawn from the {@link IconAtlas}.
+	 * The lookup may return air for options without one; null removes the icons.
+	 */
+	public void setIcons(Function<String, ? extends ItemLike> iconLookup) {
+		this.iconLookup = iconLookup;
+		this.icons = iconLookup != null ? new ItemLike[this.options.length] : null;
+	}
+
+	/**
+	 * @return The icon of the option at the given index, or null if there are no icons.
+	 */
+	public ItemLike getIcon(int index) {
+		if (this.icons == null) {
+			return null;
+		}
+		if (this.icons[index] == null) {
+			this.icons[index] = this.iconLookup.apply(this.options[index]);
+		}
+		return this.icons[index];
+	}
+
+	/**
+	 * @return The index of the given option, or {@link #NO_SELECTION} if it is not one of the options.
+	 */
+	public int indexOf(String option) {
+		return option == null ? NO_SELECTION : this.optionIndices.getInt(option);
+	}
+
+	/**
+	 * @return The option at the given index.
+	 */
+	public String getOption(int index) {
+		return this.options[index];
+	}
+
+	public int getSelectedIndex() {
+		return this.selectedIndex;
+	}
+
+	/**
+	 * @return The selected option, or null if the current value is not one of the options.
+	 */
+	public String getSelectedOption() {
+		return this.selectedIndex == NO_SELECTION ? null : this.options[this.selectedIndex];
+	}
+
+	/**
+	 * @return The current value, which may not be one of the options; null if there is none.
+	 */
+	public String getValue() {
+		return this.value;
+	}
+
+	/**
+	 * Selects an option by index without notifying the callback.
+	 */
+	public void setSelectedIndex(int index) {
+		this.selectedIndex = (index >= 0 && index < this.options.length) ? index : NO_SELECTION;
+		this.value = this.selectedIndex == NO_SELECTION ? null : this.options[this.selectedIndex];
+	}
+
+	/**
+	 * Sets the current value without notifying the callback.
+	 * Values that are not options are kept as is, with no option selected,
+	 * until one is picked.
+	 */
+	public void setValue(String value) {
+		this.value = value;
+		this.selectedIndex = this.indexOf(value);
+	}
+
 	public class Entry extends AbstractDropdownList<String, Entry>.Entry {
-		public Entry(String option) {
+		private final int index;
+
+		public Entry(String option, int index) {
 			super(option);
+			this.index = index;
 		}
 
 		@Override
@@ -67,29 +169,36 @@ public class DropdownList extends AbstractDropdownList<String, DropdownList.Entr
 
 			guiGraphics.fill(left, top, left + width, top + height, backgroundColor);
 
+			int textY = top + (height - Minecraft.getInstance().font.lineHeight) / 2;
+
+			int textX = left + 5;
+			ItemLike icon = DropdownList.this.getIcon(this.index);
+			if (icon != null) {
+				IconAtlas.get().draw(guiGraphics, icon, left + 3, top + (height - 16) / 2);
+				textX += 18;
+			}
+
 			// Draw option text
 			guiGraphics.drawString(
 				Minecraft.getInstance().font,
 				this.option,
-				left + 5,
-				top + (height - Minecraft.getInstance().font.lineHeight) / 2,
+				textX,
+				textY,
 				0xFFFFFFFF
 			);
 
 			// Draw checkmark if selected
-			if (this.option.equals(DropdownList.this.selectedOption)) {
-				String checkmark = "\u2713";
+			if (this.index == DropdownList.this.selectedIndex) {
 				int checkmarkColor = 0xFF00FF00;
-				int checkmarkWidth = Minecraft.getInstance().font.width(checkmark);
-				int checkmarkX = left + width - checkmarkWidth - 5;
-				int checkmarkY = top + (height - Minecraft.getInstance().font.lineHeight) / 2;
-				guiGraphics.drawString(Minecraft.getInstance().font, checkmark, checkmarkX, checkmarkY, checkmarkColor);
+				int checkmarkX = left + width - DropdownList.this.checkmarkWidth - 5;
+				guiGraphics.drawString(Minecraft.getInstance().font, CHECKMARK, checkmarkX, textY, checkmarkColor);
 			}
 		}
 
 		@Override
 		public boolean mouseClicked(double mouseX, double mouseY, int button) {
-			DropdownList.this.selectedOption = this.option;
+			DropdownList.this.selectedIndex = this.index;
+			DropdownList.this.value = this.option;
 			DropdownList.this.onOptionSelected.accept(this.option);
 			return true;
 		}
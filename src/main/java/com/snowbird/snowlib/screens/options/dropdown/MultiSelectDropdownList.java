@@ -4,34 +4,71 @@ import com.snowbird.snowlib.GuiColorScheme;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 
+import java.util.Arrays;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
- * A dropdown list for multiple enum options at once.
+ * A dropdown list for selecting multiple options at once.
+ *
+ * Selection lives in a {@link MultiSelectModel}; rows only hold their index
+ * and a precomputed label, so any option type is supported.
  */
-public class MultiSelectDropdownList<T extends Enum<T>>
+public class MultiSelectDropdownList<T>
 	extends AbstractDropdownList<T, MultiSelectDropdownList<T>.Entry> {
 
-	private final BiConsumer<T, Boolean> onOptionSelected;
+	private final MultiSelectModel<T> model;
 	private GuiColorScheme colorScheme = new GuiColorScheme();
 
+	public MultiSelectDropdownList(int width, MultiSelectModel<T> model, Function<T, String> labeler) {
+		super(width, 20);
+		this.model = model;
+
+		for (int i = 0; i < model.size(); i++) {
+			T option = model.getOption(i);
+			this.addEntry(new Entry(option, i, labeler.apply(option)));
+		}
+
+		int visibleOptionCount = Math.min(model.size(), maxVisibleOptions);
+		this.height = visibleOptionCount * this.itemHeight;
+	}
+
+	/**
+	 * Adapter for the original enum/set based API: every toggled option is
+	 * reported to the callback with its new state.
+	 */
 	public MultiSelectDropdownList(
 		int width,
 		T[] options,
 		Set<T> selectedOptions,
 		BiConsumer<T, Boolean> onOptionSelected
 	) {
-		super(width, 20);
-		this.onOptionSelected = onOptionSelected;
+		this(width, createModel(options, selectedOptions, onOptionSelected), MultiSelectDropdownList::defaultLabel);
+	}
 
-		for (T option : options) {
-			boolean isSelected = selectedOptions.contains(option);
-			this.addEntry(new Entry(option, isSelected));
-		}
+	private static <T> MultiSelectModel<T> createModel(T[] options, Set<T> selectedOptions, BiConsumer<T, Boolean> onOptionSelected) {
+		MultiSelectModel<T> model = MultiSelectModel.of(Arrays.asList(options), selectedOptions);
+		model.addListener((added, removed) -> {
+			for (int i = added.nextSetBit(0); i >= 0; i = added.nextSetBit(i + 1)) {
+				onOptionSelected.accept(model.getOption(i), true);
+			}
+			for (int i = removed.nextSetBit(0); i >= 0; i = removed.nextSetBit(i + 1)) {
+				onOptionSelected.accept(model.getOption(i), false);
+			}
+		});
+		return model;
+	}
 
-		int visibleOptionCount = Math.min(options.length, maxVisibleOptions);
-		this.height = visibleOptionCount * this.itemHeight;
+	/**
+	 * Labels enums by constant name and everything else by toString.
+	 */
+	public static String defaultLabel(Object option) {
+		return option instanceof Enum<?> e ? e.name() : String.valueOf(option);
+	}
+
+	public MultiSelectModel<T> getModel() {
+		return this.model;
 	}
 
 	public void setColorScheme(GuiColorScheme colorScheme) {
@@ -43,11 +80,17 @@ public class MultiSelectDropdownList<T extends Enum<T>>
 	}
 
 	public class Entry extends AbstractDropdownList<T, Entry>.Entry {
-		private boolean isSelected;
+		private final int index;
+		private final String label;
 
-		public Entry(T option, boolean isSelected) {
+		public Entry(T option, int index, String label) {
 			super(option);
-			this.isSelected = isSelected;
+			this.index = index;
+			this.label = label;
+		}
+
+		public String getLabel() {
+			return this.label;
 		}
 
 		@Override
@@ -71,27 +114,24 @@ public class MultiSelectDropdownList<T extends Enum<T>>
 			// Draw the option name
 			guiGraphics.drawString(
 				Minecraft.getInstance().font,
-				this.option.name(),
+				this.label,
 				left + 5,
 				top + (height - Minecraft.getInstance().font.lineHeight) / 2,
 				0xFFFFFFFF
 			);
 
 			// If selected, draw a green checkmark on the right
-			if (this.isSelected) {
-				String checkmark = "\u2713";
+			if (MultiSelectDropdownList.this.model.isSelected(this.index)) {
 				int checkmarkColor = 0xFF00FF00;
-				int checkmarkWidth = Minecraft.getInstance().font.width(checkmark);
-				int checkmarkX = left + width - checkmarkWidth - 5;
+				int checkmarkX = left + width - MultiSelectDropdownList.this.checkmarkWidth - 5;
 				int checkmarkY = top + (height - Minecraft.getInstance().font.lineHeight) / 2;
-				guiGraphics.drawString(Minecraft.getInstance().font, checkmark, checkmarkX, checkmarkY, checkmarkColor);
+				guiGraphics.drawString(Minecraft.getInstance().font, CHECKMARK, checkmarkX, checkmarkY, checkmarkColor);
 			}
 		}
 
 		@Override
 		public boolean mouseClicked(double mouseX, double mouseY, int button) {
-			this.isSelected = !this.isSelected;
-			MultiSelectDropdownList.this.onOptionSelected.accept(this.option, this.isSelected);
+			MultiSelectDropdownList.this.model.toggle(this.index);
 			return true;
 		}
 	}
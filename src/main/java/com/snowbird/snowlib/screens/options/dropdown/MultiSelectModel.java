@@ -0,0 +1,214 @@
+package com.snowbird.snowlib.screens.options.dropdown;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
+
+/**
+ * Selection state for a multi-select picklist over an indexed list of options.
+ *
+ * The selection is a BitSet where bit i corresponds to option i, so the model
+ * works for any option type (enums, registry IDs, player names) and stays cheap
+ * with thousands of options. Listeners receive the bits that were added and
+ * removed instead of the whole selection.
+ */
+public class MultiSelectModel<T> {
+
+	/**
+	 * Notified after every selection change with the bits that flipped.
+	 * The BitSets are owned by the model and only valid during the call.
+	 */
+	@FunctionalInterface
+	public interface SelectionListener {
+		void selectionChanged(BitSet added, BitSet removed);
+	}
+
+	private final List<T> options;
+	private final Object2IntMap<T> optionIndices;
+	private final BitSet selected;
+	private final List<SelectionListener> listeners = new CopyOnWriteArrayList<>();
+
+	// Scratch sets reused for change notifications
+	private final BitSet added = new BitSet();
+	private final BitSet removed = new BitSet();
+
+	// Incremented on every change so views can cache derived data
+	private int version;
+
+	public MultiSelectModel(List<T> options) {
+		this.options = List.copyOf(options);
+		this.optionIndices = new Object2IntOpenHashMap<>(this.options.size());
+		this.optionIndices.defaultReturnValue(-1);
+		for (int i = 0; i < this.options.size(); i++) {
+			this.optionIndices.putIfAbsent(this.options.get(i), i);
+		}
+		this.selected = new BitSet(this.options.size());
+	}
+
+	/**
+	 * Creates a model over the given options with the given values pre-selected.
+	 * Values that are not options are ignored.
+	 */
+	public static <T> MultiSelectModel<T> of(List<T> options, Collection<T> initiallySelected) {
+		MultiSelectModel<T> model = new MultiSelectModel<>(options);
+		for (T value : initiallySelected) {
+			int index = model.indexOf(value);
+			if (index >= 0) {
+				model.selected.set(index);
+			}
+		}
+		return model;
+	}
+
+	public void addListener(SelectionListener listener) {
+		this.listeners.add(listener);
+	}
+
+	public void removeListener(SelectionListener listener) {
+		this.listeners.remove(listener);
+	}
+
+	public int size() {
+		return this.options.size();
+	}
+
+	public T getOption(int index) {
+		return this.options.get(index);
+	}
+
+	public List<T> getOptions() {
+		return this.options;
+	}
+
+	/**
+	 * @return The index of the option, or -1 if it is not one of the options.
+	 */
+	public int indexOf(T option) {
+		return this.optionIndices.getInt(option);
+	}
+
+	public int getVersion() {
+		return this.version;
+	}
+
+	public boolean isSelected(int index) {
+		return this.selected.get(index);
+	}
+
+	public int getSelectedCount() {
+		return this.selected.cardinality();
+	}
+
+	/**
+	 * @return A copy of the selection bits.
+	 */
+	public BitSet getSelection() {
+		return (BitSet) this.selected.clone();
+	}
+
+	/**
+	 * Calls the action with the index of every selected option, in ascending order.
+	 */
+	public void forEachSelected(IntConsumer action) {
+		for (int i = this.selected.nextSetBit(0); i >= 0; i = this.selected.nextSetBit(i + 1)) {
+			action.accept(i);
+		}
+	}
+
+	/**
+	 * @return The selected options in index order.
+	 */
+	public List<T> getSelectedOptions() {
+		List<T> result = new ArrayList<>(this.selected.cardinality());
+		this.forEachSelected(i -> result.add(this.options.get(i)));
+		return result;
+	}
+
+	public void setSelected(int index, boolean value) {
+		if (this.selected.get(index) == value) {
+			return;
+		}
+		this.selected.set(index, value);
+		this.clearScratch();
+		(value ? this.added : this.removed).set(index);
+		this.fireChanged();
+	}
+
+	public void toggle(int index) {
+		this.setSelected(index, !this.selected.get(index));
+	}
+
+	public void selectAll() {
+		this.clearScratch();
+		this.added.set(0, this.options.size());
+		this.added.andNot(this.selected);
+		this.selected.set(0, this.options.size());
+		this.fireChanged();
+	}
+
+	public void selectNone() {
+		this.clearScratch();
+		this.removed.or(this.selected);
+		this.selected.clear();
+		this.fireChanged();
+	}
+
+	public void invert() {
+		this.clearScratch();
+		this.removed.or(this.selected);
+		this.added.set(0, this.options.size());
+		this.added.andNot(this.selected);
+		this.selected.flip(0, this.options.size());
+		this.fireChanged();
+	}
+
+	/**
+	 * Replaces the selection with the given options, ignoring values that are not options.
+	 */
+	public void setSelectedOptions(Collection<T> values) {
+		BitSet selection = new BitSet(this.options.size());
+		for (T value : values) {
+			int index = this.indexOf(value);
+			if (index >= 0) {
+				selection.set(index);
+			}
+		}
+		this.setSelection(selection);
+	}
+
+	/**
+	 * Replaces the selection with the given bits, notifying only the differences.
+	 */
+	public void setSelection(BitSet selection) {
+		this.clearScratch();
+		this.added.or(selection);
+		this.added.clear(this.options.size(), Math.max(this.options.size(), this.added.length()));
+		this.added.andNot(this.selected);
+		this.removed.or(this.selected);
+		this.removed.andNot(selection);
+		this.selected.andNot(this.removed);
+		this.selected.or(this.added);
+		this.fireChanged();
+	}
+
+	private void clearScratch() {
+		this.added.clear();
+		this.removed.clear();
+	}
+
+	private void fireChanged() {
+		if (this.added.isEmpty() && this.removed.isEmpty()) {
+			return;
+		}
+		this.version++;
+		for (SelectionListener listener : this.listeners) {
+			listener.selectionChanged(this.added, this.removed);
+		}
+	}
+}
@@ -10,7 +10,7 @@ import net.minecraft.network.chat.Component;
  * A base entry that shows a "dropdown" button on the right side.
  * Subclasses handle the actual dropdown list rendering/logic.
  */
-public abstract class AbstractDropdownEntry extends OptionsList.Entry {
+public abstract class AbstractDropdownEntry extends OptionsList.Entry implements DropdownHost {
 	protected final Button dropdownButton;
 	protected boolean dropdownOpen = false;
 
@@ -64,10 +64,12 @@ public abstract class AbstractDropdownEntry extends OptionsList.Entry {
 		return false;
 	}
 
+	@Override
 	public boolean isDropdownOpen() {
 		return this.dropdownOpen;
 	}
 
+	@Override
 	public void setDropdownVisibility(boolean dropdownOpen) {
 		this.dropdownOpen = dropdownOpen;
 	}
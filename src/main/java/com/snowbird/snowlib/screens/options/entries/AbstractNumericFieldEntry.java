@@ -0,0 +1,207 @@
+package com.snowbird.snowlib.screens.options.entries;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import org.lwjgl.glfw.GLFW;
+
+/**
+ * Base class for numeric text fields.
+ *
+ * Input is filtered with a hand-written character check instead of a regex,
+ * and parse or range errors are shown inline next to the entry name rather
+ * than thrown. The up/down arrow keys step the value.
+ */
+public abstract class AbstractNumericFieldEntry<T extends Number> extends AbstractTextFieldEntry<T> {
+	private static final int TEXT_COLOR = 0xE0E0E0;  // EditBox default
+	private static final int ERROR_COLOR = 0xFF5555;
+
+	private final boolean allowNegative;
+	private final boolean allowDecimal;
+
+	// Result of the last parseWhole call, valid only when it returned true
+	protected long parsedWhole;
+
+	// Null while the current text is a valid value
+	protected String errorMessage;
+
+	protected AbstractNumericFieldEntry(
+		String name,
+		String description,
+		String initialText,
+		boolean allowNegative,
+		boolean allowDecimal
+	) {
+		super(name, description, initialText);
+		this.allowNegative = allowNegative;
+		this.allowDecimal = allowDecimal;
+		this.textField.setFilter(this::isAcceptedInput);
+	}
+
+	/**
+	 * Parses and range-checks the text, keeping the result for {@link #deliverParsed()}.
+	 *
+	 * @return An error message to show, or null if the value is valid.
+	 */
+	protected abstract String parse(String text);
+
+	/**
+	 * Passes the value from the last successful {@link #parse} to the callback.
+	 */
+	protected abstract void deliverParsed();
+
+	/**
+	 * Moves the value one step up (direction > 0) or down (direction < 0).
+	 */
+	protected abstract void step(int direction);
+
+	public String getErrorMessage() {
+		return this.errorMessage;
+	}
+
+	@Override
+	protected boolean hasInlineError() {
+		return this.errorMessage != null;
+	}
+
+	@Override
+	protected void onTextEdited(String value) {
+		// Validate every keystroke so errors show even while delivery is deferred
+		this.updateError(this.parse(value));
+	}
+
+	@Override
+	protected final void onTextChanged(String value) {
+		String error = this.parse(value);
+		this.updateError(error);
+		if (error == null) {
+			this.deliverParsed();
+		}
+	}
+
+	private void updateError(String error) {
+		this.errorMessage = error;
+		this.textField.setTextColor(error == null ? TEXT_COLOR : ERROR_COLOR);
+	}
+
+	/**
+	 * Accepts digits, a leading minus sign when negatives are allowed and a
+	 * single decimal point when decimals are allowed.
+	 */
+	protected boolean isAcceptedInput(String input) {
+		boolean seenDecimalPoint = false;
+		for (int i = 0; i < input.length(); i++) {
+			char c = input.charAt(i);
+			if (c >= '0' && c <= '9') {
+				continue;
+			}
+			if (c == '-' && i == 0 && this.allowNegative) {
+				continue;
+			}
+			if (c == '.' && this.allowDecimal && !seenDecimalPoint) {
+				seenDecimalPoint = true;
+				continue;
+			}
+			return false;
+		}
+		return true;
+	}
+
+	protected static boolean hasDigit(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c >= '0' && c <= '9') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Parses an optionally signed run of digits into {@link #parsedWhole}.
+	 *
+	 * @return false if there are no digits or the number does not fit in a long.
+	 */
+	protected boolean parseWhole(String text) {
+		if (!hasDigit(text)) {
+			return false;
+		}
+		boolean negative = text.charAt(0) == '-';
+		// Accumulate negatively so Long.MIN_VALUE can be represented
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multiplyMin = limit / 10;
+		long result = 0;
+		for (int i = negative ? 1 : 0; i < text.length(); i++) {
+			int digit = text.charAt(i) - '0';
+			if (result < multiplyMin) {
+				return false;
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				return false;
+			}
+			result -= digit;
+		}
+		this.parsedWhole = negative ? result : -result;
+		return true;
+	}
+
+	/**
+	 * Shows a known-valid value without delivering it and clears any error.
+	 */
+	protected void showValueSilently(String text) {
+		this.setTextSilently(text);
+		this.errorMessage = null;
+		this.textField.setTextColor(TEXT_COLOR);
+	}
+
+	/**
+	 * Replaces the text with a stepped value and moves the cursor to the end.
+	 * The responder then treats it like typed input, including the commit policy.
+	 */
+	protected void setTextFromStep(String text) {
+		this.textField.setValue(text);
+		this.textField.moveCursorToEnd();
+		this.textField.setHighlightPos(this.textField.getCursorPosition());
+	}
+
+	@Override
+	public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+		if (keyCode == GLFW.GLFW_KEY_UP) {
+			this.step(1);
+			return true;
+		}
+		if (keyCode == GLFW.GLFW_KEY_DOWN) {
+			this.step(-1);
+			return true;
+		}
+		return super.keyPressed(keyCode, scanCode, modifiers);
+	}
+
+	@Override
+	public void render(
+		GuiGraphics guiGraphics,
+		int index,
+		int top,
+		int left,
+		int width,
+		int height,
+		int mouseX,
+		int mouseY,
+		boolean hovered,
+		float partialTicks
+	) {
+		super.render(guiGraphics, index, top, left, width, height, mouseX, mouseY, hovered, partialTicks);
+
+		// Show the error on the name line, right-aligned; in tables the red text has to suffice
+		if (this.errorMessage != null && !this.inTable) {
+			int errorWidth = Minecraft.getInstance().font.width(this.errorMessage);
+			guiGraphics.drawString(
+				Minecraft.getInstance().font,
+				this.errorMessage,
+				left + width - 5 - errorWidth,
+				top + 5,
+				ERROR_COLOR
+			);
+		}
+	}
+}
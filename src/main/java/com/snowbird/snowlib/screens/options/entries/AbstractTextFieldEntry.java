@@ -1,21 +1,53 @@
 package com.snowbird.snowlib.screens.options.entries;
 
 import com.snowbird.snowlib.screens.options.OptionsList;
+import com.snowbird.snowlib.screens.options.validation.ValidationEngine;
+import com.snowbird.snowlib.screens.options.validation.ValidationResult;
+import com.snowbird.snowlib.screens.options.validation.Validator;
+import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.EditBox;
 import net.minecraft.network.chat.Component;
+import org.lwjgl.glfw.GLFW;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 /**
  * Base class for text field entries (String, number, etc.).
  * Subclasses can override onTextChanged to handle validation.
+ *
+ * When onTextChanged is called depends on the entry's {@link CommitPolicy};
+ * onTextEdited sees every keystroke regardless. Edits committed while the
+ * field keeps focus merge into one step of the screen's edit journal.
+ *
+ * Checks too slow for a keystroke can be set with {@link #setValidator}; they
+ * run on the parent list's {@link ValidationEngine} and their result is drawn
+ * as an outline around the field, with the message on the name line.
  */
 public abstract class AbstractTextFieldEntry<T> extends OptionsList.Entry {
+	private static final int VALIDATION_ERROR_COLOR = 0xFF5555;
+	private static final int VALIDATION_WARNING_COLOR = 0xFFAA00;
+
 	protected final EditBox textField;
 	protected final Consumer<T> onChange;
 
+	// Set while the text is replaced programmatically so no change is reported
+	private boolean suppressTextChanged = false;
+
+	// Null means "use the parent list's default"
+	private CommitPolicy commitPolicy;
+	// Text edited but not yet passed to onTextChanged, or null
+	private String pendingText;
+	private long pendingDeadline;
+
+	// Background check of the text, or null
+	private Validator validator;
+	private List<String> validatorDependencies = List.of();
+
 	public AbstractTextFieldEntry(
 		String name,
 		String description,
@@ -32,15 +64,185 @@ public abstract class AbstractTextFieldEntry<T> extends OptionsList.Entry {
 		this.textField.setMaxLength(1024);
 		this.textField.setValue(initialValue);
 		this.onChange = onChange;
-		this.textField.setResponder(this::onTextChanged);
+		this.textField.setResponder(value -> {
+			if (!this.suppressTextChanged) {
+				this.textEdited(value);
+			}
+		});
 
 		// Start cursor at position 0
 		this.textField.setCursorPosition(0);
 		this.textField.setHighlightPos(0);
 	}
 
+	/**
+	 * For subclasses that deliver values through their own callbacks
+	 * (e.g. primitive consumers) instead of {@link #onChange}.
+	 */
+	protected AbstractTextFieldEntry(String name, String description, String initialValue) {
+		this(name, description, initialValue, null);
+	}
+
+	/**
+	 * Called with settled text, as decided by the commit policy.
+	 */
 	protected abstract void onTextChanged(String value);
 
+	/**
+	 * Called on every edit, before the commit policy is applied.
+	 * Useful for live feedback such as validation colouring.
+	 */
+	protected void onTextEdited(String value) {
+	}
+
+	/**
+	 * Validates the text on a background thread after each edit, once typing
+	 * pauses. Replaces the previous validator; null removes it.
+	 *
+	 * @param dependsOn Keys of other entries whose values the validator reads
+	 *                  through its context; editing them validates this entry again.
+	 */
+	public void setValidator(Validator validator, String... dependsOn) {
+		this.validator = validator;
+		this.validatorDependencies = List.of(dependsOn);
+		if (validator == null && this.parentList != null) {
+			this.parentList.getValidation().clear(this.parentList.getCategory(), this.getKey());
+		}
+	}
+
+	public boolean dependsOn(String key) {
+		return this.validator != null && this.validatorDependencies.contains(key);
+	}
+
+	/**
+	 * Schedules a validation of the current text, if the entry has a validator.
+	 */
+	public void requestValidation() {
+		if (this.validator == null || this.parentList == null) {
+			return;
+		}
+		// Captured here, since other entries must not be read off the render thread
+		Map<String, Object> dependencies = new HashMap<>();
+		for (String key : this.validatorDependencies) {
+			OptionsList.Entry entry = this.parentList.findEntry(key);
+			if (entry != null) {
+				dependencies.put(key, entry.getOptionValue());
+			}
+		}
+		this.parentList.getValidation().schedule(this.parentList.getCategory(), this.getKey(), this.validator,
+			this.getText(), dependencies, ValidationEngine.DEFAULT_DELAY_MILLIS);
+	}
+
+	/**
+	 * @return The latest non-OK result of the validator, or null.
+	 */
+	public ValidationResult getValidationResult() {
+		if (this.validator == null || this.parentList == null) {
+			return null;
+		}
+		return this.parentList.getValidation().getResult(this.parentList.getCategory(), this.getKey());
+	}
+
+	/**
+	 * @return Whether the entry already shows an error of its own on the name
+	 *         line, which then takes precedence over the validator's message.
+	 */
+	protected boolean hasInlineError() {
+		return false;
+	}
+
+	public String getText() {
+		return this.textField.getValue();
+	}
+
+	/**
+	 * Replaces the text without calling {@link #onTextChanged}.
+	 * Any edit still waiting to be committed is discarded.
+	 */
+	public void setTextSilently(String text) {
+		this.pendingText = null;
+		boolean changed = !text.equals(this.textField.getValue());
+		this.suppressTextChanged = true;
+		try {
+			this.textField.setValue(text);
+		} finally {
+			this.suppressTextChanged = false;
+		}
+		if (changed) {
+			// e.g. undo or a refresh; the previous result belongs to other text
+			this.requestValidation();
+		}
+	}
+
+	/**
+	 * Overrides the commit policy for this entry. Null falls back to the
+	 * parent list's default.
+	 */
+	public void setCommitPolicy(CommitPolicy commitPolicy) {
+		this.commitPolicy = commitPolicy;
+	}
+
+	public CommitPolicy getCommitPolicy() {
+		if (this.commitPolicy != null) {
+			return this.commitPolicy;
+		}
+		return this.parentList != null ? this.parentList.getDefaultCommitPolicy() : CommitPolicy.IMMEDIATE;
+	}
+
+	@Override
+	public void applyOptionValue(Object value) {
+		this.setOptionValue(value);
+		this.onTextChanged(this.getText());
+	}
+
+	@Override
+	public boolean hasPendingEdit() {
+		return this.pendingText != null;
+	}
+
+	/**
+	 * Delivers the pending edit, if any, regardless of the commit policy.
+	 */
+	@Override
+	public void flushPendingEdit() {
+		if (this.pendingText != null) {
+			String text = this.pendingText;
+			this.pendingText = null;
+			this.onTextChanged(text);
+		}
+	}
+
+	/**
+	 * Delivers a debounced edit once its idle delay has passed.
+	 *
+	 * @param nowMillis Current time from {@link Util#getMillis()}.
+	 */
+	public void flushPendingEditIfIdle(long nowMillis) {
+		if (this.pendingText != null
+			&& this.getCommitPolicy().getMode() == CommitPolicy.Mode.DEBOUNCED
+			&& nowMillis >= this.pendingDeadline) {
+			this.flushPendingEdit();
+		}
+	}
+
+	private void textEdited(String value) {
+		this.onTextEdited(value);
+		this.requestValidation();
+
+		CommitPolicy policy = this.getCommitPolicy();
+		switch (policy.getMode()) {
+			case IMMEDIATE -> {
+				this.pendingText = null;
+				this.onTextChanged(value);
+			}
+			case DEBOUNCED -> {
+				this.pendingText = value;
+				this.pendingDeadline = Util.getMillis() + policy.getDelayMillis();
+			}
+			case ON_COMMIT -> this.pendingText = value;
+		}
+	}
+
 	@Override
 	public boolean mouseClicked(double mouseX, double mouseY, int button) {
 		if (this.textField.isMouseOver(mouseX, mouseY)) {
@@ -55,6 +257,7 @@ public abstract class AbstractTextFieldEntry<T> extends OptionsList.Entry {
 		} else {
 			this.textField.setFocused(false);
 			this.textField.setHighlightPos(this.textField.getCursorPosition());
+			this.flushPendingEdit();
 		}
 		return super.mouseClicked(mouseX, mouseY, button);
 	}
@@ -91,6 +294,7 @@ public abstract class AbstractTextFieldEntry<T> extends OptionsList.Entry {
 		float partialTicks
 	) {
 		this.setPositionAndSize(left, top, width, height);
+		this.flushPendingEditIfIdle(Util.getMillis());
 
 		if (!this.inTable) {
 			super.render(guiGraphics, index, top, left, width, height, mouseX, mouseY, hovered, partialTicks);
@@ -106,10 +310,34 @@ public abstract class AbstractTextFieldEntry<T> extends OptionsList.Entry {
 		}
 
 		this.textField.render(guiGraphics, mouseX, mouseY, partialTicks);
+		this.renderValidationResult(guiGraphics, left, top, width);
+	}
+
+	private void renderValidationResult(GuiGraphics guiGraphics, int left, int top, int width) {
+		ValidationResult result = this.getValidationResult();
+		if (result == null) {
+			return;
+		}
+		int color = result.isError() ? VALIDATION_ERROR_COLOR : VALIDATION_WARNING_COLOR;
+		guiGraphics.renderOutline(this.textField.getX() - 1, this.textField.getY() - 1,
+			this.textField.getWidth() + 2, this.textField.getHeight() + 2, 0xFF000000 | color);
+
+		// Same place as the numeric fields' own errors; in tables the outline has to suffice
+		if (!this.inTable && !this.hasInlineError() && !result.message().isEmpty()) {
+			int messageWidth = Minecraft.getInstance().font.width(result.message());
+			guiGraphics.drawString(Minecraft.getInstance().font, result.message(),
+				left + width - 5 - messageWidth, top + 5, color);
+		}
 	}
 
 	@Override
 	public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+		if (keyCode == GLFW.GLFW_KEY_ENTER || keyCode == GLFW.GLFW_KEY_KP_ENTER) {
+			if (this.hasPendingEdit()) {
+				this.flushPendingEdit();
+				return true;
+			}
+		}
 		return this.textField.keyPressed(keyCode, scanCode, modifiers);
 	}
 
@@ -124,6 +352,9 @@ public abstract class AbstractTextFieldEntry<T> extends OptionsList.Entry {
 		this.textField.setFocused(focused);
 		if (!focused) {
 			this.textField.setHighlightPos(this.textField.getCursorPosition());
+			this.flushPendingEdit();
+			// Typing after refocusing starts a new undo step
+			this.endEditGroup();
 		}
 	}
 }
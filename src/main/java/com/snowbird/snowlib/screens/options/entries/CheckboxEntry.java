@@ -1,12 +1,15 @@
 package com.snowbird.snowlib.screens.options.entries;
 
 import com.snowbird.snowlib.GuiColorScheme;
+import com.snowbird.snowlib.function.BooleanConsumer;
+import com.snowbird.snowlib.function.PrimitiveAdapters;
 import com.snowbird.snowlib.screens.options.OptionsList;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.Checkbox;
 import net.minecraft.network.chat.Component;
 
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 /**
@@ -14,12 +17,74 @@ import java.util.function.Consumer;
  */
 public class CheckboxEntry extends OptionsList.Entry {
 	private final Checkbox checkbox;
-	private final Consumer<Boolean> onChange;
+	private final BooleanConsumer onChange;
+	private final BooleanSupplier source;
 
+	/**
+	 * @deprecated Boxes on every toggle; use {@link #primitive(String, String, boolean, BooleanConsumer)}.
+	 */
+	@Deprecated
 	public CheckboxEntry(String name, String description, boolean initialValue, Consumer<Boolean> onChange) {
+		this(name, description, initialValue, null, PrimitiveAdapters.booleanConsumer(onChange));
+	}
+
+	/**
+	 * Reads the initial value from source; {@link #refresh()} re-reads it later.
+	 */
+	public CheckboxEntry(String name, String description, BooleanSupplier source, BooleanConsumer onChange) {
+		this(name, description, source.getAsBoolean(), source, onChange);
+	}
+
+	private CheckboxEntry(String name, String description, boolean initialValue, BooleanSupplier source, BooleanConsumer onChange) {
 		super(name, description);
 		this.checkbox = new Checkbox(0, 0, 20, 20, Component.literal(""), initialValue);
 		this.onChange = onChange;
+		this.source = source;
+	}
+
+	/**
+	 * A checkbox with a primitive callback. Not a constructor overload, since
+	 * one next to the boxed constructor would make {@code val -> {}} ambiguous.
+	 */
+	public static CheckboxEntry primitive(String name, String description, boolean initialValue, BooleanConsumer onChange) {
+		return new CheckboxEntry(name, description, initialValue, null, onChange);
+	}
+
+	public boolean isChecked() {
+		return this.checkbox.selected();
+	}
+
+	/**
+	 * Updates the checkbox without notifying the change callback.
+	 */
+	public void setChecked(boolean checked) {
+		if (this.checkbox.selected() != checked) {
+			this.checkbox.onPress();
+		}
+	}
+
+	@Override
+	public Object getOptionValue() {
+		return this.isChecked();
+	}
+
+	@Override
+	public void setOptionValue(Object value) {
+		this.setChecked((Boolean) value);
+	}
+
+	@Override
+	public void applyOptionValue(Object value) {
+		boolean checked = (Boolean) value;
+		this.setChecked(checked);
+		this.commitChange(checked, () -> this.onChange.accept(checked));
+	}
+
+	@Override
+	public void refresh() {
+		if (this.source != null) {
+			this.setChecked(this.source.getAsBoolean());
+		}
 	}
 
 	@Override
@@ -78,7 +143,8 @@ public class CheckboxEntry extends OptionsList.Entry {
 	public boolean mouseClicked(double mouseX, double mouseY, int button) {
 		if (this.checkbox.isMouseOver(mouseX, mouseY)) {
 			this.checkbox.onPress();
-			this.onChange.accept(this.checkbox.selected());
+			boolean checked = this.checkbox.selected();
+			this.commitChange(checked, () -> this.onChange.accept(checked));
 			return true;
 		}
 		return false;
@@ -0,0 +1,50 @@
+package com.snowbird.snowlib.screens.options.entries;
+
+/**
+ * Decides when edits in a text based entry are passed on to its change callback.
+ *
+ * - IMMEDIATE: every keystroke is delivered (the original behaviour).
+ * - DEBOUNCED: delivered once the text has been left alone for a delay.
+ * - ON_COMMIT: delivered when the entry loses focus or Enter is pressed.
+ *
+ * With the latter two, intermediate edits are coalesced and only the settled
+ * text reaches the callback.
+ */
+public final class CommitPolicy {
+
+	public enum Mode {
+		IMMEDIATE,
+		DEBOUNCED,
+		ON_COMMIT
+	}
+
+	public static final CommitPolicy IMMEDIATE = new CommitPolicy(Mode.IMMEDIATE, 0L);
+	public static final CommitPolicy ON_COMMIT = new CommitPolicy(Mode.ON_COMMIT, 0L);
+
+	private final Mode mode;
+	private final long delayMillis;
+
+	private CommitPolicy(Mode mode, long delayMillis) {
+		this.mode = mode;
+		this.delayMillis = delayMillis;
+	}
+
+	/**
+	 * Delivers the text after it has been idle for the given time.
+	 * Losing focus or pressing Enter delivers it right away.
+	 */
+	public static CommitPolicy debounced(long idleMillis) {
+		if (idleMillis <= 0) {
+			return IMMEDIATE;
+		}
+		return new CommitPolicy(Mode.DEBOUNCED, idleMillis);
+	}
+
+	public Mode getMode() {
+		return this.mode;
+	}
+
+	public long getDelayMillis() {
+		return this.delayMillis;
+	}
+}
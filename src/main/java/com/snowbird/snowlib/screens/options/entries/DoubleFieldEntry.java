@@ -0,0 +1,153 @@
+package com.snowbird.snowlib.screens.options.entries;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A text field entry for double values with an inclusive range and step size.
+ *
+ * Only plain decimal notation is accepted (no exponents, NaN or infinity), so
+ * text that passes the filter and contains a digit always parses.
+ */
+public class DoubleFieldEntry extends AbstractNumericFieldEntry<Double> {
+	private final double min;
+	private final double max;
+	private final double step;
+	private final int stepScale;
+	private final DoubleConsumer onValueChange;
+	private double value;
+	// Last value accepted by parse, delivered on commit
+	private double parsedValue;
+	private DoubleSupplier source;
+
+	/**
+	 * @param min      Smallest accepted value (inclusive). Negative input is only allowed when min < 0.
+	 * @param max      Largest accepted value (inclusive).
+	 * @param step     Amount added or removed by the arrow keys; must be positive.
+	 * @param onChange Receives every valid value.
+	 */
+	public DoubleFieldEntry(
+		String name,
+		String description,
+		double initialValue,
+		double min,
+		double max,
+		double step,
+		DoubleConsumer onChange
+	) {
+		super(name, description, format(initialValue), min < 0, true);
+		if (!(min <= max)) {
+			throw new IllegalArgumentException("min must not be greater than max");
+		}
+		if (!(step > 0) || Double.isInfinite(step)) {
+			throw new IllegalArgumentException("step must be positive");
+		}
+		this.min = min;
+		this.max = max;
+		this.step = step;
+		this.stepScale = Math.max(0, BigDecimal.valueOf(step).stripTrailingZeros().scale());
+		this.onValueChange = onChange;
+		this.value = initialValue;
+		this.parsedValue = initialValue;
+	}
+
+	/**
+	 * Reads the initial value from source; {@link #refresh()} re-reads it later.
+	 */
+	public DoubleFieldEntry(
+		String name,
+		String description,
+		DoubleSupplier source,
+		double min,
+		double max,
+		double step,
+		DoubleConsumer onChange
+	) {
+		this(name, description, source.getAsDouble(), min, max, step, onChange);
+		this.source = source;
+	}
+
+	public DoubleFieldEntry(String name, String description, double initialValue, DoubleConsumer onChange) {
+		this(name, description, initialValue, -Double.MAX_VALUE, Double.MAX_VALUE, 1.0, onChange);
+	}
+
+	public double getValue() {
+		return this.value;
+	}
+
+	@Override
+	public void refresh() {
+		if (this.source != null) {
+			double v = this.source.getAsDouble();
+			// Leave the text and cursor alone when nothing changed
+			if (Double.compare(v, this.value) != 0 || this.errorMessage != null) {
+				this.showValue(v);
+			}
+		}
+	}
+
+	@Override
+	public Object getOptionValue() {
+		return this.value;
+	}
+
+	@Override
+	public void setOptionValue(Object value) {
+		this.showValue(((Number) value).doubleValue());
+	}
+
+	private void showValue(double v) {
+		this.value = v;
+		this.parsedValue = v;
+		this.showValueSilently(format(v));
+	}
+
+	@Override
+	protected String parse(String text) {
+		if (!hasDigit(text)) {
+			return "Enter a number";
+		}
+		double parsed = Double.parseDouble(text);
+		if (Double.isInfinite(parsed)) {
+			return "Number too large";
+		}
+		if (parsed < this.min) {
+			return "Min: " + format(this.min);
+		}
+		if (parsed > this.max) {
+			return "Max: " + format(this.max);
+		}
+		this.parsedValue = parsed;
+		return null;
+	}
+
+	@Override
+	protected void deliverParsed() {
+		double v = this.parsedValue;
+		this.value = v;
+		this.commitChange(v, () -> this.onValueChange.accept(v));
+	}
+
+	@Override
+	protected void step(int direction) {
+		// Step from the text being edited if it is valid, even if not yet committed
+		double base = this.errorMessage == null ? this.parsedValue : this.value;
+		double next = base + (direction > 0 ? this.step : -this.step);
+		next = Math.max(this.min, Math.min(this.max, next));
+		// Round to the step's precision so 0.1 + 0.2 shows as 0.3
+		BigDecimal rounded = BigDecimal.valueOf(next).setScale(this.stepScale, RoundingMode.HALF_UP);
+		this.setTextFromStep(rounded.stripTrailingZeros().toPlainString());
+	}
+
+	/**
+	 * Formats without exponent notation, which the input filter would reject.
+	 */
+	private static String format(double value) {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			return "";
+		}
+		return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+	}
+}
@@ -0,0 +1,19 @@
+package com.snowbird.snowlib.screens.options.entries;
+
+import net.minecraft.client.gui.GuiGraphics;
+
+/**
+ * An entry with a popup list that the parent OptionsList draws above every
+ * other entry and routes clicks and scrolling to while it is open.
+ */
+public interface DropdownHost {
+	boolean isDropdownOpen();
+
+	void setDropdownVisibility(boolean dropdownOpen);
+
+	void renderDropdown(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTicks);
+
+	boolean handleDropdownClick(double mouseX, double mouseY, int button);
+
+	boolean handleDropdownScroll(double mouseX, double mouseY, double scrollDelta, double scrollAmount);
+}
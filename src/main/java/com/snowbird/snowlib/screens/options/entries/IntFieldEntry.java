@@ -0,0 +1,132 @@
+package com.snowbird.snowlib.screens.options.entries;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * A text field entry for int values with an inclusive range and step size.
+ */
+public class IntFieldEntry extends AbstractNumericFieldEntry<Integer> {
+	private final int min;
+	private final int max;
+	private final int step;
+	private final IntConsumer onValueChange;
+	private int value;
+	// Last value accepted by parse, delivered on commit
+	private int parsedValue;
+	private IntSupplier source;
+
+	/**
+	 * @param min      Smallest accepted value (inclusive). Negative input is only allowed when min < 0.
+	 * @param max      Largest accepted value (inclusive).
+	 * @param step     Amount added or removed by the arrow keys; must be positive.
+	 * @param onChange Receives every valid value.
+	 */
+	public IntFieldEntry(
+		String name,
+		String description,
+		int initialValue,
+		int min,
+		int max,
+		int step,
+		IntConsumer onChange
+	) {
+		super(name, description, Integer.toString(initialValue), min < 0, false);
+		if (min > max) {
+			throw new IllegalArgumentException("min must not be greater than max");
+		}
+		if (step <= 0) {
+			throw new IllegalArgumentException("step must be positive");
+		}
+		this.min = min;
+		this.max = max;
+		this.step = step;
+		this.onValueChange = onChange;
+		this.value = initialValue;
+		this.parsedValue = initialValue;
+	}
+
+	/**
+	 * Reads the initial value from source; {@link #refresh()} re-reads it later.
+	 */
+	public IntFieldEntry(
+		String name,
+		String description,
+		IntSupplier source,
+		int min,
+		int max,
+		int step,
+		IntConsumer onChange
+	) {
+		this(name, description, source.getAsInt(), min, max, step, onChange);
+		this.source = source;
+	}
+
+	public IntFieldEntry(String name, String description, int initialValue, IntConsumer onChange) {
+		this(name, description, initialValue, Integer.MIN_VALUE, Integer.MAX_VALUE, 1, onChange);
+	}
+
+	public int getValue() {
+		return this.value;
+	}
+
+	@Override
+	public void refresh() {
+		if (this.source != null) {
+			int v = this.source.getAsInt();
+			// Leave the text and cursor alone when nothing changed
+			if (v != this.value || this.errorMessage != null) {
+				this.showValue(v);
+			}
+		}
+	}
+
+	@Override
+	public Object getOptionValue() {
+		return this.value;
+	}
+
+	@Override
+	public void setOptionValue(Object value) {
+		this.showValue(((Number) value).intValue());
+	}
+
+	private void showValue(int v) {
+		this.value = v;
+		this.parsedValue = v;
+		this.showValueSilently(Integer.toString(v));
+	}
+
+	@Override
+	protected String parse(String text) {
+		if (!this.parseWhole(text)) {
+			return hasDigit(text) ? "Number too large" : "Enter a number";
+		}
+		long parsed = this.parsedWhole;
+		if (parsed < this.min) {
+			return "Min: " + this.min;
+		}
+		if (parsed > this.max) {
+			return "Max: " + this.max;
+		}
+		this.parsedValue = (int) parsed;
+		return null;
+	}
+
+	@Override
+	protected void deliverParsed() {
+		int v = this.parsedValue;
+		this.value = v;
+		this.commitChange(v, () -> this.onValueChange.accept(v));
+	}
+
+	@Override
+	protected void step(int direction) {
+		// Widen to long so the addition cannot overflow
+		// Step from the text being edited if it is valid, even if not yet committed
+		int base = this.errorMessage == null ? this.parsedValue : this.value;
+		long next = (long) base + (direction > 0 ? this.step : -this.step);
+		next = Math.max(this.min, Math.min(this.max, next));
+		this.setTextFromStep(Long.toString(next));
+	}
+}
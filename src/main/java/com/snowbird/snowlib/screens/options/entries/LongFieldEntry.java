@@ -0,0 +1,136 @@
+package com.snowbird.snowlib.screens.options.entries;
+
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * A text field entry for long values with an inclusive range and step size.
+ */
+public class LongFieldEntry extends AbstractNumericFieldEntry<Long> {
+	private final long min;
+	private final long max;
+	private final long step;
+	private final LongConsumer onValueChange;
+	private long value;
+	// Last value accepted by parse, delivered on commit
+	private long parsedValue;
+	private LongSupplier source;
+
+	/**
+	 * @param min      Smallest accepted value (inclusive). Negative input is only allowed when min < 0.
+	 * @param max      Largest accepted value (inclusive).
+	 * @param step     Amount added or removed by the arrow keys; must be positive.
+	 * @param onChange Receives every valid value.
+	 */
+	public LongFieldEntry(
+		String name,
+		String description,
+		long initialValue,
+		long min,
+		long max,
+		long step,
+		LongConsumer onChange
+	) {
+		super(name, description, Long.toString(initialValue), min < 0, false);
+		if (min > max) {
+			throw new IllegalArgumentException("min must not be greater than max");
+		}
+		if (step <= 0) {
+			throw new IllegalArgumentException("step must be positive");
+		}
+		this.min = min;
+		this.max = max;
+		this.step = step;
+		this.onValueChange = onChange;
+		this.value = initialValue;
+		this.parsedValue = initialValue;
+	}
+
+	/**
+	 * Reads the initial value from source; {@link #refresh()} re-reads it later.
+	 */
+	public LongFieldEntry(
+		String name,
+		String description,
+		LongSupplier source,
+		long min,
+		long max,
+		long step,
+		LongConsumer onChange
+	) {
+		this(name, description, source.getAsLong(), min, max, step, onChange);
+		this.source = source;
+	}
+
+	public LongFieldEntry(String name, String description, long initialValue, LongConsumer onChange) {
+		this(name, description, initialValue, Long.MIN_VALUE, Long.MAX_VALUE, 1L, onChange);
+	}
+
+	public long getValue() {
+		return this.value;
+	}
+
+	@Override
+	public void refresh() {
+		if (this.source != null) {
+			long v = this.source.getAsLong();
+			// Leave the text and cursor alone when nothing changed
+			if (v != this.value || this.errorMessage != null) {
+				this.showValue(v);
+			}
+		}
+	}
+
+	@Override
+	public Object getOptionValue() {
+		return this.value;
+	}
+
+	@Override
+	public void setOptionValue(Object value) {
+		this.showValue(((Number) value).longValue());
+	}
+
+	private void showValue(long v) {
+		this.value = v;
+		this.parsedValue = v;
+		this.showValueSilently(Long.toString(v));
+	}
+
+	@Override
+	protected String parse(String text) {
+		if (!this.parseWhole(text)) {
+			return hasDigit(text) ? "Number too large" : "Enter a number";
+		}
+		long parsed = this.parsedWhole;
+		if (parsed < this.min) {
+			return "Min: " + this.min;
+		}
+		if (parsed > this.max) {
+			return "Max: " + this.max;
+		}
+		this.parsedValue = parsed;
+		return null;
+	}
+
+	@Override
+	protected void deliverParsed() {
+		long v = this.parsedValue;
+		this.value = v;
+		this.commitChange(v, () -> this.onValueChange.accept(v));
+	}
+
+	@Override
+	protected void step(int direction) {
+		long delta = direction > 0 ? this.step : -this.step;
+		// Step from the text being edited if it is valid, even if not yet committed
+		long base = this.errorMessage == null ? this.parsedValue : this.value;
+		long next = base + delta;
+		if (((base ^ next) & (delta ^ next)) < 0) {
+			// Overflowed; saturate towards the step direction
+			next = delta > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+		}
+		next = Math.max(this.min, Math.min(this.max, next));
+		this.setTextFromStep(Long.toString(next));
+	}
+}
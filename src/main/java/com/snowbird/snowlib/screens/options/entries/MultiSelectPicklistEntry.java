@@ -1,20 +1,80 @@
 package com.snowbird.snowlib.screens.options.entries;
 
 import com.snowbird.snowlib.screens.options.dropdown.MultiSelectDropdownList;
+import com.snowbird.snowlib.screens.options.dropdown.MultiSelectModel;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphics;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
- * A picklist allowing multiple selections (generic Enum-based).
+ * A picklist allowing multiple selections over any option type.
+ * Selection state is held in a {@link MultiSelectModel}.
+ *
+ * The dropdown edits a display copy of the model; edits reach the caller's
+ * model through {@link #commitChange}, so they can be staged like any other
+ * entry edit. Changes made to the caller's model are picked up on the next render.
  */
-public class MultiSelectPicklistEntry<T extends Enum<T>> extends AbstractDropdownEntry {
+public class MultiSelectPicklistEntry<T> extends AbstractDropdownEntry {
 	private final MultiSelectDropdownList<T> dropdownList;
-	private final Set<T> selectedOptions;
+	private final MultiSelectModel<T> model;
+	private final MultiSelectModel<T> displayModel;
+	private final Function<T, String> labeler;
+	// Set while copying a selection into the display model so it is not committed back
+	private boolean syncing = false;
+	// Caller's model version last copied into the display model
+	private int syncedModelVersion;
+	// Optional source of the selection, re-read by refresh()
+	private Supplier<? extends Collection<T>> source;
+	// Set while refresh() copies the source into the model, so the set adapter does not report it back
+	private boolean readingSource = false;
 
+	// Summary text is rebuilt only when the selection or available width changes
+	private String cachedSummary = "";
+	private int cachedSummaryVersion = -1;
+	private int cachedSummaryWidth = -1;
+
+	/**
+	 * @param model   Selection model; register listeners on it to observe changes.
+	 * @param labeler Produces the display label of an option.
+	 */
+	public MultiSelectPicklistEntry(
+		String name,
+		String description,
+		MultiSelectModel<T> model,
+		Function<T, String> labeler
+	) {
+		super(name, description);
+		this.model = model;
+		this.labeler = labeler;
+		this.displayModel = new MultiSelectModel<>(model.getOptions());
+		this.displayModel.setSelection(model.getSelection());
+		this.syncedModelVersion = model.getVersion();
+		this.dropdownList = new MultiSelectDropdownList<>(0, this.displayModel, labeler);
+
+		this.displayModel.addListener((added, removed) -> {
+			if (!this.syncing) {
+				BitSet selection = this.displayModel.getSelection();
+				this.commitChange(selection, () -> this.model.setSelection(selection));
+			}
+		});
+	}
+
+	/**
+	 * Adapter for the original set based API: the given set is kept in sync
+	 * with the selection and passed to onChange after every change. The set is
+	 * also the entry's source, so {@link #refresh()} shows changes made to it
+	 * elsewhere.
+	 */
 	public MultiSelectPicklistEntry(
 		String name,
 		String description,
@@ -22,20 +82,73 @@ public class MultiSelectPicklistEntry<T extends Enum<T>> extends AbstractDropdow
 		T[] options,
 		Consumer<Set<T>> onChange
 	) {
-		super(name, description);
-		this.selectedOptions = selectedOptions;
-
-		this.dropdownList = new MultiSelectDropdownList<>(
-			0, options, selectedOptions,
-			(option, isSelected) -> {
-				if (isSelected) {
-					selectedOptions.add(option);
-				} else {
-					selectedOptions.remove(option);
-				}
-				onChange.accept(selectedOptions);
+		this(name, description, MultiSelectModel.of(Arrays.asList(options), selectedOptions),
+			MultiSelectDropdownList::defaultLabel);
+
+		this.source = () -> selectedOptions;
+		this.model.addListener((added, removed) -> {
+			if (this.readingSource) {
+				return;
 			}
-		);
+			for (int i = added.nextSetBit(0); i >= 0; i = added.nextSetBit(i + 1)) {
+				selectedOptions.add(this.model.getOption(i));
+			}
+			for (int i = removed.nextSetBit(0); i >= 0; i = removed.nextSetBit(i + 1)) {
+				selectedOptions.remove(this.model.getOption(i));
+			}
+			onChange.accept(selectedOptions);
+		});
+	}
+
+	public MultiSelectModel<T> getModel() {
+		return this.model;
+	}
+
+	@Override
+	public Object getOptionValue() {
+		return this.displayModel.getSelection();
+	}
+
+	@Override
+	public void setOptionValue(Object value) {
+		this.showSelection((BitSet) value);
+	}
+
+	@Override
+	public void applyOptionValue(Object value) {
+		// Not syncing, so the display model listener commits it like a click
+		this.displayModel.setSelection((BitSet) value);
+	}
+
+	private void showSelection(BitSet selection) {
+		this.syncing = true;
+		try {
+			this.displayModel.setSelection(selection);
+		} finally {
+			this.syncing = false;
+		}
+	}
+
+	/**
+	 * Sets where {@link #refresh()} reads the selection from. Without a source,
+	 * refresh only re-reads the model.
+	 */
+	public void setSource(Supplier<? extends Collection<T>> source) {
+		this.source = source;
+	}
+
+	@Override
+	public void refresh() {
+		if (this.source != null) {
+			this.readingSource = true;
+			try {
+				this.model.setSelectedOptions(this.source.get());
+			} finally {
+				this.readingSource = false;
+			}
+		}
+		this.syncedModelVersion = this.model.getVersion();
+		this.showSelection(this.model.getSelection());
 	}
 
 	@Override
@@ -53,6 +166,11 @@ public class MultiSelectPicklistEntry<T extends Enum<T>> extends AbstractDropdow
 	) {
 		super.render(guiGraphics, index, top, left, width, height, mouseX, mouseY, hovered, partialTicks);
 
+		// Pick up changes made to the caller's model since the last frame
+		if (this.syncedModelVersion != this.model.getVersion()) {
+			this.refresh();
+		}
+
 		// Pass the parent's color scheme
 		if (this.parentList != null) {
 			this.dropdownList.setColorScheme(this.parentList.getColorScheme());
@@ -65,14 +183,17 @@ public class MultiSelectPicklistEntry<T extends Enum<T>> extends AbstractDropdow
 			adjustedTop = top + (height - Minecraft.getInstance().font.lineHeight) / 2;
 		}
 
-		String selectedText = selectedOptions.stream()
-			.map(Enum::name)
-			.sorted()
-			.collect(Collectors.joining(", "));
+		// Leave room for the dropdown button on the right
+		int summaryWidth = width - 5 - 27;
+		if (this.cachedSummaryVersion != this.displayModel.getVersion() || this.cachedSummaryWidth != summaryWidth) {
+			this.cachedSummary = this.buildSummary(Minecraft.getInstance().font, summaryWidth);
+			this.cachedSummaryVersion = this.displayModel.getVersion();
+			this.cachedSummaryWidth = summaryWidth;
+		}
 
 		guiGraphics.drawString(
 			Minecraft.getInstance().font,
-			selectedText,
+			this.cachedSummary,
 			left + 5,
 			adjustedTop,
 			0xFFFFFF
@@ -92,16 +213,55 @@ public class MultiSelectPicklistEntry<T extends Enum<T>> extends AbstractDropdow
 		}
 	}
 
+	/**
+	 * Joins the sorted labels of the selected options, cutting off with a
+	 * "+N more" suffix once the text would exceed maxWidth.
+	 */
+	private String buildSummary(Font font, int maxWidth) {
+		List<String> labels = new ArrayList<>(this.displayModel.getSelectedCount());
+		this.displayModel.forEachSelected(i -> labels.add(this.labeler.apply(this.displayModel.getOption(i))));
+		labels.sort(null);
+
+		StringBuilder summary = new StringBuilder();
+		int usedWidth = 0;
+		for (int i = 0; i < labels.size(); i++) {
+			String piece = i == 0 ? labels.get(i) : ", " + labels.get(i);
+			int pieceWidth = font.width(piece);
+			int remainingAfter = labels.size() - i - 1;
+			int reserved = remainingAfter > 0 ? font.width(moreSuffix(remainingAfter)) : 0;
+
+			if (usedWidth + pieceWidth + reserved > maxWidth) {
+				String suffix = moreSuffix(labels.size() - i);
+				if (i == 0) {
+					// Not even one label fits; show as much of the suffix as we can
+					return font.plainSubstrByWidth(suffix.trim(), Math.max(0, maxWidth));
+				}
+				summary.append(suffix);
+				break;
+			}
+			summary.append(piece);
+			usedWidth += pieceWidth;
+		}
+		return summary.toString();
+	}
+
+	private static String moreSuffix(int count) {
+		return " +" + count + " more";
+	}
+
+	@Override
 	public void renderDropdown(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTicks) {
 		if (this.isDropdownOpen()) {
 			this.dropdownList.render(guiGraphics, mouseX, mouseY, partialTicks);
 		}
 	}
 
+	@Override
 	public boolean handleDropdownClick(double mouseX, double mouseY, int button) {
 		return this.dropdownList.mouseClicked(mouseX, mouseY, button);
 	}
 
+	@Override
 	public boolean handleDropdownScroll(double mouseX, double mouseY, double scrollDelta, double scrollAmount) {
 		return this.dropdownList.mouseScrolled(mouseX, mouseY, scrollDelta, scrollAmount);
 	}
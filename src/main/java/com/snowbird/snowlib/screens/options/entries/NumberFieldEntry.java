@@ -1,26 +1,38 @@
 package com.snowbird.snowlib.screens.options.entries;
 
+import com.snowbird.snowlib.function.PrimitiveAdapters;
+
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 /**
  * A text field entry that only accepts digits (converts to a Long).
+ * Non-negative shorthand for {@link LongFieldEntry}.
  */
-public class NumberFieldEntry extends AbstractTextFieldEntry<Long> {
+public class NumberFieldEntry extends LongFieldEntry {
 
+	/**
+	 * @deprecated Boxes on every edit; use {@link #primitive(String, String, long, LongConsumer)}.
+	 */
+	@Deprecated
 	public NumberFieldEntry(
 		String name,
 		String description,
 		long initialValue,
 		Consumer<Long> onChange
 	) {
-		super(name, description, String.valueOf(initialValue), onChange);
-		this.textField.setFilter(input -> input.matches("\\d*")); // digits only
+		this(name, description, PrimitiveAdapters.longConsumer(onChange), initialValue);
+	}
+
+	private NumberFieldEntry(String name, String description, LongConsumer onChange, long initialValue) {
+		super(name, description, initialValue, 0L, Long.MAX_VALUE, 1L, onChange);
 	}
 
-	@Override
-	protected void onTextChanged(String value) {
-		if (!value.isEmpty()) {
-			onChange.accept(Long.parseLong(value));
-		}
+	/**
+	 * A number field with a primitive callback. Not a constructor overload, since
+	 * one next to the boxed constructor would make {@code val -> {}} ambiguous.
+	 */
+	public static NumberFieldEntry primitive(String name, String description, long initialValue, LongConsumer onChange) {
+		return new NumberFieldEntry(name, description, onChange, initialValue);
 	}
 }
@@ -0,0 +1,252 @@
+package com.snowbird.snowlib.screens.options.entries;
+
+import com.mojang.logging.LogUtils;
+import com.snowbird.snowlib.screens.options.ReferenceIndex;
+import com.snowbird.snowlib.screens.options.dropdown.DropdownList;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.world.level.ItemLike;
+import org.lwjgl.glfw.GLFW;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A text field for references such as registry IDs or player names, with
+ * suggestions from a {@link ReferenceIndex} shown in a dropdown below it.
+ *
+ * Lookups run on a background thread. Each field has at most one query in
+ * flight: typing cancels the previous query before the next one is submitted,
+ * and results are only shown if no newer query was started since. The index
+ * is built on first use, also off the render thread, and kept by the entry.
+ *
+ * Tab accepts the first suggestion; clicking one accepts it. Either commits
+ * the text right away.
+ */
+public class ReferenceFieldEntry extends TextFieldEntry implements DropdownHost {
+	private static final Logger LOGGER = LogUtils.getLogger();
+	private static final int MAX_SUGGESTIONS = 50;
+
+	private static final ExecutorService LOOKUP = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "SnowLib Reference Lookup");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private record Query(long generation, AtomicBoolean cancelled, Future<?> future) {
+	}
+
+	private record Suggestions(long generation, List<String> matches) {
+	}
+
+	private final Supplier<ReferenceIndex> indexSource;
+	// Only touched by the lookup thread
+	private ReferenceIndex index;
+
+	// Render thread state
+	private Query inFlight;
+	private long generation;
+	private DropdownList suggestionList;
+	private boolean dropdownOpen = false;
+	private Function<String, ? extends ItemLike> iconLookup;
+
+	// Latest finished query, handed from the lookup thread to the render thread
+	private final AtomicReference<Suggestions> finished = new AtomicReference<>();
+
+	/**
+	 * @param index Builds the index; called once, on the lookup thread, so it
+	 *              must only read thread-safe data such as a frozen registry.
+	 *              Build indices of client state (e.g. online players) on the
+	 *              render thread and pass {@code () -> index}.
+	 */
+	public ReferenceFieldEntry(
+		String name,
+		String description,
+		String initialValue,
+		Supplier<ReferenceIndex> index,
+		Consumer<String> onChange
+	) {
+		super(name, description, initialValue, onChange);
+		this.indexSource = index;
+	}
+
+	/**
+	 * Reads the initial text from source; {@link #refresh()} re-reads it later.
+	 */
+	public ReferenceFieldEntry(
+		String name,
+		String description,
+		Supplier<String> source,
+		Supplier<ReferenceIndex> index,
+		Consumer<String> onChange
+	) {
+		super(name, description, source, onChange);
+		this.indexSource = index;
+	}
+
+	/**
+	 * Shows icons next to the suggestions, e.g. {@code IconAtlas.registryIcons()}.
+	 */
+	public void setIcons(Function<String, ? extends ItemLike> iconLookup) {
+		this.iconLookup = iconLookup;
+	}
+
+	@Override
+	protected void onTextEdited(String value) {
+		if (this.isFocused()) {
+			this.requestSuggestions(value);
+		}
+	}
+
+	/**
+	 * Cancels the query in flight, if any, and starts one for the text.
+	 */
+	private void requestSuggestions(String text) {
+		this.cancelQuery();
+		long queryGeneration = ++this.generation;
+		AtomicBoolean cancelled = new AtomicBoolean();
+		Future<?> future = LOOKUP.submit(() -> {
+			if (cancelled.get()) {
+				return;
+			}
+			try {
+				if (this.index == null) {
+					this.index = this.indexSource.get();
+				}
+				List<String> matches = this.index.query(text, MAX_SUGGESTIONS, cancelled::get);
+				if (!cancelled.get()) {
+					this.finished.set(new Suggestions(queryGeneration, matches));
+				}
+			} catch (RuntimeException e) {
+				LOGGER.error("Reference lookup for {} failed", this.getKey(), e);
+			}
+		});
+		this.inFlight = new Query(queryGeneration, cancelled, future);
+	}
+
+	private void cancelQuery() {
+		if (this.inFlight != null) {
+			this.inFlight.cancelled().set(true);
+			this.inFlight.future().cancel(false);
+			this.inFlight = null;
+		}
+		this.finished.set(null);
+	}
+
+	/**
+	 * Shows the result of the latest query once it has finished.
+	 */
+	private void takeSuggestions() {
+		Suggestions suggestions = this.finished.getAndSet(null);
+		if (suggestions == null || suggestions.generation() != this.generation) {
+			return;
+		}
+		this.inFlight = null;
+		List<String> matches = suggestions.matches();
+		// Nothing to suggest if the only match is what was typed
+		if (matches.isEmpty() || (matches.size() == 1 && matches.get(0).equals(this.getText()))) {
+			this.dropdownOpen = false;
+			return;
+		}
+		this.suggestionList = new DropdownList(0, this.getText(), matches.toArray(new String[0]), this::accept);
+		this.suggestionList.setIcons(this.iconLookup);
+		if (this.parentList != null) {
+			this.parentList.closeAllDropdownsExcept(this);
+			this.suggestionList.setColorScheme(this.parentList.getColorScheme());
+		}
+		this.dropdownOpen = this.isFocused();
+	}
+
+	/**
+	 * Replaces the text with a suggestion and commits it.
+	 */
+	private void accept(String suggestion) {
+		this.textField.setValue(suggestion);
+		this.textField.moveCursorToEnd();
+		this.textField.setHighlightPos(this.textField.getCursorPosition());
+		// Setting the text asked for suggestions again
+		this.cancelQuery();
+		this.dropdownOpen = false;
+		this.flushPendingEdit();
+	}
+
+	@Override
+	public void render(
+		GuiGraphics guiGraphics,
+		int index,
+		int top,
+		int left,
+		int width,
+		int height,
+		int mouseX,
+		int mouseY,
+		boolean hovered,
+		float partialTicks
+	) {
+		this.takeSuggestions();
+		super.render(guiGraphics, index, top, left, width, height, mouseX, mouseY, hovered, partialTicks);
+
+		if (this.isDropdownOpen()) {
+			int screenHeight = Minecraft.getInstance().getWindow().getGuiScaledHeight();
+			int dropdownHeight = Math.min(this.suggestionList.children().size() * 20, 100);
+			int dropdownY0 = this.textField.getY() + this.textField.getHeight();
+			if (dropdownY0 + dropdownHeight > screenHeight) {
+				dropdownY0 = this.textField.getY() - dropdownHeight;
+			}
+			this.suggestionList.setPosition(this.textField.getX(), dropdownY0, this.textField.getWidth(), dropdownHeight);
+		}
+	}
+
+	@Override
+	public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+		if (keyCode == GLFW.GLFW_KEY_TAB && this.isDropdownOpen()) {
+			this.accept(this.suggestionList.getOption(0));
+			return true;
+		}
+		return super.keyPressed(keyCode, scanCode, modifiers);
+	}
+
+	@Override
+	public void setFocused(boolean focused) {
+		if (!focused) {
+			this.cancelQuery();
+			this.dropdownOpen = false;
+		}
+		super.setFocused(focused);
+	}
+
+	@Override
+	public boolean isDropdownOpen() {
+		return this.dropdownOpen && this.suggestionList != null;
+	}
+
+	@Override
+	public void setDropdownVisibility(boolean dropdownOpen) {
+		this.dropdownOpen = dropdownOpen;
+	}
+
+	@Override
+	public void renderDropdown(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTicks) {
+		if (this.isDropdownOpen()) {
+			this.suggestionList.render(guiGraphics, mouseX, mouseY, partialTicks);
+		}
+	}
+
+	@Override
+	public boolean handleDropdownClick(double mouseX, double mouseY, int button) {
+		return this.isDropdownOpen() && this.suggestionList.mouseClicked(mouseX, mouseY, button);
+	}
+
+	@Override
+	public boolean handleDropdownScroll(double mouseX, double mouseY, double scrollDelta, double scrollAmount) {
+		return this.isDropdownOpen() && this.suggestionList.mouseScrolled(mouseX, mouseY, scrollDelta, scrollAmount);
+	}
+}
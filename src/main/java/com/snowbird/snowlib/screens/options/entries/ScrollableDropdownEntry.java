@@ -1,17 +1,23 @@
 package com.snowbird.snowlib.screens.options.entries;
 
+import com.snowbird.snowlib.client.IconAtlas;
 import com.snowbird.snowlib.screens.options.dropdown.DropdownList;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.world.level.ItemLike;
 
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
- * A single-select dropdown for Strings.
+ * A single-select dropdown for Strings, optionally with item or block icons
+ * (see {@link #setIcons}), also when used as a table cell.
  */
 public class ScrollableDropdownEntry extends AbstractDropdownEntry {
 	private final DropdownList dropdownList;
-	private String selectedValue;
+	private final Consumer<String> onChange;
+	private Supplier<String> source;
 
 	public ScrollableDropdownEntry(
 		String name,
@@ -21,14 +27,42 @@ public class ScrollableDropdownEntry extends AbstractDropdownEntry {
 		Consumer<String> onChange
 	) {
 		super(name, description);
-		this.selectedValue = initialValue;
+		this.onChange = onChange;
 		this.dropdownList = new DropdownList(0, initialValue, options, option -> {
-			this.selectedValue = option;
 			this.dropdownOpen = false;
-			onChange.accept(option);
+			this.commitChange(option, () -> onChange.accept(option));
 		});
 	}
 
+	/**
+	 * Reads the initial selection from source; {@link #refresh()} re-reads it later.
+	 */
+	public ScrollableDropdownEntry(
+		String name,
+		String description,
+		Supplier<String> source,
+		String[] options,
+		Consumer<String> onChange
+	) {
+		this(name, description, source.get(), options, onChange);
+		this.source = source;
+	}
+
+	/**
+	 * Shows icons for the options and the selected value, e.g.
+	 * {@code entry.setIcons(IconAtlas.registryIcons())} for registry IDs.
+	 */
+	public void setIcons(Function<String, ? extends ItemLike> iconLookup) {
+		this.dropdownList.setIcons(iconLookup);
+	}
+
+	@Override
+	public void refresh() {
+		if (this.source != null) {
+			this.setSelectedValue(this.source.get());
+		}
+	}
+
 	@Override
 	public void render(
 		GuiGraphics guiGraphics,
@@ -56,10 +90,20 @@ public class ScrollableDropdownEntry extends AbstractDropdownEntry {
 			adjustedTop = top + (height - Minecraft.getInstance().font.lineHeight) / 2;
 		}
 
+		// A value that is no longer an option is still shown until another one is picked
+		String selectedValue = this.dropdownList.getValue();
+		int textX = left + 5;
+		int selectedIndex = this.dropdownList.getSelectedIndex();
+		ItemLike icon = selectedIndex != DropdownList.NO_SELECTION ? this.dropdownList.getIcon(selectedIndex) : null;
+		if (icon != null) {
+			int lineHeight = Minecraft.getInstance().font.lineHeight;
+			IconAtlas.get().draw(guiGraphics, icon, left + 3, adjustedTop + (lineHeight - 16) / 2);
+			textX += 18;
+		}
 		guiGraphics.drawString(
 			Minecraft.getInstance().font,
-			this.selectedValue,
-			left + 5,
+			selectedValue != null ? selectedValue : "",
+			textX,
 			adjustedTop,
 			0xFFFFFF
 		);
@@ -79,16 +123,50 @@ public class ScrollableDropdownEntry extends AbstractDropdownEntry {
 		}
 	}
 
+	/**
+	 * @return The current value, which may not be one of the options; null if there is none.
+	 */
+	public String getSelectedValue() {
+		return this.dropdownList.getValue();
+	}
+
+	/**
+	 * Updates the selection without notifying the change callback.
+	 */
+	public void setSelectedValue(String value) {
+		this.dropdownList.setValue(value);
+	}
+
+	@Override
+	public Object getOptionValue() {
+		return this.getSelectedValue();
+	}
+
+	@Override
+	public void setOptionValue(Object value) {
+		this.setSelectedValue((String) value);
+	}
+
+	@Override
+	public void applyOptionValue(Object value) {
+		String option = (String) value;
+		this.setSelectedValue(option);
+		this.commitChange(option, () -> this.onChange.accept(option));
+	}
+
+	@Override
 	public void renderDropdown(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTicks) {
 		if (this.isDropdownOpen()) {
 			this.dropdownList.render(guiGraphics, mouseX, mouseY, partialTicks);
 		}
 	}
 
+	@Override
 	public boolean handleDropdownClick(double mouseX, double mouseY, int button) {
 		return this.dropdownList.mouseClicked(mouseX, mouseY, button);
 	}
 
+	@Override
 	public boolean handleDropdownScroll(double mouseX, double mouseY, double scrollDelta, double scrollAmount) {
 		return this.dropdownList.mouseScrolled(mouseX, mouseY, scrollDelta, scrollAmount);
 	}
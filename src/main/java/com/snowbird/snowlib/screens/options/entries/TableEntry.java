@@ -36,10 +36,13 @@ public class TableEntry extends OptionsList.Entry {
 		this.headerWidth = headerWidth;
 		this.height = this.getHeight();
 
-		// Mark all children as inTable = true
-		for (List<OptionsList.Entry> row : tableEntries) {
-			for (OptionsList.Entry cellEntry : row) {
+		// Mark all children as inTable = true; cell names repeat across rows, so key them by position
+		for (int r = 0; r < tableEntries.size(); r++) {
+			List<OptionsList.Entry> row = tableEntries.get(r);
+			for (int c = 0; c < row.size(); c++) {
+				OptionsList.Entry cellEntry = row.get(c);
 				cellEntry.setInTable(true);
+				cellEntry.setKey(name + "/" + r + "/" + c);
 			}
 		}
 	}
@@ -198,6 +201,9 @@ public class TableEntry extends OptionsList.Entry {
 							otherCellEntry.setFocused(false);
 						}
 					}
+					if (cellEntry.isReadOnly()) {
+						return true;
+					}
 					cellEntry.setFocused(true);
 					if (cellEntry.mouseClicked(mouseX, mouseY, button)) {
 						return true;
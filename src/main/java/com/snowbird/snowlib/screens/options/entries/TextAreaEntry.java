@@ -0,0 +1,566 @@
+package com.snowbird.snowlib.screens.options.entries;
+
+import com.snowbird.snowlib.screens.options.GapBuffer;
+import com.snowbird.snowlib.screens.options.OptionsList;
+import net.minecraft.SharedConstants;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.util.Mth;
+import org.lwjgl.glfw.GLFW;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A multi-line text entry for long values such as JSON overrides, scripts
+ * or allow-lists.
+ *
+ * The text lives in a {@link GapBuffer}, so edits cost time proportional to
+ * the edit rather than the document, and only the lines and columns inside
+ * the viewport are copied out for rendering. The row grows with the text up
+ * to {@link #setMaxVisibleLines a number of lines}; beyond that the text
+ * scrolls inside the entry.
+ *
+ * Building the full string is O(n), so edits are only delivered when the
+ * entry loses focus or Ctrl+Enter is pressed, not per keystroke.
+ */
+public class TextAreaEntry extends OptionsList.Entry {
+	private static final int LINE_HEIGHT = 10;
+	private static final int PADDING = 4;
+	private static final int MIN_VISIBLE_LINES = 3;
+	private static final int DEFAULT_MAX_VISIBLE_LINES = 10;
+	private static final int DEFAULT_MAX_LENGTH = 1 << 20;
+	private static final int SCROLL_LINES = 3;
+
+	private static final int BORDER_COLOR = 0xFFA0A0A0;
+	private static final int FOCUSED_BORDER_COLOR = 0xFFFFFFFF;
+	private static final int BACKGROUND_COLOR = 0xFF000000;
+	private static final int TEXT_COLOR = 0xE0E0E0;
+	private static final int SELECTION_COLOR = 0x800000FF;
+	private static final int CURSOR_COLOR = 0xFFD0D0D0;
+
+	private final Consumer<String> onChange;
+	private Supplier<String> source;
+
+	private GapBuffer buffer;
+	private int cursor;
+	// Other end of the selection; equal to cursor when nothing is selected
+	private int anchor;
+	// Column kept while moving up and down through shorter lines, or -1
+	private int preferredColumn = -1;
+	private int scrollLine;
+	private int scrollColumn;
+	private boolean pendingEdit;
+
+	private int maxVisibleLines = DEFAULT_MAX_VISIBLE_LINES;
+	private int maxLength = DEFAULT_MAX_LENGTH;
+	// Height last reported to the parent list
+	private int reportedHeight = -1;
+
+	// Text box bounds from the last render
+	private int boxX;
+	private int boxY;
+	private int boxWidth = 200;
+	private int boxHeight;
+
+	public TextAreaEntry(String name, String description, String initialValue, Consumer<String> onChange) {
+		super(name, description);
+		this.onChange = onChange;
+		this.buffer = new GapBuffer(initialValue);
+	}
+
+	/**
+	 * Reads the initial text from source; {@link #refresh()} re-reads it later.
+	 */
+	public TextAreaEntry(String name, String description, Supplier<String> source, Consumer<String> onChange) {
+		this(name, description, source.get(), onChange);
+		this.source = source;
+	}
+
+	/**
+	 * Sets how many lines the row grows to before the text scrolls inside it.
+	 */
+	public void setMaxVisibleLines(int maxVisibleLines) {
+		this.maxVisibleLines = Math.max(MIN_VISIBLE_LINES, maxVisibleLines);
+		this.heightMayHaveChanged();
+	}
+
+	/**
+	 * Sets the longest text that can be entered; longer pastes are cut off.
+	 */
+	public void setMaxLength(int maxLength) {
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * @return The whole text. Builds a new string, so avoid calling it per frame.
+	 */
+	public String getText() {
+		return this.buffer.toString();
+	}
+
+	/**
+	 * Replaces the text without delivering it. Any undelivered edit is discarded.
+	 */
+	public void setTextSilently(String text) {
+		this.buffer = new GapBuffer(text);
+		this.cursor = 0;
+		this.anchor = 0;
+		this.preferredColumn = -1;
+		this.scrollLine = 0;
+		this.scrollColumn = 0;
+		this.pendingEdit = false;
+		this.heightMayHaveChanged();
+	}
+
+	@Override
+	public void refresh() {
+		if (this.source != null) {
+			String text = this.source.get();
+			if (!text.equals(this.getText())) {
+				this.setTextSilently(text);
+			}
+		}
+	}
+
+	@Override
+	public Object getOptionValue() {
+		return this.getText();
+	}
+
+	@Override
+	public void setOptionValue(Object value) {
+		this.setTextSilently((String) value);
+	}
+
+	@Override
+	public void applyOptionValue(Object value) {
+		String text = (String) value;
+		this.setTextSilently(text);
+		this.commitChange(text, () -> this.onChange.accept(text));
+	}
+
+	@Override
+	public boolean hasPendingEdit() {
+		return this.pendingEdit;
+	}
+
+	/**
+	 * Delivers the text if it was edited since it was last delivered.
+	 */
+	@Override
+	public void flushPendingEdit() {
+		if (this.pendingEdit) {
+			this.pendingEdit = false;
+			String text = this.getText();
+			this.commitChange(text, () -> this.onChange.accept(text));
+		}
+	}
+
+	@Override
+	public int getHeight() {
+		if (this.inTable) {
+			return this.height;
+		}
+		return 5 + LINE_HEIGHT + 4 + this.visibleLines() * LINE_HEIGHT + 2 * PADDING + 5;
+	}
+
+	private int visibleLines() {
+		if (this.inTable) {
+			return Math.max(1, (this.boxHeight - 2 * PADDING) / LINE_HEIGHT);
+		}
+		return Mth.clamp(this.buffer.lineCount(), MIN_VISIBLE_LINES, this.maxVisibleLines);
+	}
+
+	private void heightMayHaveChanged() {
+		int height = this.getHeight();
+		if (height != this.reportedHeight) {
+			this.reportedHeight = height;
+			if (this.parentList != null && !this.inTable) {
+				this.parentList.rowHeightChanged(this);
+			}
+		}
+	}
+
+	// ---------------------- Editing ----------------------
+
+	private int selectionStart() {
+		return Math.min(this.cursor, this.anchor);
+	}
+
+	private int selectionEnd() {
+		return Math.max(this.cursor, this.anchor);
+	}
+
+	private void replaceSelection(String text) {
+		int start = this.selectionStart();
+		int end = this.selectionEnd();
+		int room = this.maxLength - (this.buffer.length() - (end - start));
+		if (text.length() > room) {
+			text = text.substring(0, Math.max(0, room));
+		}
+		if (start == end && text.isEmpty()) {
+			return;
+		}
+		this.buffer.delete(start, end);
+		this.buffer.insert(start, text);
+		this.cursor = start + text.length();
+		this.anchor = this.cursor;
+		this.afterEdit();
+	}
+
+	private void deleteRange(int start, int end) {
+		start = Math.max(0, start);
+		end = Math.min(this.buffer.length(), end);
+		if (start >= end) {
+			return;
+		}
+		this.buffer.delete(start, end);
+		this.cursor = start;
+		this.anchor = start;
+		this.afterEdit();
+	}
+
+	private void afterEdit() {
+		this.pendingEdit = true;
+		this.preferredColumn = -1;
+		this.scrollToCursor();
+		this.heightMayHaveChanged();
+	}
+
+	private void moveCursor(int offset, boolean select) {
+		this.cursor = Mth.clamp(offset, 0, this.buffer.length());
+		if (!select) {
+			this.anchor = this.cursor;
+		}
+		this.scrollToCursor();
+	}
+
+	private void moveVertically(int lines, boolean select) {
+		int line = this.buffer.lineOf(this.cursor);
+		if (this.preferredColumn < 0) {
+			this.preferredColumn = this.cursor - this.buffer.lineStart(line);
+		}
+		int column = this.preferredColumn;
+		int target = Mth.clamp(line + lines, 0, this.buffer.lineCount() - 1);
+		int start = this.buffer.lineStart(target);
+		this.moveCursor(Math.min(start + column, this.buffer.lineEnd(target)), select);
+		this.preferredColumn = column;
+	}
+
+	/**
+	 * Scrolls just enough to show the cursor, measuring only the visible part of its line.
+	 */
+	private void scrollToCursor() {
+		int line = this.buffer.lineOf(this.cursor);
+		int visibleLines = this.visibleLines();
+		if (line < this.scrollLine) {
+			this.scrollLine = line;
+		} else if (line >= this.scrollLine + visibleLines) {
+			this.scrollLine = line - visibleLines + 1;
+		}
+		this.clampScroll();
+
+		int lineStart = this.buffer.lineStart(line);
+		int column = this.cursor - lineStart;
+		if (column < this.scrollColumn) {
+			this.scrollColumn = column;
+			return;
+		}
+		// Walk back from the cursor until the text before it no longer fits
+		Font font = Minecraft.getInstance().font;
+		int textWidth = this.boxWidth - 2 * PADDING - 2;
+		int width = 0;
+		int firstFitting = column;
+		while (firstFitting > this.scrollColumn) {
+			width += font.width(String.valueOf(this.buffer.charAt(lineStart + firstFitting - 1)));
+			if (width > textWidth) {
+				break;
+			}
+			firstFitting--;
+		}
+		this.scrollColumn = firstFitting;
+	}
+
+	private void clampScroll() {
+		int maxScroll = Math.max(0, this.buffer.lineCount() - this.visibleLines());
+		this.scrollLine = Mth.clamp(this.scrollLine, 0, maxScroll);
+	}
+
+	@Override
+	public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+		boolean select = Screen.hasShiftDown();
+		if (Screen.isSelectAll(keyCode)) {
+			this.anchor = 0;
+			this.cursor = this.buffer.length();
+			return true;
+		}
+		if (Screen.isCopy(keyCode)) {
+			Minecraft.getInstance().keyboardHandler.setClipboard(
+				this.buffer.substring(this.selectionStart(), this.selectionEnd()));
+			return true;
+		}
+		if (Screen.isCut(keyCode)) {
+			Minecraft.getInstance().keyboardHandler.setClipboard(
+				this.buffer.substring(this.selectionStart(), this.selectionEnd()));
+			this.replaceSelection("");
+			return true;
+		}
+		if (Screen.isPaste(keyCode)) {
+			this.replaceSelection(Minecraft.getInstance().keyboardHandler.getClipboard().replace("\r", ""));
+			return true;
+		}
+		switch (keyCode) {
+			case GLFW.GLFW_KEY_ENTER, GLFW.GLFW_KEY_KP_ENTER -> {
+				if (Screen.hasControlDown()) {
+					this.flushPendingEdit();
+				} else {
+					this.replaceSelection("\n");
+				}
+				return true;
+			}
+			case GLFW.GLFW_KEY_BACKSPACE -> {
+				if (this.cursor != this.anchor) {
+					this.replaceSelection("");
+				} else {
+					this.deleteRange(this.cursor - 1, this.cursor);
+				}
+				return true;
+			}
+			case GLFW.GLFW_KEY_DELETE -> {
+				if (this.cursor != this.anchor) {
+					this.replaceSelection("");
+				} else {
+					this.deleteRange(this.cursor, this.cursor + 1);
+				}
+				return true;
+			}
+			case GLFW.GLFW_KEY_LEFT -> {
+				this.preferredColumn = -1;
+				if (!select && this.cursor != this.anchor) {
+					this.moveCursor(this.selectionStart(), false);
+				} else {
+					this.moveCursor(this.cursor - 1, select);
+				}
+				return true;
+			}
+			case GLFW.GLFW_KEY_RIGHT -> {
+				this.preferredColumn = -1;
+				if (!select && this.cursor != this.anchor) {
+					this.moveCursor(this.selectionEnd(), false);
+				} else {
+					this.moveCursor(this.cursor + 1, select);
+				}
+				return true;
+			}
+			case GLFW.GLFW_KEY_UP -> {
+				this.moveVertically(-1, select);
+				return true;
+			}
+			case GLFW.GLFW_KEY_DOWN -> {
+				this.moveVertically(1, select);
+				return true;
+			}
+			case GLFW.GLFW_KEY_PAGE_UP -> {
+				this.moveVertically(-this.visibleLines(), select);
+				return true;
+			}
+			case GLFW.GLFW_KEY_PAGE_DOWN -> {
+				this.moveVertically(this.visibleLines(), select);
+				return true;
+			}
+			case GLFW.GLFW_KEY_HOME -> {
+				this.preferredColumn = -1;
+				int line = this.buffer.lineOf(this.cursor);
+				this.moveCursor(Screen.hasControlDown() ? 0 : this.buffer.lineStart(line), select);
+				return true;
+			}
+			case GLFW.GLFW_KEY_END -> {
+				this.preferredColumn = -1;
+				int line = this.buffer.lineOf(this.cursor);
+				this.moveCursor(Screen.hasControlDown() ? this.buffer.length() : this.buffer.lineEnd(line), select);
+				return true;
+			}
+			default -> {
+				return false;
+			}
+		}
+	}
+
+	@Override
+	public boolean charTyped(char codePoint, int modifiers) {
+		if (!SharedConstants.isAllowedChatCharacter(codePoint)) {
+			return false;
+		}
+		this.replaceSelection(String.valueOf(codePoint));
+		return true;
+	}
+
+	@Override
+	public void setFocused(boolean focused) {
+		super.setFocused(focused);
+		if (!focused) {
+			this.anchor = this.cursor;
+			this.flushPendingEdit();
+		}
+	}
+
+	// ---------------------- Mouse ----------------------
+
+	private boolean isOverBox(double mouseX, double mouseY) {
+		return mouseX >= this.boxX && mouseX < this.boxX + this.boxWidth
+			&& mouseY >= this.boxY && mouseY < this.boxY + this.boxHeight;
+	}
+
+	/**
+	 * @return The offset of the character boundary nearest to the position.
+	 */
+	private int offsetAt(double mouseX, double mouseY) {
+		int line = this.scrollLine + (int) Math.floor((mouseY - this.boxY - PADDING) / LINE_HEIGHT);
+		line = Mth.clamp(line, 0, this.buffer.lineCount() - 1);
+		int lineStart = this.buffer.lineStart(line);
+		int lineEnd = this.buffer.lineEnd(line);
+		int from = Math.min(lineStart + this.scrollColumn, lineEnd);
+		String visible = this.visiblePart(from, lineEnd);
+		int relativeX = (int) mouseX - this.boxX - PADDING;
+		return from + Minecraft.getInstance().font.plainSubstrByWidth(visible, Math.max(0, relativeX)).length();
+	}
+
+	/**
+	 * @return The part of a line from the given offset that can fit in the box.
+	 */
+	private String visiblePart(int from, int lineEnd) {
+		// No glyph is narrower than two pixels, so this many characters always fill the box
+		int maxChars = this.boxWidth / 2 + 1;
+		return this.buffer.substring(from, Math.min(lineEnd, from + maxChars));
+	}
+
+	@Override
+	public boolean mouseClicked(double mouseX, double mouseY, int button) {
+		if (!this.isOverBox(mouseX, mouseY)) {
+			return false;
+		}
+		this.preferredColumn = -1;
+		this.moveCursor(this.offsetAt(mouseX, mouseY), Screen.hasShiftDown());
+		return true;
+	}
+
+	@Override
+	public boolean mouseDragged(double mouseX, double mouseY, int button, double deltaX, double deltaY) {
+		if (!this.isFocused()) {
+			return false;
+		}
+		this.preferredColumn = -1;
+		this.moveCursor(this.offsetAt(mouseX, mouseY), true);
+		return true;
+	}
+
+	@Override
+	public boolean mouseScrolled(double mouseX, double mouseY, double scrollX, double scrollY) {
+		if (!this.isOverBox(mouseX, mouseY) || scrollY == 0) {
+			return false;
+		}
+		int previous = this.scrollLine;
+		this.scrollLine -= (int) Math.signum(scrollY) * SCROLL_LINES;
+		this.clampScroll();
+		// At either end, let the list scroll instead
+		return this.scrollLine != previous;
+	}
+
+	// ---------------------- Rendering ----------------------
+
+	@Override
+	public void render(
+		GuiGraphics guiGraphics,
+		int index,
+		int top,
+		int left,
+		int width,
+		int height,
+		int mouseX,
+		int mouseY,
+		boolean hovered,
+		float partialTicks
+	) {
+		this.setPositionAndSize(left, top, width, height);
+		if (!this.inTable) {
+			super.render(guiGraphics, index, top, left, width, height, mouseX, mouseY, hovered, partialTicks);
+			this.boxX = left + 5;
+			this.boxY = top + 5 + LINE_HEIGHT + 4;
+			this.boxWidth = width - 10;
+			this.boxHeight = this.visibleLines() * LINE_HEIGHT + 2 * PADDING;
+		} else {
+			this.boxX = left + 2;
+			this.boxY = top + 2;
+			this.boxWidth = width - 4;
+			this.boxHeight = height - 4;
+		}
+
+		guiGraphics.fill(this.boxX, this.boxY, this.boxX + this.boxWidth, this.boxY + this.boxHeight,
+			this.isFocused() ? FOCUSED_BORDER_COLOR : BORDER_COLOR);
+		guiGraphics.fill(this.boxX + 1, this.boxY + 1, this.boxX + this.boxWidth - 1, this.boxY + this.boxHeight - 1,
+			BACKGROUND_COLOR);
+
+		guiGraphics.enableScissor(this.boxX + 1, this.boxY + 1, this.boxX + this.boxWidth - 1, this.boxY + this.boxHeight - 1);
+		this.renderLines(guiGraphics);
+		guiGraphics.disableScissor();
+		this.renderScrollbar(guiGraphics);
+	}
+
+	/**
+	 * Draws only the lines in view, and of each only the columns in view.
+	 */
+	private void renderLines(GuiGraphics guiGraphics) {
+		Font font = Minecraft.getInstance().font;
+		int textX = this.boxX + PADDING;
+		int selectionStart = this.selectionStart();
+		int selectionEnd = this.selectionEnd();
+		boolean showCursor = this.isFocused() && (Util.getMillis() / 500) % 2 == 0;
+
+		int lastLine = Math.min(this.buffer.lineCount(), this.scrollLine + this.visibleLines());
+		for (int line = this.scrollLine; line < lastLine; line++) {
+			int y = this.boxY + PADDING + (line - this.scrollLine) * LINE_HEIGHT;
+			int lineStart = this.buffer.lineStart(line);
+			int lineEnd = this.buffer.lineEnd(line);
+			int from = Math.min(lineStart + this.scrollColumn, lineEnd);
+			String visible = this.visiblePart(from, lineEnd);
+
+			// Selection, including the line break when it is selected
+			int highlightStart = Math.max(selectionStart, from);
+			int highlightEnd = Math.min(selectionEnd, from + visible.length());
+			if (highlightStart < highlightEnd || (selectionStart <= lineEnd && selectionEnd > lineEnd)) {
+				int x0 = textX + font.width(visible.substring(0, Math.max(0, Math.min(highlightStart, from + visible.length()) - from)));
+				int x1 = textX + font.width(visible.substring(0, Math.max(0, highlightEnd - from)));
+				if (selectionEnd > lineEnd) {
+					x1 += 4;
+				}
+				guiGraphics.fill(x0, y - 1, x1, y + LINE_HEIGHT - 1, SELECTION_COLOR);
+			}
+
+			guiGraphics.drawString(font, visible, textX, y, TEXT_COLOR, false);
+
+			if (showCursor && this.cursor >= from && this.cursor <= from + visible.length()
+				&& this.cursor >= lineStart && this.cursor <= lineEnd) {
+				int cursorX = textX + font.width(visible.substring(0, this.cursor - from));
+				guiGraphics.fill(cursorX, y - 1, cursorX + 1, y + LINE_HEIGHT - 1, CURSOR_COLOR);
+			}
+		}
+	}
+
+	private void renderScrollbar(GuiGraphics guiGraphics) {
+		int lineCount = this.buffer.lineCount();
+		int visibleLines = this.visibleLines();
+		if (lineCount <= visibleLines) {
+			return;
+		}
+		int trackTop = this.boxY + 1;
+		int trackHeight = this.boxHeight - 2;
+		int thumbHeight = Math.max(8, trackHeight * visibleLines / lineCount);
+		int thumbTop = trackTop + (trackHeight - thumbHeight) * this.scrollLine / (lineCount - visibleLines);
+		int x = this.boxX + this.boxWidth - 4;
+		guiGraphics.fill(x, thumbTop, x + 3, thumbTop + thumbHeight, BORDER_COLOR);
+	}
+}
@@ -1,12 +1,14 @@
 package com.snowbird.snowlib.screens.options.entries;
 
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * A text field entry that accepts string input.
  * Extends the generic AbstractTextFieldEntry with String as the type parameter.
  */
 public class TextFieldEntry extends AbstractTextFieldEntry<String> {
+	private Supplier<String> source;
 
 	/**
 	 * Constructs a new TextFieldEntry.
@@ -20,6 +22,25 @@ public class TextFieldEntry extends AbstractTextFieldEntry<String> {
 		super(name, description, initialValue, onChange);
 	}
 
+	/**
+	 * Reads the initial text from source; {@link #refresh()} re-reads it later.
+	 */
+	public TextFieldEntry(String name, String description, Supplier<String> source, Consumer<String> onChange) {
+		this(name, description, source.get(), onChange);
+		this.source = source;
+	}
+
+	@Override
+	public void refresh() {
+		if (this.source != null) {
+			String text = this.source.get();
+			// Keep the cursor where it is when nothing changed
+			if (!text.equals(this.getText())) {
+				this.setTextSilently(text);
+			}
+		}
+	}
+
 	/**
 	 * Called whenever the text in the text field changes.
 	 * Passes the new value to the provided onChange consumer.
@@ -28,6 +49,16 @@ public class TextFieldEntry extends AbstractTextFieldEntry<String> {
 	 */
 	@Override
 	protected void onTextChanged(String value) {
-		onChange.accept(value);
+		this.commitChange(value, () -> onChange.accept(value));
+	}
+
+	@Override
+	public Object getOptionValue() {
+		return this.getText();
+	}
+
+	@Override
+	public void setOptionValue(Object value) {
+		this.setTextSilently((String) value);
 	}
 }
@@ -0,0 +1,38 @@
+package com.snowbird.snowlib.screens.options.validation;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * What a {@link Validator} may read besides the text: the values of the
+ * entries it declared as dependencies, captured on the render thread when the
+ * run was scheduled, and whether the run has been superseded.
+ */
+public final class ValidationContext {
+	private final Map<String, Object> values;
+	private final AtomicBoolean cancelled = new AtomicBoolean();
+
+	ValidationContext(Map<String, Object> values) {
+		this.values = values;
+	}
+
+	/**
+	 * @return The value of a dependency (as returned by its entry's
+	 *         getOptionValue), or null if it was not declared or not in the list.
+	 */
+	public Object getValue(String key) {
+		return this.values.get(key);
+	}
+
+	/**
+	 * @return Whether a newer run for the same entry was scheduled, or the
+	 *         result is no longer wanted.
+	 */
+	public boolean isCancelled() {
+		return this.cancelled.get();
+	}
+
+	void cancel() {
+		this.cancelled.set(true);
+	}
+}
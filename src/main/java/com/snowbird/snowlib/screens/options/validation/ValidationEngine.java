@@ -0,0 +1,190 @@
+package com.snowbird.snowlib.screens.options.validation;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link Validator}s for the entries of a screen on a background thread
+ * and keeps their latest results, keyed by category and entry key.
+ *
+ * Scheduling a run for an entry cancels its previous run and delays the new
+ * one, so a burst of keystrokes costs one validation. Each run carries a
+ * generation number; finished runs are queued and only taken over by
+ * {@link #poll()} on the render thread if no newer run was scheduled since,
+ * so a slow stale run can never overwrite a newer result. Every run that
+ * starts queues a completion, even if its validator returned null (taken as
+ * OK) or threw, so an entry never stays pending.
+ *
+ * Everything except the validators themselves is confined to the render
+ * thread. Screens keep one engine across their lists, so results of other
+ * categories still block Apply.
+ */
+public final class ValidationEngine {
+	private static final Logger LOGGER = LogUtils.getLogger();
+
+	/**
+	 * Idle time after an edit before its validation starts.
+	 */
+	public static final long DEFAULT_DELAY_MILLIS = 250L;
+
+	private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "SnowLib Validation");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private record Target(String category, String key) {
+	}
+
+	private record Run(long generation, ValidationContext context, Future<?> future) {
+	}
+
+	private record Completed(Target target, long generation, boolean cancelled, ValidationResult result) {
+	}
+
+	// Latest scheduled run per entry, until its result is polled
+	private final Map<Target, Run> running = new HashMap<>();
+	// Latest non-OK result per entry
+	private final Map<Target, ValidationResult> results = new HashMap<>();
+	// Written by the background thread, drained by poll()
+	private final Queue<Completed> completed = new ConcurrentLinkedQueue<>();
+
+	private long generation;
+	private int errorCount;
+
+	/**
+	 * Schedules a validation of the text, superseding the entry's previous run.
+	 *
+	 * @param dependencies Values the validator may read, see {@link ValidationContext#getValue}.
+	 */
+	public void schedule(
+		String category,
+		String key,
+		Validator validator,
+		String text,
+		Map<String, Object> dependencies,
+		long delayMillis
+	) {
+		Target target = new Target(category, key);
+		this.cancelRun(target);
+
+		long runGeneration = ++this.generation;
+		ValidationContext context = new ValidationContext(dependencies);
+		Future<?> future = EXECUTOR.schedule(() -> {
+			ValidationResult result = null;
+			try {
+				if (!context.isCancelled()) {
+					result = validator.validate(text, context);
+				}
+			} catch (Throwable e) {
+				LOGGER.error("Validator for {} failed", key, e);
+				result = ValidationResult.error("Validation failed");
+			} finally {
+				// Always posted, so the run never stays pending; a null result counts as OK
+				this.completed.add(new Completed(target, runGeneration, context.isCancelled(), result));
+			}
+		}, delayMillis, TimeUnit.MILLISECONDS);
+		this.running.put(target, new Run(runGeneration, context, future));
+	}
+
+	/**
+	 * Takes over the results of finished runs. Called on the render thread,
+	 * typically once per frame.
+	 */
+	public void poll() {
+		Completed done;
+		while ((done = this.completed.poll()) != null) {
+			Run run = this.running.get(done.target());
+			if (run == null || run.generation() != done.generation()) {
+				// Superseded or cleared after it finished
+				continue;
+			}
+			this.running.remove(done.target());
+			// A cancelled run's result is dropped, but it no longer counts as pending
+			if (!done.cancelled()) {
+				this.setResult(done.target(), done.result());
+			}
+		}
+	}
+
+	/**
+	 * @return The entry's latest result, or null if it has none or it was OK.
+	 */
+	public ValidationResult getResult(String category, String key) {
+		return this.results.get(new Target(category, key));
+	}
+
+	public boolean isPending(String category, String key) {
+		return this.running.containsKey(new Target(category, key));
+	}
+
+	public boolean hasPending() {
+		return !this.running.isEmpty();
+	}
+
+	public boolean hasErrors() {
+		return this.errorCount > 0;
+	}
+
+	public int getErrorCount() {
+		return this.errorCount;
+	}
+
+	/**
+	 * Cancels the entry's run and forgets its result.
+	 */
+	public void clear(String category, String key) {
+		Target target = new Target(category, key);
+		this.cancelRun(target);
+		this.setResult(target, null);
+	}
+
+	/**
+	 * Cancels every run and forgets every result, e.g. when staged edits are discarded.
+	 */
+	public void clearAll() {
+		Iterator<Run> iterator = this.running.values().iterator();
+		while (iterator.hasNext()) {
+			cancel(iterator.next());
+			iterator.remove();
+		}
+		this.results.clear();
+		this.completed.clear();
+		this.errorCount = 0;
+	}
+
+	private void cancelRun(Target target) {
+		Run previous = this.running.remove(target);
+		if (previous != null) {
+			cancel(previous);
+		}
+	}
+
+	private static void cancel(Run run) {
+		run.context().cancel();
+		// Not interrupted: validators doing I/O would fail instead of returning early
+		run.future().cancel(false);
+	}
+
+	private void setResult(Target target, ValidationResult result) {
+		ValidationResult previous = result == null || result.severity() == ValidationResult.Severity.OK
+			? this.results.remove(target)
+			: this.results.put(target, result);
+		if (previous != null && previous.isError()) {
+			this.errorCount--;
+		}
+		if (result != null && result.isError()) {
+			this.errorCount++;
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.snowbird.snowlib.screens.options.validation;
+
+/**
+ * Outcome of a {@link Validator}. Errors block Apply on staging screens;
+ * warnings are only shown.
+ */
+public record ValidationResult(Severity severity, String message) {
+
+	public enum Severity {
+		OK,
+		WARNING,
+		ERROR
+	}
+
+	private static final ValidationResult OK = new ValidationResult(Severity.OK, "");
+
+	public static ValidationResult ok() {
+		return OK;
+	}
+
+	public static ValidationResult warning(String message) {
+		return new ValidationResult(Severity.WARNING, message);
+	}
+
+	public static ValidationResult error(String message) {
+		return new ValidationResult(Severity.ERROR, message);
+	}
+
+	public boolean isError() {
+		return this.severity == Severity.ERROR;
+	}
+}
@@ -0,0 +1,15 @@
+package com.snowbird.snowlib.screens.options.validation;
+
+/**
+ * Checks the text of an entry off the render thread, so slow checks
+ * (registry lookups, compiling a regex, reading a file) do not stall typing.
+ *
+ * Runs on the {@link ValidationEngine}'s background thread: it must not touch
+ * widgets or other client state, only its arguments and thread-safe data.
+ * Long checks should return early once {@link ValidationContext#isCancelled()}
+ * is true; their result is discarded anyway.
+ */
+@FunctionalInterface
+public interface Validator {
+	ValidationResult validate(String text, ValidationContext context);
+}